@@ -0,0 +1,70 @@
+package io.github.ralfspoeth.basix.bench;
+
+import io.github.ralfspoeth.basix.fn.AdaptivePredicate;
+import io.github.ralfspoeth.basix.fn.Predicates;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+
+/**
+ * A filter of four terms written in the worst order, the most selective and
+ * cheapest term last, as a plain {@link Predicate#and} chain and as an
+ * {@link AdaptivePredicate}; {@code handOrdered} is the chain in the best
+ * order, which the adaptive predicate should approach.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AdaptivePredicateBench {
+
+    public record Trade(String currency, String desk, long amount, int flags) {}
+
+    @Param({"65536"})
+    int size;
+
+    private List<Trade> trades;
+    private Predicate<Trade> chained;
+    private Predicate<Trade> adaptive;
+    private Predicate<Trade> handOrdered;
+
+    @Setup
+    public void setup() {
+        var rnd = new Random(42);
+        var currencies = List.of("EUR", "EUR", "EUR", "USD");
+        var desks = List.of("rates", "fx", "credit");
+        trades = IntStream.range(0, size)
+                .mapToObj(_ -> new Trade(currencies.get(rnd.nextInt(4)), desks.get(rnd.nextInt(3)),
+                        rnd.nextLong(2_000_000), rnd.nextInt(16)))
+                .toList();
+        Predicate<Trade> euro = Predicates.eq("EUR", Trade::currency);
+        Predicate<Trade> desk = Predicates.in(Set.of("rates", "fx"), Trade::desk);
+        Predicate<Trade> notFlagged = t -> Integer.bitCount(t.flags()) < 4;
+        Predicate<Trade> large = Predicates.greaterThanLong(1_900_000, Trade::amount);
+        chained = euro.and(desk).and(notFlagged).and(large);
+        adaptive = AdaptivePredicate.allOf(euro, desk, notFlagged, large);
+        handOrdered = large.and(desk).and(euro).and(notFlagged);
+    }
+
+    @Benchmark
+    public long chained() {
+        return trades.stream().filter(chained).count();
+    }
+
+    @Benchmark
+    public long adaptive() {
+        return trades.stream().filter(adaptive).count();
+    }
+
+    @Benchmark
+    public long handOrdered() {
+        return trades.stream().filter(handOrdered).count();
+    }
+}
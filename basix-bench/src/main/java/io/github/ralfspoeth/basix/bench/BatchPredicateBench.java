@@ -0,0 +1,75 @@
+package io.github.ralfspoeth.basix.bench;
+
+import io.github.ralfspoeth.basix.fn.Bounds;
+import io.github.ralfspoeth.basix.fn.DoubleBatchPredicate;
+import io.github.ralfspoeth.basix.fn.Predicates;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.DoublePredicate;
+
+/**
+ * Selection bitmaps over a column of random {@code double} values, built by
+ * {@link DoubleBatchPredicate#testAll(double[], long[])} compared with a loop
+ * which calls {@code test} for every element and branches on the result.
+ * About half of the values pass, such that a branch per element is
+ * mispredicted often.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BatchPredicateBench {
+
+    @Param({"65536"})
+    int size;
+
+    private double[] column;
+    private long[] mask;
+    private DoubleBatchPredicate greaterThan;
+    private DoubleBatchPredicate between;
+
+    @Setup
+    public void setup() {
+        column = new Random(42).doubles(size).toArray();
+        mask = new long[(size + 63) / 64];
+        greaterThan = Predicates.greaterThanDouble(0.5);
+        between = Predicates.betweenDouble(0.25, 0.75, Bounds.CLOSED_OPEN);
+    }
+
+    private long[] perElement(DoublePredicate p) {
+        for (int i = 0; i < column.length; i++) {
+            if (p.test(column[i])) {
+                mask[i >>> 6] |= 1L << i;
+            } else {
+                mask[i >>> 6] &= ~(1L << i);
+            }
+        }
+        return mask;
+    }
+
+    @Benchmark
+    public long[] basixGreaterThan() {
+        greaterThan.testAll(column, mask);
+        return mask;
+    }
+
+    @Benchmark
+    public long[] perElementGreaterThan() {
+        return perElement(greaterThan);
+    }
+
+    @Benchmark
+    public long[] basixBetween() {
+        between.testAll(column, mask);
+        return mask;
+    }
+
+    @Benchmark
+    public long[] perElementBetween() {
+        return perElement(between);
+    }
+}
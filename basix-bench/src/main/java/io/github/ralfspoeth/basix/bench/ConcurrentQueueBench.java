@@ -0,0 +1,58 @@
+package io.github.ralfspoeth.basix.bench;
+
+import io.github.ralfspoeth.basix.coll.ConcurrentQueue;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ConcurrentQueue} compared with a plain {@link ConcurrentLinkedDeque},
+ * with all benchmark threads sharing one instance.
+ * Every thread adds before it removes, so no remove ever meets an empty queue.
+ * The batch variant adds and drains {@value #BATCH} elements per call;
+ * its score is given per element.
+ * <p>
+ * The thread count is chosen on the command line, e.g.
+ * {@code -t 1}, {@code -t 8}, or {@code -t max}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConcurrentQueueBench {
+
+    static final int BATCH = 16;
+    private static final List<Integer> ITEMS = Collections.nCopies(BATCH, 1);
+
+    private final ConcurrentQueue<Integer> queue = new ConcurrentQueue<>();
+    private final ConcurrentLinkedDeque<Integer> deque = new ConcurrentLinkedDeque<>();
+
+    @Benchmark
+    public Integer basixAddRemove() {
+        return queue.add(1).remove();
+    }
+
+    @Benchmark
+    public Integer jdkAddRemove() {
+        deque.add(1);
+        return deque.remove();
+    }
+
+    @State(Scope.Thread)
+    public static class Sink {
+        final List<Integer> drained = new ArrayList<>(BATCH);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public int basixAddAllDrainTo(Sink sink) {
+        sink.drained.clear();
+        return queue.addAll(ITEMS).drainTo(sink.drained, BATCH);
+    }
+}
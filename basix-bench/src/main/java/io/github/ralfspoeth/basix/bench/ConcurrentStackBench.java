@@ -0,0 +1,55 @@
+package io.github.ralfspoeth.basix.bench;
+
+import io.github.ralfspoeth.basix.coll.ConcurrentStack;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ConcurrentStack} compared with {@link ConcurrentLinkedDeque}
+ * used as a stack, with all benchmark threads sharing one instance.
+ * Every thread pushes before it pops, so no pop ever meets an empty stack.
+ * The batch variant pushes and pops {@value #BATCH} elements with one CAS
+ * each; its score is given per element.
+ * <p>
+ * The thread count is chosen on the command line, e.g.
+ * {@snippet :
+ * java -jar target/benchmarks.jar ConcurrentStackBench -t 1
+ * java -jar target/benchmarks.jar ConcurrentStackBench -t 8
+ * java -jar target/benchmarks.jar ConcurrentStackBench -t max
+ * }
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConcurrentStackBench {
+
+    static final int BATCH = 16;
+    private static final List<Integer> ITEMS = Collections.nCopies(BATCH, 1);
+
+    private final ConcurrentStack<Integer> stack = new ConcurrentStack<>();
+    private final ConcurrentLinkedDeque<Integer> deque = new ConcurrentLinkedDeque<>();
+
+    @Benchmark
+    public Integer basixPushPop() {
+        return stack.push(1).pop();
+    }
+
+    @Benchmark
+    public Integer jdkPushPop() {
+        deque.push(1);
+        return deque.pop();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public int basixPushAllPopAll() {
+        return stack.pushAll(ITEMS).popAll().size();
+    }
+}
@@ -0,0 +1,94 @@
+package io.github.ralfspoeth.basix.bench;
+
+import io.github.ralfspoeth.basix.fn.Functions;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * {@link Functions#contentsEquals}, by hash and by comparator, and
+ * {@link Functions#parallelContentsEquals} on two permutations of the same
+ * list, compared with the JDK means to the same end: counting with {@link Collectors#groupingBy} and sorting copies.
+ * The variant {@code mismatch} compares with a copy that differs in a
+ * single element, which the hash sum pre-check detects without counting.
+ * Ordered {@link List#equals} on identical lists serves as the lower bound.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ContentsEqualsBench {
+
+    @Param({"100", "10000", "1000000"})
+    int size;
+
+    private List<Integer> a;
+    private List<Integer> b;
+    private List<Integer> mismatch;
+
+    @Setup
+    public void setup() {
+        var rnd = new Random(42);
+        a = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) a.add(rnd.nextInt(size / 2 + 1));
+        b = new ArrayList<>(a);
+        Collections.shuffle(b, rnd);
+        mismatch = new ArrayList<>(b);
+        mismatch.set(rnd.nextInt(size), -1);
+    }
+
+    @Benchmark
+    public boolean basixContentsEquals() {
+        return Functions.contentsEquals(a, b);
+    }
+
+    @Benchmark
+    public boolean basixContentsEqualsComparator() {
+        return Functions.contentsEquals(a, b, Comparator.naturalOrder());
+    }
+
+    @Benchmark
+    public boolean basixParallelContentsEquals() {
+        return Functions.parallelContentsEquals(a, b);
+    }
+
+    @Benchmark
+    public boolean basixParallelContentsEqualsPrecheck() {
+        return Functions.parallelContentsEquals(a, b, true);
+    }
+
+    @Benchmark
+    public boolean basixParallelContentsEqualsPrecheckMismatch() {
+        return Functions.parallelContentsEquals(a, mismatch, true);
+    }
+
+    @Benchmark
+    public boolean jdkGroupingByCounting() {
+        return a.size() == b.size()
+                && a.stream().collect(Collectors.groupingBy(Function.identity(), Collectors.counting()))
+                .equals(b.stream().collect(Collectors.groupingBy(Function.identity(), Collectors.counting())));
+    }
+
+    @Benchmark
+    public boolean jdkSortedEquals() {
+        var sa = new ArrayList<>(a);
+        var sb = new ArrayList<>(b);
+        Collections.sort(sa);
+        Collections.sort(sb);
+        return sa.equals(sb);
+    }
+
+    @Benchmark
+    public boolean jdkOrderedEquals() {
+        return a.equals(new ArrayList<>(a));
+    }
+}
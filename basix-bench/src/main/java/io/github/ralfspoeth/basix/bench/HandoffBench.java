@@ -0,0 +1,135 @@
+package io.github.ralfspoeth.basix.bench;
+
+import io.github.ralfspoeth.basix.coll.ConcurrentQueue;
+import io.github.ralfspoeth.basix.coll.MpmcQueue;
+import io.github.ralfspoeth.basix.coll.MpscQueue;
+import io.github.ralfspoeth.basix.coll.SpscQueue;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Producer/consumer hand-off through {@link SpscQueue}, {@link MpscQueue},
+ * {@link MpmcQueue}, and {@link ConcurrentQueue}, one group per queue and
+ * topology.
+ * <p>
+ * The producers and consumers never wait inside a benchmark call; a failed
+ * offer or poll returns immediately. The auxiliary counters {@code offered}
+ * and {@code polled} therefore report the elements actually transferred,
+ * which is the number to compare, while the primary score also includes
+ * failed attempts. {@link ConcurrentQueue} is unbounded, so its producers
+ * stop adding when {@code capacity} elements are in flight to keep the
+ * comparison fair and the heap bounded.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HandoffBench {
+
+    private static final Integer ONE = 1;
+
+    @State(Scope.Group)
+    public static class Queues {
+        @Param({"1024"})
+        int capacity;
+
+        SpscQueue<Integer> spsc;
+        MpscQueue<Integer> mpsc;
+        MpmcQueue<Integer> mpmc;
+        ConcurrentQueue<Integer> concurrent;
+        final AtomicLong inFlight = new AtomicLong();
+
+        @Setup(Level.Iteration)
+        public void setup() {
+            spsc = new SpscQueue<>(capacity);
+            mpsc = new MpscQueue<>(capacity);
+            mpmc = new MpmcQueue<>(capacity);
+            concurrent = new ConcurrentQueue<>();
+            inFlight.set(0);
+        }
+    }
+
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    @State(Scope.Thread)
+    public static class Counters {
+        public long offered;
+        public long polled;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            offered = polled = 0;
+        }
+    }
+
+    private static void offered(boolean success, Counters c) {
+        if (success) c.offered++;
+    }
+
+    private static void polled(boolean success, Counters c) {
+        if (success) c.polled++;
+    }
+
+    private static void offerConcurrent(Queues q, Counters c) {
+        if (q.inFlight.get() < q.capacity) {
+            q.inFlight.incrementAndGet();
+            q.concurrent.add(ONE);
+            c.offered++;
+        }
+    }
+
+    private static void pollConcurrent(Queues q, Counters c) {
+        if (q.concurrent.removeIfNotEmpty().isPresent()) {
+            q.inFlight.decrementAndGet();
+            c.polled++;
+        }
+    }
+
+    // one producer, one consumer
+
+    @Benchmark @Group("spsc") @GroupThreads(1)
+    public void spscOffer(Queues q, Counters c) { offered(q.spsc.offer(ONE), c); }
+
+    @Benchmark @Group("spsc") @GroupThreads(1)
+    public void spscPoll(Queues q, Counters c) { polled(q.spsc.poll().isPresent(), c); }
+
+    @Benchmark @Group("mpsc") @GroupThreads(1)
+    public void mpscOffer(Queues q, Counters c) { offered(q.mpsc.offer(ONE), c); }
+
+    @Benchmark @Group("mpsc") @GroupThreads(1)
+    public void mpscPoll(Queues q, Counters c) { polled(q.mpsc.poll().isPresent(), c); }
+
+    @Benchmark @Group("mpmc") @GroupThreads(1)
+    public void mpmcOffer(Queues q, Counters c) { offered(q.mpmc.offer(ONE), c); }
+
+    @Benchmark @Group("mpmc") @GroupThreads(1)
+    public void mpmcPoll(Queues q, Counters c) { polled(q.mpmc.poll().isPresent(), c); }
+
+    @Benchmark @Group("concurrent") @GroupThreads(1)
+    public void concurrentOffer(Queues q, Counters c) { offerConcurrent(q, c); }
+
+    @Benchmark @Group("concurrent") @GroupThreads(1)
+    public void concurrentPoll(Queues q, Counters c) { pollConcurrent(q, c); }
+
+    // three producers, one consumer
+
+    @Benchmark @Group("mpscFanIn") @GroupThreads(3)
+    public void mpscFanInOffer(Queues q, Counters c) { offered(q.mpsc.offer(ONE), c); }
+
+    @Benchmark @Group("mpscFanIn") @GroupThreads(1)
+    public void mpscFanInPoll(Queues q, Counters c) { polled(q.mpsc.poll().isPresent(), c); }
+
+    @Benchmark @Group("mpmcFanIn") @GroupThreads(3)
+    public void mpmcFanInOffer(Queues q, Counters c) { offered(q.mpmc.offer(ONE), c); }
+
+    @Benchmark @Group("mpmcFanIn") @GroupThreads(1)
+    public void mpmcFanInPoll(Queues q, Counters c) { polled(q.mpmc.poll().isPresent(), c); }
+
+    @Benchmark @Group("concurrentFanIn") @GroupThreads(3)
+    public void concurrentFanInOffer(Queues q, Counters c) { offerConcurrent(q, c); }
+
+    @Benchmark @Group("concurrentFanIn") @GroupThreads(1)
+    public void concurrentFanInPoll(Queues q, Counters c) { pollConcurrent(q, c); }
+}
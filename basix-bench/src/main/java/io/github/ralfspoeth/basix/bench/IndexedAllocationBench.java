@@ -0,0 +1,78 @@
+package io.github.ralfspoeth.basix.bench;
+
+import io.github.ralfspoeth.basix.fn.Functions;
+import io.github.ralfspoeth.basix.fn.Indexed;
+import io.github.ralfspoeth.basix.fn.Labeled;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Indices and labels attached through {@link Indexed} and {@link Labeled}
+ * records compared with the callbacks {@link Functions#forEachIndexed} and
+ * {@link Functions#forEachLabeled} and the
+ * {@link Functions#indexSpliterator} which pass them alongside the element.
+ * Each record escapes into the black hole, as it would into a downstream
+ * collection; run with {@code -prof gc} to compare
+ * {@code gc.alloc.rate.norm}, the bytes allocated per operation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class IndexedAllocationBench {
+
+    @Param({"65536"})
+    int size;
+
+    @Param({"array", "linked"})
+    String kind;
+
+    private List<String> list;
+
+    @Setup
+    public void setup() {
+        var values = IntStream.range(0, size).mapToObj(Integer::toString).toList();
+        list = kind.equals("linked") ? new LinkedList<>(values) : values;
+    }
+
+    @Benchmark
+    public void recordIndexed(Blackhole bh) {
+        Functions.indexed(list).forEach(bh::consume);
+    }
+
+    @Benchmark
+    public void callbackIndexed(Blackhole bh) {
+        Functions.forEachIndexed(list, (x, i) -> {
+            bh.consume(i);
+            bh.consume(x);
+        });
+    }
+
+    @Benchmark
+    public void spliteratorIndexed(Blackhole bh) {
+        Functions.indexSpliterator(list, 0).forEachRemaining((x, i) -> {
+            bh.consume(i);
+            bh.consume(x);
+        });
+    }
+
+    @Benchmark
+    public void recordLabeled(Blackhole bh) {
+        Functions.labeled(list, String::length).forEach(bh::consume);
+    }
+
+    @Benchmark
+    public void callbackLabeled(Blackhole bh) {
+        Functions.forEachLabeled(list, String::length, (l, x) -> {
+            bh.consume(l);
+            bh.consume(x);
+        });
+    }
+}
@@ -0,0 +1,116 @@
+package io.github.ralfspoeth.basix.bench;
+
+import io.github.ralfspoeth.basix.fn.Functions;
+import io.github.ralfspoeth.basix.fn.Indexed;
+import io.github.ralfspoeth.basix.fn.Labeled;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * {@link Functions#indexed} and {@link Functions#labeled} streams compared
+ * with the equivalent hand-written JDK streams, sequential and parallel;
+ * in parallel also the shared counter of {@link Functions#indexed(int)}
+ * against the {@link Functions#indexing(int)} gatherer and the
+ * position-based indices of {@link Functions#indexed(Iterable)} over a set
+ * and of {@link Functions#indexed(Object[], int, boolean)} over an array.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class IndexedLabeledBench {
+
+    @Param({"1024", "1048576"})
+    int size;
+
+    private List<String> list;
+    private Map<Integer, String> map;
+    private Set<String> set;
+    private String[] array;
+
+    @Setup
+    public void setup() {
+        list = IntStream.range(0, size).mapToObj(Integer::toString).toList();
+        map = HashMap.newHashMap(size);
+        for (int i = 0; i < size; i++) map.put(i, list.get(i));
+        set = new TreeSet<>(list);
+        array = list.toArray(String[]::new);
+    }
+
+    @Benchmark
+    public void basixIndexedIterable(Blackhole bh) {
+        Functions.indexed(list).forEach(bh::consume);
+    }
+
+    @Benchmark
+    public void basixIndexedFunction(Blackhole bh) {
+        list.stream().map(Functions.<String>indexed(0)).forEach(bh::consume);
+    }
+
+    @Benchmark
+    public void jdkIndexedRange(Blackhole bh) {
+        IntStream.range(0, list.size()).mapToObj(i -> new Indexed<>(i, list.get(i))).forEach(bh::consume);
+    }
+
+    @Benchmark
+    public long basixIndexedParallel() {
+        return Functions.indexed(list).parallel().mapToLong(Indexed::index).sum();
+    }
+
+    @Benchmark
+    public long basixIndexedArrayParallel() {
+        return Functions.indexed(array, 0, true).mapToLong(Indexed::index).sum();
+    }
+
+    @Benchmark
+    public long basixIndexedFunctionParallel() {
+        return list.parallelStream().map(Functions.<String>indexed(0)).mapToLong(Indexed::index).sum();
+    }
+
+    @Benchmark
+    public long basixIndexingParallel() {
+        return list.parallelStream().gather(Functions.<String>indexing(0)).mapToLong(Indexed::index).sum();
+    }
+
+    @Benchmark
+    public long basixIndexedSetParallel() {
+        return Functions.indexed(set).parallel().mapToLong(Indexed::index).sum();
+    }
+
+    @Benchmark
+    public long jdkIndexedRangeParallel() {
+        return IntStream.range(0, list.size()).parallel()
+                .mapToObj(i -> new Indexed<>(i, list.get(i)))
+                .mapToLong(Indexed::index).sum();
+    }
+
+    @Benchmark
+    public void basixLabeledMap(Blackhole bh) {
+        Functions.labeled(map).forEach(bh::consume);
+    }
+
+    @Benchmark
+    public void jdkLabeledMap(Blackhole bh) {
+        map.entrySet().stream().map(e -> new Labeled<>(e.getKey(), e.getValue())).forEach(bh::consume);
+    }
+
+    @Benchmark
+    public void basixLabeledIterable(Blackhole bh) {
+        Functions.labeled(list, String::length).forEach(bh::consume);
+    }
+
+    @Benchmark
+    public void jdkLabeledIterable(Blackhole bh) {
+        list.stream().map(s -> new Labeled<>(s.length(), s)).forEach(bh::consume);
+    }
+}
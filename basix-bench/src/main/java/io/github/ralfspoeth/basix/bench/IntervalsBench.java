@@ -0,0 +1,83 @@
+package io.github.ralfspoeth.basix.bench;
+
+import io.github.ralfspoeth.basix.fn.Bounds;
+import io.github.ralfspoeth.basix.fn.Predicates;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntPredicate;
+import java.util.function.Predicate;
+
+/**
+ * Interval predicates over an array of values: a single half-open interval
+ * as {@link Predicates#betweenInt} compared with the chained
+ * {@code greaterOrEqual(a).and(smallerThan(b))}, and a union of
+ * {@code intervals} disjoint intervals as {@link Predicates#inIntervalsInt}
+ * compared with testing the intervals one after the other.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class IntervalsBench {
+
+    @Param({"16", "4096"})
+    int intervals;
+
+    @Param({"65536"})
+    int size;
+
+    private int[] values;
+    private int[] lowers;
+    private int[] uppers;
+    private IntPredicate betweenInt;
+    private Predicate<Integer> chained;
+    private IntPredicate inIntervals;
+
+    @Setup
+    public void setup() {
+        var rnd = new Random(42);
+        values = rnd.ints(size, 0, 1_000_000).toArray();
+        // disjoint intervals covering about half of the domain
+        var points = rnd.ints(2 * intervals, 0, 1_000_000).distinct().sorted().toArray();
+        int n = points.length / 2;
+        lowers = new int[n];
+        uppers = new int[n];
+        for (int i = 0; i < n; i++) {
+            lowers[i] = points[2 * i];
+            uppers[i] = points[2 * i + 1];
+        }
+        betweenInt = Predicates.betweenInt(250_000, 750_000, Bounds.CLOSED_OPEN);
+        chained = Predicates.greaterOrEqual(250_000).and(Predicates.smallerThan(750_000));
+        inIntervals = Predicates.inIntervalsInt(lowers, uppers, Bounds.CLOSED_OPEN);
+    }
+
+    @Benchmark
+    public long basixBetweenInt() {
+        return Arrays.stream(values).filter(betweenInt).count();
+    }
+
+    @Benchmark
+    public long basixChained() {
+        return Arrays.stream(values).boxed().filter(chained).count();
+    }
+
+    @Benchmark
+    public long basixInIntervals() {
+        return Arrays.stream(values).filter(inIntervals).count();
+    }
+
+    @Benchmark
+    public long linearInIntervals() {
+        return Arrays.stream(values).filter(v -> {
+            for (int i = 0; i < lowers.length; i++) {
+                if (v >= lowers[i] && v < uppers[i]) return true;
+            }
+            return false;
+        }).count();
+    }
+}
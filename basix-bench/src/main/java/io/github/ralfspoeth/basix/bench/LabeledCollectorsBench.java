@@ -0,0 +1,92 @@
+package io.github.ralfspoeth.basix.bench;
+
+import io.github.ralfspoeth.basix.fn.LabeledCollectors;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Grouping {@code size} elements by one of {@code labels} distinct labels
+ * with {@link LabeledCollectors} compared with {@code groupingBy} and
+ * {@code toMap} from {@link Collectors}, sequential and parallel.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LabeledCollectorsBench {
+
+    @Param({"16", "65536"})
+    int labels;
+
+    @Param({"1048576"})
+    int size;
+
+    private List<Long> values;
+
+    @Setup
+    public void setup() {
+        values = new Random(42).longs(size, 0, Long.MAX_VALUE).boxed().toList();
+    }
+
+    private Integer label(Long value) {
+        return (int) (value % labels);
+    }
+
+    @Benchmark
+    public Map<Integer, Long> basixCounting() {
+        return values.stream().collect(LabeledCollectors.counting(this::label));
+    }
+
+    @Benchmark
+    public Map<Integer, Long> jdkCounting() {
+        return values.stream().collect(Collectors.groupingBy(this::label, Collectors.counting()));
+    }
+
+    @Benchmark
+    public Map<Integer, Long> basixCountingParallel() {
+        return values.parallelStream().collect(LabeledCollectors.counting(this::label));
+    }
+
+    @Benchmark
+    public Map<Integer, Long> jdkCountingParallel() {
+        return values.parallelStream().collect(Collectors.groupingBy(this::label, Collectors.counting()));
+    }
+
+    @Benchmark
+    public Map<Integer, Long[]> basixGroupingToArrays() {
+        return values.stream().collect(LabeledCollectors.groupingToArrays(this::label, Long[]::new));
+    }
+
+    @Benchmark
+    public Map<Integer, List<Long>> jdkGroupingToLists() {
+        return values.stream().collect(Collectors.groupingBy(this::label));
+    }
+
+    @Benchmark
+    public Map<Integer, Long[]> basixGroupingToArraysParallel() {
+        return values.parallelStream().collect(LabeledCollectors.groupingToArrays(this::label, Long[]::new));
+    }
+
+    @Benchmark
+    public Map<Integer, List<Long>> jdkGroupingToListsParallel() {
+        return values.parallelStream().collect(Collectors.groupingBy(this::label));
+    }
+
+    @Benchmark
+    public Map<Integer, Long> basixReducing() {
+        return values.stream().collect(LabeledCollectors.reducing(this::label, Math::max));
+    }
+
+    @Benchmark
+    public Map<Integer, Long> jdkReducing() {
+        return values.stream().collect(Collectors.toMap(this::label, Function.identity(), Math::max));
+    }
+}
@@ -0,0 +1,83 @@
+package io.github.ralfspoeth.basix.bench;
+
+import io.github.ralfspoeth.basix.fn.Functions;
+import io.github.ralfspoeth.basix.fn.Labeled;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Scaling of {@link Functions#labeled(Map, boolean)} and
+ * {@link Functions#labeled(Iterable, java.util.function.Function, boolean)}
+ * with the number of threads: the parallel streams run in a
+ * {@link ForkJoinPool} of {@code threads} workers, with a labeling function
+ * and a downstream map which cost some hashing per element. Compare
+ * the scores across {@code threads} on a machine with at least eight cores.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LabeledParallelBench {
+
+    @Param({"1", "2", "4", "8"})
+    int threads;
+
+    @Param({"1048576"})
+    int size;
+
+    private Map<Integer, String> map;
+    private List<String> list;
+    private ForkJoinPool pool;
+
+    @Setup
+    public void setup() {
+        list = IntStream.range(0, size).mapToObj(Integer::toString).toList();
+        map = HashMap.newHashMap(size);
+        for (int i = 0; i < size; i++) map.put(i, list.get(i));
+        pool = new ForkJoinPool(threads);
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    // a label which takes some work to compute
+    private static int label(String s) {
+        int h = 0;
+        for (int i = 0; i < 16; i++) {
+            h = 31 * h + s.hashCode() * (i | 1);
+        }
+        return h;
+    }
+
+    @Benchmark
+    public long basixLabeledMapSequential() {
+        return Functions.labeled(map, false).mapToLong(l -> label(l.value()) + l.label()).sum();
+    }
+
+    @Benchmark
+    public long basixLabeledMapParallel() {
+        return pool.submit(() -> Functions.labeled(map, true)
+                .mapToLong(l -> label(l.value()) + l.label()).sum()).join();
+    }
+
+    @Benchmark
+    public long basixLabeledIterableSequential() {
+        return Functions.labeled(list, LabeledParallelBench::label, false).mapToLong(Labeled::label).sum();
+    }
+
+    @Benchmark
+    public long basixLabeledIterableParallel() {
+        return pool.submit(() -> Functions.labeled(list, LabeledParallelBench::label, true)
+                .mapToLong(Labeled::label).sum()).join();
+    }
+}
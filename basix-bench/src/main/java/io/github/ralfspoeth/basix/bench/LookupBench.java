@@ -0,0 +1,91 @@
+package io.github.ralfspoeth.basix.bench;
+
+import io.github.ralfspoeth.basix.fn.Functions;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.DayOfWeek;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * The lookup functions returned by {@link Functions#of(Map, Function)}
+ * for enum, small integer, and string keys, each compared with a
+ * lookup in {@link Map#copyOf} which {@code of} used to delegate to.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+@OperationsPerInvocation(LookupBench.KEYS)
+public class LookupBench {
+
+    static final int KEYS = 64;
+
+    private final DayOfWeek[] days = new DayOfWeek[KEYS];
+    private final Integer[] ints = new Integer[KEYS];
+    private final String[] strings = new String[KEYS];
+
+    private Function<DayOfWeek, String> basixEnum, jdkEnum;
+    private Function<Integer, String> basixInt, jdkInt;
+    private Function<String, String> basixString, jdkString;
+
+    @Setup
+    public void setup() {
+        var byDay = new HashMap<DayOfWeek, String>();
+        var byInt = new HashMap<Integer, String>();
+        var byString = new HashMap<String, String>();
+        for (int i = 0; i < KEYS; i++) {
+            days[i] = DayOfWeek.values()[i % 7];
+            ints[i] = i;
+            strings[i] = "key" + i;
+            byDay.put(days[i], days[i].name());
+            byInt.put(i, strings[i]);
+            byString.put(strings[i], strings[i]);
+        }
+        basixEnum = Functions.of(byDay, Function.identity());
+        jdkEnum = Map.copyOf(byDay)::get;
+        basixInt = Functions.of(byInt, Function.identity());
+        jdkInt = Map.copyOf(byInt)::get;
+        basixString = Functions.of(byString, Function.identity());
+        jdkString = Map.copyOf(byString)::get;
+    }
+
+    private static <K> void lookup(K[] keys, Function<K, String> f, Blackhole bh) {
+        for (var k : keys) bh.consume(f.apply(k));
+    }
+
+    @Benchmark
+    public void basixEnumKeys(Blackhole bh) {
+        lookup(days, basixEnum, bh);
+    }
+
+    @Benchmark
+    public void jdkEnumKeys(Blackhole bh) {
+        lookup(days, jdkEnum, bh);
+    }
+
+    @Benchmark
+    public void basixIntKeys(Blackhole bh) {
+        lookup(ints, basixInt, bh);
+    }
+
+    @Benchmark
+    public void jdkIntKeys(Blackhole bh) {
+        lookup(ints, jdkInt, bh);
+    }
+
+    @Benchmark
+    public void basixStringKeys(Blackhole bh) {
+        lookup(strings, basixString, bh);
+    }
+
+    @Benchmark
+    public void jdkStringKeys(Blackhole bh) {
+        lookup(strings, jdkString, bh);
+    }
+}
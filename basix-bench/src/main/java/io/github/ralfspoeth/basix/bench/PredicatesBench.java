@@ -0,0 +1,164 @@
+package io.github.ralfspoeth.basix.bench;
+
+import io.github.ralfspoeth.basix.fn.Predicates;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+
+/**
+ * The {@link Predicates} comparator family and {@link Predicates#in}
+ * compared with hand-written lambdas, measured as a filter over a list.
+ * {@code basixIn} tests against a snapshot of an immutable set,
+ * {@code basixInLive} against a mutable {@link HashSet}, and
+ * {@code basixInInts} against an {@code int[]} without boxing.
+ * {@code basixSmallerThanKeyInt} compares an {@code int} property
+ * without boxing or a comparator.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PredicatesBench {
+
+    public record Item(int key, String name) {}
+
+    @Param({"65536"})
+    int size;
+
+    private List<Integer> ints;
+    private List<Item> items;
+    private Set<Integer> keys;
+    private Set<Integer> mutableKeys;
+    private int ref;
+
+    private Predicate<Integer> basixSmallerThan;
+    private Predicate<Integer> basixSmallerThanComparator;
+    private Predicate<Integer> basixGreaterOrEqual;
+    private Predicate<Integer> basixNonEqual;
+    private Predicate<Item> basixIn;
+    private Predicate<Item> basixInLive;
+    private Predicate<Item> basixInInts;
+    private Predicate<Item> basixEq;
+    private Predicate<Item> basixSmallerThanKey;
+    private Predicate<Item> basixSmallerThanKeyInt;
+
+    @Setup
+    public void setup() {
+        var rnd = new Random(42);
+        ints = IntStream.range(0, size).map(_ -> rnd.nextInt(1000)).boxed().toList();
+        items = ints.stream().map(i -> new Item(i, Integer.toString(i))).toList();
+        keys = Set.copyOf(IntStream.range(0, 100).map(i -> i * 7).boxed().toList());
+        ref = 500;
+        basixSmallerThan = Predicates.smallerThan(ref);
+        basixSmallerThanComparator = Predicates.smallerThan(ref, Comparator.reverseOrder());
+        basixGreaterOrEqual = Predicates.greaterOrEqual(ref);
+        basixNonEqual = Predicates.nonEqual(ref);
+        mutableKeys = new HashSet<>(keys);
+        basixIn = Predicates.in(keys, Item::key);
+        basixInLive = Predicates.in(mutableKeys, Item::key);
+        basixInInts = Predicates.in(keys.stream().mapToInt(Integer::intValue).toArray(), Item::key);
+        basixEq = Predicates.eq("500", Item::name);
+        basixSmallerThanKey = Predicates.<Item>smallerThan(new Item(ref, ""), Comparator.comparingInt(Item::key));
+        basixSmallerThanKeyInt = Predicates.smallerThanInt(ref, Item::key);
+    }
+
+    @Benchmark
+    public long basixSmallerThan() {
+        return ints.stream().filter(basixSmallerThan).count();
+    }
+
+    @Benchmark
+    public long jdkSmallerThan() {
+        return ints.stream().filter(x -> x < ref).count();
+    }
+
+    @Benchmark
+    public long basixSmallerThanComparator() {
+        return ints.stream().filter(basixSmallerThanComparator).count();
+    }
+
+    @Benchmark
+    public long jdkSmallerThanComparator() {
+        Comparator<Integer> c = Comparator.reverseOrder();
+        return ints.stream().filter(x -> c.compare(x, ref) < 0).count();
+    }
+
+    @Benchmark
+    public long basixGreaterOrEqual() {
+        return ints.stream().filter(basixGreaterOrEqual).count();
+    }
+
+    @Benchmark
+    public long jdkGreaterOrEqual() {
+        return ints.stream().filter(x -> x >= ref).count();
+    }
+
+    @Benchmark
+    public long basixNonEqual() {
+        return ints.stream().filter(basixNonEqual).count();
+    }
+
+    @Benchmark
+    public long jdkNonEqual() {
+        return ints.stream().filter(x -> x != ref).count();
+    }
+
+    @Benchmark
+    public long basixIn() {
+        return items.stream().filter(basixIn).count();
+    }
+
+    @Benchmark
+    public long jdkIn() {
+        return items.stream().filter(i -> keys.contains(i.key())).count();
+    }
+
+    @Benchmark
+    public long basixInLive() {
+        return items.stream().filter(basixInLive).count();
+    }
+
+    @Benchmark
+    public long jdkInLive() {
+        return items.stream().filter(i -> mutableKeys.contains(i.key())).count();
+    }
+
+    @Benchmark
+    public long basixInInts() {
+        return items.stream().filter(basixInInts).count();
+    }
+
+    @Benchmark
+    public long basixEq() {
+        return items.stream().filter(basixEq).count();
+    }
+
+    @Benchmark
+    public long jdkEq() {
+        return items.stream().filter(i -> "500".equals(i.name())).count();
+    }
+
+    @Benchmark
+    public long basixSmallerThanKey() {
+        return items.stream().filter(basixSmallerThanKey).count();
+    }
+
+    @Benchmark
+    public long basixSmallerThanKeyInt() {
+        return items.stream().filter(basixSmallerThanKeyInt).count();
+    }
+
+    @Benchmark
+    public long jdkSmallerThanKey() {
+        return items.stream().filter(i -> i.key() < ref).count();
+    }
+}
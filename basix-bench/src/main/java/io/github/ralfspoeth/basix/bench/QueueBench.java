@@ -0,0 +1,91 @@
+package io.github.ralfspoeth.basix.bench;
+
+import io.github.ralfspoeth.basix.coll.Queue;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single-threaded {@link Queue#add}/{@link Queue#remove} compared with
+ * {@link ArrayDeque#add}/{@link ArrayDeque#remove}.
+ * <p>
+ * With {@code wrapped} set, the setup removes and re-adds half of the
+ * elements so that the ring buffer starts in the wrap-around state where
+ * the head index lies behind the tail index. The {@code Presized} and
+ * {@code Shrinking} variants of {@code fillDrain} start with room for all
+ * elements, or give the storage back while draining.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class QueueBench {
+
+    @Param({"16", "1024", "65536"})
+    int size;
+
+    @Param({"false", "true"})
+    boolean wrapped;
+
+    private Queue<Integer> queue;
+    private ArrayDeque<Integer> deque;
+
+    @Setup
+    public void setup() {
+        queue = new Queue<>();
+        deque = new ArrayDeque<>();
+        for (int i = 0; i < size; i++) {
+            queue.add(i);
+            deque.add(i);
+        }
+        if (wrapped) {
+            for (int i = 0; i < size / 2; i++) {
+                queue.add(queue.remove());
+                deque.add(deque.remove());
+            }
+        }
+    }
+
+    @Benchmark
+    public void basixFillDrain(Blackhole bh) {
+        var q = new Queue<Integer>();
+        for (int i = 0; i < size; i++) q.add(i);
+        while (!q.isEmpty()) bh.consume(q.remove());
+    }
+
+    @Benchmark
+    public void basixFillDrainPresized(Blackhole bh) {
+        var q = new Queue<Integer>(size);
+        for (int i = 0; i < size; i++) q.add(i);
+        while (!q.isEmpty()) bh.consume(q.remove());
+    }
+
+    @Benchmark
+    public void basixFillDrainShrinking(Blackhole bh) {
+        var q = new Queue<Integer>(4, true);
+        for (int i = 0; i < size; i++) q.add(i);
+        while (!q.isEmpty()) bh.consume(q.remove());
+    }
+
+    @Benchmark
+    public void jdkFillDrain(Blackhole bh) {
+        var d = new ArrayDeque<Integer>();
+        for (int i = 0; i < size; i++) d.add(i);
+        while (!d.isEmpty()) bh.consume(d.remove());
+    }
+
+    @Benchmark
+    public Integer basixSteadyAddRemove() {
+        return queue.add(size).remove();
+    }
+
+    @Benchmark
+    public Integer jdkSteadyAddRemove() {
+        deque.add(size);
+        return deque.remove();
+    }
+}
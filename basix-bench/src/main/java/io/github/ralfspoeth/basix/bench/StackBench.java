@@ -0,0 +1,83 @@
+package io.github.ralfspoeth.basix.bench;
+
+import io.github.ralfspoeth.basix.coll.Stack;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single-threaded {@link Stack#push}/{@link Stack#pop} compared with
+ * {@link ArrayDeque#push}/{@link ArrayDeque#pop}.
+ * <p>
+ * {@code fillDrain} starts from a fresh structure and therefore includes
+ * the growth of the backing array; {@code steadyPushPop} works on a
+ * pre-filled structure of the given depth and measures the pure
+ * push/pop round trip. The {@code Presized} and {@code Shrinking} variants
+ * of {@code fillDrain} start with room for all elements, or give the
+ * storage back while draining.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class StackBench {
+
+    @Param({"16", "1024", "65536"})
+    int size;
+
+    private Stack<Integer> stack;
+    private ArrayDeque<Integer> deque;
+
+    @Setup
+    public void setup() {
+        stack = new Stack<>();
+        deque = new ArrayDeque<>();
+        for (int i = 0; i < size; i++) {
+            stack.push(i);
+            deque.push(i);
+        }
+    }
+
+    @Benchmark
+    public void basixFillDrain(Blackhole bh) {
+        var s = new Stack<Integer>();
+        for (int i = 0; i < size; i++) s.push(i);
+        while (!s.isEmpty()) bh.consume(s.pop());
+    }
+
+    @Benchmark
+    public void basixFillDrainPresized(Blackhole bh) {
+        var s = new Stack<Integer>(size);
+        for (int i = 0; i < size; i++) s.push(i);
+        while (!s.isEmpty()) bh.consume(s.pop());
+    }
+
+    @Benchmark
+    public void basixFillDrainShrinking(Blackhole bh) {
+        var s = new Stack<Integer>(16, true);
+        for (int i = 0; i < size; i++) s.push(i);
+        while (!s.isEmpty()) bh.consume(s.pop());
+    }
+
+    @Benchmark
+    public void jdkFillDrain(Blackhole bh) {
+        var d = new ArrayDeque<Integer>();
+        for (int i = 0; i < size; i++) d.push(i);
+        while (!d.isEmpty()) bh.consume(d.pop());
+    }
+
+    @Benchmark
+    public Integer basixSteadyPushPop() {
+        return stack.push(size).pop();
+    }
+
+    @Benchmark
+    public Integer jdkSteadyPushPop() {
+        deque.push(size);
+        return deque.pop();
+    }
+}
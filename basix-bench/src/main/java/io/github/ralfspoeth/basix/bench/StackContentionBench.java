@@ -0,0 +1,64 @@
+package io.github.ralfspoeth.basix.bench;
+
+import io.github.ralfspoeth.basix.coll.ConcurrentStack;
+import io.github.ralfspoeth.basix.coll.LiFo;
+import io.github.ralfspoeth.basix.coll.PooledConcurrentStack;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ConcurrentStack} under contention: the plain Treiber stack
+ * compared with exponential back-off only and with back-off plus an
+ * elimination array, and with {@link PooledConcurrentStack}, all benchmark
+ * threads sharing one instance.
+ * Every thread pushes before it pops, so no pop ever meets an empty stack.
+ * <p>
+ * The benefit of back-off and elimination grows with the number of threads
+ * hammering the head pointer; run the benchmark with increasing thread
+ * counts to see how each mode scales, e.g.
+ * {@snippet :
+ * for t in 1 2 4 8 16 32 64; do
+ *   java -jar target/benchmarks.jar StackContentionBench -t $t
+ * done
+ * }
+ * Add {@code -prof gc} to compare the allocation rate of the pooled stack
+ * with the node per push of the others.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StackContentionBench {
+
+    private static final Integer ONE = 1;
+
+    @Param({"treiber", "backoff", "elimination", "pooled"})
+    String mode;
+
+    @Param({"8"})
+    int eliminationWidth;
+
+    @Param({"256"})
+    int maxBackoffSpins;
+
+    private LiFo<?, Integer> stack;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        stack = switch (mode) {
+            case "treiber" -> new ConcurrentStack<>();
+            case "backoff" -> new ConcurrentStack<>(0, maxBackoffSpins);
+            case "elimination" -> new ConcurrentStack<>(eliminationWidth, maxBackoffSpins);
+            case "pooled" -> new PooledConcurrentStack<>();
+            default -> throw new IllegalArgumentException(mode);
+        };
+    }
+
+    @Benchmark
+    public Integer pushPop() {
+        return stack.push(ONE).pop();
+    }
+}
@@ -0,0 +1,87 @@
+package io.github.ralfspoeth.basix.bench;
+
+import io.github.ralfspoeth.basix.coll.IntObjectMap;
+import io.github.ralfspoeth.basix.fn.Functions;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * {@link Functions#zipMap} compared with a hand-written loop
+ * filling a {@link LinkedHashMap}, with the {@code int[]} keyed variant
+ * building an {@link IntObjectMap}, and with
+ * {@link Functions#compactZipMap}; the {@code lookup} benchmarks
+ * query every key of a prebuilt map once.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ZipMapBench {
+
+    @Param({"16", "1024", "65536"})
+    int size;
+
+    private List<Integer> keys;
+    private int[] intKeys;
+    private List<String> values;
+    private Map<Integer, String> linked;
+    private IntObjectMap<String> intObject;
+    private Map<Integer, String> compact;
+
+    @Setup
+    public void setup() {
+        keys = IntStream.range(0, size).boxed().toList();
+        intKeys = IntStream.range(0, size).toArray();
+        values = IntStream.range(0, size).mapToObj(Integer::toString).toList();
+        linked = Functions.zipMap(keys, values);
+        intObject = Functions.zipMap(intKeys, values);
+        compact = Functions.compactZipMap(keys, values);
+    }
+
+    @Benchmark
+    public Map<Integer, String> basixZipMap() {
+        return Functions.zipMap(keys, values);
+    }
+
+    @Benchmark
+    public Map<Integer, String> jdkLoop() {
+        var m = new LinkedHashMap<Integer, String>();
+        for (int i = 0, n = Math.min(keys.size(), values.size()); i < n; i++) {
+            m.put(keys.get(i), values.get(i));
+        }
+        return m;
+    }
+
+    @Benchmark
+    public IntObjectMap<String> basixZipMapIntKeys() {
+        return Functions.zipMap(intKeys, values);
+    }
+
+    @Benchmark
+    public Map<Integer, String> basixCompactZipMap() {
+        return Functions.compactZipMap(keys, values);
+    }
+
+    @Benchmark
+    public void lookupLinkedHashMap(Blackhole bh) {
+        for (var k : keys) bh.consume(linked.get(k));
+    }
+
+    @Benchmark
+    public void lookupIntObjectMap(Blackhole bh) {
+        for (int k : intKeys) bh.consume(intObject.get(k));
+    }
+
+    @Benchmark
+    public void lookupCompactMap(Blackhole bh) {
+        for (var k : keys) bh.consume(compact.get(k));
+    }
+}
@@ -1,13 +1,20 @@
 package io.github.ralfspoeth.basix.coll;
 
+import java.time.Duration;
+import java.util.Collection;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Thread-safe FIFO queue, backed by a {@link ConcurrentLinkedDeque}.
  * All operations are non-blocking; the {@link #head()} and {@link #tail()}
  * snapshots reflect the state of the queue at the moment of the call and
  * may be stale by the time the caller inspects them.
+ * <p>
+ * Consumers which would otherwise poll in a loop may block in
+ * {@link #take()} or {@link #poll(Duration)} instead; they are parked
+ * without holding a monitor, so virtual threads unmount while waiting.
  *
  * @param <T> the element type
  */
@@ -19,6 +26,7 @@ public final class ConcurrentQueue<T> implements FiFo<ConcurrentQueue<T>, T> {
     public ConcurrentQueue() {}
 
     private final ConcurrentLinkedDeque<T> internalQueue = new ConcurrentLinkedDeque<>();
+    private final Waiters notEmpty = new Waiters();
 
     @Override
     public boolean isEmpty() {
@@ -28,6 +36,26 @@ public final class ConcurrentQueue<T> implements FiFo<ConcurrentQueue<T>, T> {
     @Override
     public ConcurrentQueue<T> add(T item) {
         internalQueue.add(item);
+        notEmpty.signal();
+        return this;
+    }
+
+    /**
+     * Add all elements of the given collection in their iteration order.
+     * {@link ConcurrentLinkedDeque#addAll(Collection)} links the elements
+     * privately first and then appends the chain with a single CAS rather
+     * than one per element.
+     *
+     * @param items the elements to be added
+     * @return {@code this}
+     */
+    @Override
+    public ConcurrentQueue<T> addAll(Collection<? extends T> items) {
+        int n = items.size();
+        if (n > 0) {
+            internalQueue.addAll(items);
+            notEmpty.signal(n);
+        }
         return this;
     }
 
@@ -47,6 +75,46 @@ public final class ConcurrentQueue<T> implements FiFo<ConcurrentQueue<T>, T> {
         return Optional.ofNullable(internalQueue.pollFirst());
     }
 
+    @Override
+    public int drainTo(Collection<? super T> target, int max) {
+        if (max < 0) {
+            throw new IllegalArgumentException("max must not be negative: " + max);
+        }
+        int n = 0;
+        T item;
+        while (n < max && (item = internalQueue.pollFirst()) != null) {
+            target.add(item);
+            n++;
+        }
+        return n;
+    }
+
+    /**
+     * Remove and return the element at the head of the queue, waiting
+     * for an element to become available if the queue is empty.
+     *
+     * @return the element at the head of the queue
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public T take() throws InterruptedException {
+        T item = notEmpty.await(internalQueue::pollFirst, false, 0L);
+        assert item != null;
+        return item;
+    }
+
+    /**
+     * Remove and return the element at the head of the queue, waiting up
+     * to the given timeout for an element to become available.
+     *
+     * @param timeout the maximum time to wait
+     * @return an {@link Optional} wrapping the removed head element, or an
+     *         empty optional if the timeout elapsed first
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public Optional<T> poll(Duration timeout) throws InterruptedException {
+        return Optional.ofNullable(notEmpty.await(internalQueue::pollFirst, true, TimeUnit.NANOSECONDS.convert(timeout)));
+    }
+
     @Override
     public Optional<T> head() {
         return Optional.ofNullable(internalQueue.peekFirst());
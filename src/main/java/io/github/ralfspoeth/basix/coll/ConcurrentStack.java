@@ -2,9 +2,14 @@ package io.github.ralfspoeth.basix.coll;
 
 import org.jspecify.annotations.Nullable;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.function.Predicate;
 
 
@@ -16,15 +21,71 @@ import java.util.function.Predicate;
  * {@link AtomicReference} as the head pointer, so {@link #push},
  * {@link #pop}, {@link #pushIf}, and {@link #popIf} are atomic
  * with respect to one another.
+ * <p>
+ * {@link #pushAll(Collection)} and {@link #popAll()} move whole batches
+ * with a single CAS on the head pointer: the former links its nodes
+ * privately before publishing the chain, the latter detaches the entire
+ * stack at once. Consumers which process elements in batches thus contend
+ * once per batch rather than once per element.
+ * <p>
+ * Under heavy contention a plain Treiber stack spends most of its time
+ * in failing CAS retries on the head pointer. A stack created with
+ * {@link #ConcurrentStack(int, int)} backs off exponentially after a failed
+ * CAS and, if given an elimination width, uses the back-off period to pair
+ * up a concurrent {@link #push} and {@link #pop} (or {@link #popIf}) in a
+ * side array: the pushing thread hands its element directly to the popping
+ * thread, and neither touches the head pointer. Such a pair is linearizable
+ * as a push immediately followed by a pop.
+ * {@snippet :
+ * var stack = new ConcurrentStack<Task>(8, 256); // 8 exchange slots, back off up to 256 spins
+ * }
  *
  * @param <T> the element type
  */
 public final class ConcurrentStack<T> implements LiFo<ConcurrentStack<T>, T> {
 
+    // slots of the elimination array are this many references apart,
+    // so that threads exchanging in adjacent slots do not share a cache line
+    private static final int SLOT_STRIDE = 16;
+
+    private final int eliminationWidth;
+    private final int maxBackoffSpins;
+    private final @Nullable AtomicReferenceArray<@Nullable Node<T>> eliminations;
+
+    /**
+     * Creates a new, empty concurrent stack which neither backs off
+     * nor eliminates.
+     */
+    public ConcurrentStack() {
+        this(0, 0);
+    }
+
     /**
-     * Creates a new, empty concurrent stack.
+     * Creates a new, empty concurrent stack for high contention.
+     *
+     * @param eliminationWidth the number of slots in which concurrent push
+     *                         and pop operations exchange elements;
+     *                         {@code 0} disables elimination
+     * @param maxBackoffSpins  the upper bound of the exponential back-off
+     *                         after a failed CAS, in {@link Thread#onSpinWait()}
+     *                         calls; also bounds how long a push waits for a
+     *                         partner in the elimination array;
+     *                         {@code 0} disables back-off
+     * @throws IllegalArgumentException if either argument is negative
      */
-    public ConcurrentStack() {}
+    public ConcurrentStack(int eliminationWidth, int maxBackoffSpins) {
+        if (eliminationWidth < 0) {
+            throw new IllegalArgumentException("negative elimination width: " + eliminationWidth);
+        }
+        if (maxBackoffSpins < 0) {
+            throw new IllegalArgumentException("negative back-off: " + maxBackoffSpins);
+        }
+        this.eliminationWidth = eliminationWidth;
+        this.maxBackoffSpins = maxBackoffSpins;
+        this.eliminations = eliminationWidth == 0
+                ? null
+                : new AtomicReferenceArray<>(eliminationWidth * SLOT_STRIDE);
+    }
 
     private static class Node<T> {
         final T data;
@@ -45,34 +106,44 @@ public final class ConcurrentStack<T> implements LiFo<ConcurrentStack<T>, T> {
 
     @Override
     public Optional<T> popIf(Predicate<? super @Nullable T> condition) {
-        Node<T> currentTop, next;
-        T data;
-        do {
-            currentTop = top.get();
+        int spins = initialSpins();
+        while (true) {
+            Node<T> currentTop = top.get();
             if (currentTop == null) {
                 throw new NoSuchElementException();
             }
-            else {
-                data = currentTop.data;
-                if(condition.test(data)) {
-                    next = currentTop.next;
-                } else {
-                    return Optional.empty();
+            T data = currentTop.data;
+            if (!condition.test(data)) {
+                return Optional.empty();
+            }
+            if (top.compareAndSet(currentTop, currentTop.next)) {
+                return Optional.of(data);
+            }
+            if (eliminations != null) {
+                Node<T> exchanged = takeExchange(condition, spins);
+                if (exchanged != null) {
+                    return Optional.of(exchanged.data);
                 }
+            } else {
+                backoff(spins);
             }
-        } while (!top.compareAndSet(currentTop, next));
-        return Optional.of(data);
+            spins = nextSpins(spins);
+        }
     }
 
     @Override
     public ConcurrentStack<T> pushIf(T data, Predicate<? super @Nullable T> condition) {
-        Node<T> newNode = new Node<>(data);
+        // allocated once the condition holds, then reused for any retries
+        Node<T> newNode = null;
         Node<T> oldTop;
         do {
             oldTop = top.get();
             if (!condition.test(oldTop == null ? null : oldTop.data)) {
                 return this;
             }
+            if (newNode == null) {
+                newNode = new Node<>(data);
+            }
             newNode.next = oldTop;
         } while (!top.compareAndSet(oldTop, newNode));
         return this;
@@ -87,14 +158,119 @@ public final class ConcurrentStack<T> implements LiFo<ConcurrentStack<T>, T> {
     @Override
     public ConcurrentStack<T> push(T elem){
         Node<T> newNode = new Node<>(elem);
-        Node<T> oldTop;
-        do {
-            oldTop = top.get();
+        int spins = initialSpins();
+        while (true) {
+            Node<T> oldTop = top.get();
             newNode.next = oldTop;
-        } while (!top.compareAndSet(oldTop, newNode));
+            if (top.compareAndSet(oldTop, newNode)) {
+                return this;
+            }
+            if (eliminations != null) {
+                if (offerExchange(newNode, spins)) {
+                    return this;
+                }
+            } else {
+                backoff(spins);
+            }
+            spins = nextSpins(spins);
+        }
+    }
+
+    private int initialSpins() {
+        return Math.min(1, maxBackoffSpins);
+    }
+
+    private int nextSpins(int spins) {
+        return Math.min(spins << 1, maxBackoffSpins);
+    }
+
+    private static void backoff(int spins) {
+        for (int i = 0; i < spins; i++) {
+            Thread.onSpinWait();
+        }
+    }
+
+    // push side: offer the node in a random slot and wait up to the
+    // given number of spins for a pop to take it
+    private boolean offerExchange(Node<T> node, int spins) {
+        assert eliminations != null;
+        int slot = ThreadLocalRandom.current().nextInt(eliminationWidth) * SLOT_STRIDE;
+        if (!eliminations.compareAndSet(slot, null, node)) {
+            backoff(spins);
+            return false;
+        }
+        for (int i = 0; i < spins; i++) {
+            // no other push can replace the node, only a pop can take it
+            if (eliminations.get(slot) != node) {
+                return true;
+            }
+            Thread.onSpinWait();
+        }
+        // withdraw the offer, unless a pop took it meanwhile
+        return !eliminations.compareAndSet(slot, node, null);
+    }
+
+    // pop side: watch a random slot for up to the given number of spins
+    // and take an offered node if its element meets the condition
+    private @Nullable Node<T> takeExchange(Predicate<? super @Nullable T> condition, int spins) {
+        assert eliminations != null;
+        int slot = ThreadLocalRandom.current().nextInt(eliminationWidth) * SLOT_STRIDE;
+        for (int i = 0; i <= spins; i++) {
+            Node<T> offered = eliminations.get(slot);
+            if (offered != null) {
+                return condition.test(offered.data) && eliminations.compareAndSet(slot, offered, null)
+                        ? offered
+                        : null;
+            }
+            Thread.onSpinWait();
+        }
+        return null;
+    }
+
+    /**
+     * Push all elements of the given collection atomically; other threads
+     * observe either none or all of them.
+     *
+     * @param items the elements to be added
+     * @return {@code this}
+     */
+    @Override
+    public ConcurrentStack<T> pushAll(Collection<? extends T> items) {
+        Node<T> bottom = null, newTop = null;
+        for (T item : items) {
+            Node<T> n = new Node<>(item);
+            n.next = newTop;
+            newTop = n;
+            if (bottom == null) {
+                bottom = n;
+            }
+        }
+        if (newTop != null) {
+            assert bottom != null;
+            Node<T> oldTop;
+            do {
+                oldTop = top.get();
+                bottom.next = oldTop;
+            } while (!top.compareAndSet(oldTop, newTop));
+        }
         return this;
     }
 
+    /**
+     * Remove all elements atomically.
+     *
+     * @return a new, modifiable list of the removed elements, the formerly
+     *         topmost element first
+     */
+    @Override
+    public List<T> popAll() {
+        var all = new ArrayList<T>();
+        for (Node<T> n = top.getAndSet(null); n != null; n = n.next) {
+            all.add(n.data);
+        }
+        return all;
+    }
+
     @Override
     public @Nullable T top() {
         Node<T> d = top.get();
@@ -0,0 +1,135 @@
+package io.github.ralfspoeth.basix.coll;
+
+import java.util.NoSuchElementException;
+import java.util.OptionalDouble;
+import java.util.function.DoublePredicate;
+
+/**
+ * Last in, first out (LIFO) stack of {@code double} values.
+ * The primitive counterpart of {@link Stack}: elements are kept in a
+ * {@code double[]} which grows by doubling, so neither {@link #push(double)}
+ * nor {@link #pop()} allocates except when the array is grown.
+ * {@snippet :
+ * var values = new DoubleStack();
+ * values.push(0.5).push(1.5);
+ * assert 1.5 == values.top();
+ * assert 1.5 == values.pop();
+ * assert 0.5 == values.pop();
+ * assert values.isEmpty();
+ *}
+ */
+public final class DoubleStack implements PrimitiveLiFo<DoubleStack> {
+
+    private double[] data = new double[16];
+    private int next = 0;
+
+    /**
+     * Creates a new, empty stack.
+     */
+    public DoubleStack() {}
+
+    /**
+     * Push an element onto the top of the stack.
+     * The internal storage is grown automatically as needed.
+     *
+     * @param elem the element to be pushed
+     * @return this
+     */
+    public DoubleStack push(double elem) {
+        if (next == data.length) {
+            var tmp = new double[data.length * 2];
+            System.arraycopy(data, 0, tmp, 0, data.length);
+            data = tmp;
+        }
+        data[next++] = elem;
+        return this;
+    }
+
+    /**
+     * Return and remove the topmost element of the stack.
+     *
+     * @return the topmost element
+     * @throws NoSuchElementException when empty
+     */
+    public double pop() {
+        if (next > 0) {
+            return data[--next];
+        } else {
+            throw new NoSuchElementException("stack is empty");
+        }
+    }
+
+    /**
+     * The topmost element of the stack.
+     *
+     * @return the topmost element
+     * @throws NoSuchElementException when empty
+     */
+    public double top() {
+        if (next > 0) {
+            return data[next - 1];
+        } else {
+            throw new NoSuchElementException("stack is empty");
+        }
+    }
+
+    /**
+     * The topmost element of the stack, or the given fallback
+     * if empty.
+     *
+     * @param fallback the value returned for an empty stack
+     * @return the topmost element or {@code fallback}
+     */
+    public double topOr(double fallback) {
+        return next > 0 ? data[next - 1] : fallback;
+    }
+
+    /**
+     * Push an element if the topmost element meets the given condition.
+     * The condition is not tested on an empty stack, and nothing is pushed;
+     * use {@link #pushIfEmpty(double)} for that case.
+     *
+     * @param data      the element to be pushed
+     * @param condition the condition the topmost element must meet
+     * @return this, regardless of whether the element has been pushed or not
+     */
+    public DoubleStack pushIf(double data, DoublePredicate condition) {
+        return next > 0 && condition.test(this.data[next - 1]) ? push(data) : this;
+    }
+
+    /**
+     * Push an element only if the stack is empty.
+     *
+     * @param data the element
+     * @return this
+     */
+    public DoubleStack pushIfEmpty(double data) {
+        return next == 0 ? push(data) : this;
+    }
+
+    /**
+     * Remove the top element of this stack only if it meets
+     * the given condition.
+     *
+     * @param condition a condition; not tested on an empty stack
+     * @return the removed topmost element, or {@link OptionalDouble#empty()}
+     * if the stack is empty or the condition is not met
+     */
+    public OptionalDouble popIf(DoublePredicate condition) {
+        return next > 0 && condition.test(data[next - 1]) ? OptionalDouble.of(data[--next]) : OptionalDouble.empty();
+    }
+
+    /**
+     * Remove and return the topmost element if the stack is not empty.
+     *
+     * @return same as {@code popIf} with a condition which is always met
+     */
+    public OptionalDouble popIfNotEmpty() {
+        return next > 0 ? OptionalDouble.of(data[--next]) : OptionalDouble.empty();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return next == 0;
+    }
+}
@@ -8,7 +8,7 @@ import java.util.Optional;
  * @param <S> the actual implementation
  * @param <T> the type of the elements in the structure
  */
-public sealed interface FiFo<S extends FiFo<S, T>, T> permits Queue, ConcurrentQueue {
+public sealed interface FiFo<S extends FiFo<S, T>, T> permits Queue, ConcurrentQueue, MpmcQueue, SpscQueue, MpscQueue {
 
     /**
      * Test whether empty or not; cf.{@link Collection#isEmpty()}.
@@ -23,6 +23,26 @@ public sealed interface FiFo<S extends FiFo<S, T>, T> permits Queue, ConcurrentQ
      */
     S add(T item);
 
+    /**
+     * Add all elements of the given collection in their iteration order.
+     * <p>
+     * The default implementation calls {@link #add(Object)} for each element;
+     * implementations override it where a batch can be published at once.
+     * Bounded implementations throw {@link IllegalStateException} when the
+     * structure runs full, in which case only a prefix of {@code items}
+     * may have been added.
+     *
+     * @param items the elements to be added
+     * @return {@code this}
+     */
+    @SuppressWarnings("unchecked")
+    default S addAll(Collection<? extends T> items) {
+        for (T item : items) {
+            add(item);
+        }
+        return (S) this;
+    }
+
     /**
      * Remove and return an element from the logical start of the structure.
      * @return the element removed
@@ -49,6 +69,30 @@ public sealed interface FiFo<S extends FiFo<S, T>, T> permits Queue, ConcurrentQ
         return isEmpty() ? Optional.empty() : Optional.of(remove());
     }
 
+    /**
+     * Remove up to {@code max} elements from the logical start of the
+     * structure and add them to the given collection, in order.
+     * <p>
+     * The default implementation repeatedly calls {@link #removeIfNotEmpty()}.
+     *
+     * @param target the collection receiving the elements
+     * @param max    the maximum number of elements to remove
+     * @return the number of elements removed
+     * @throws IllegalArgumentException if {@code max} is negative
+     */
+    default int drainTo(Collection<? super T> target, int max) {
+        if (max < 0) {
+            throw new IllegalArgumentException("max must not be negative: " + max);
+        }
+        int n = 0;
+        Optional<T> item;
+        while (n < max && (item = removeIfNotEmpty()).isPresent()) {
+            target.add(item.get());
+            n++;
+        }
+        return n;
+    }
+
     /**
      * The logical start (or head) of the structure, wrapped in an {@link Optional}.
      * @return the head wrapped in an {@link Optional}, or an empty optional
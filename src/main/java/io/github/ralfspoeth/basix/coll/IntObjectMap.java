@@ -0,0 +1,271 @@
+package io.github.ralfspoeth.basix.coll;
+
+import io.github.ralfspoeth.basix.internal.HashIndex;
+import org.jspecify.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Map from primitive {@code int} keys to values which preserves
+ * the insertion order of its keys.
+ * The keys and values are kept in two parallel arrays in insertion order,
+ * and the positions in these arrays are found through an open-addressing
+ * hash index of plain {@code int}s; so neither keys are boxed nor entries
+ * allocated, and {@link #get(int)} is a lookup in two arrays on average.
+ * Putting an existing key replaces its value but keeps its position.
+ * {@snippet :
+ * var m = new IntObjectMap<String>();
+ * m.put(2, "two");
+ * m.put(1, "one");
+ * assert "one".equals(m.get(1));
+ * assert Arrays.equals(new int[]{2, 1}, m.keys());
+ *}
+ * Values may be {@code null}; {@link #containsKey(int)} tells a key mapped
+ * to {@code null} from a missing key.
+ * The map holds at most {@code 2^29} mappings.
+ * This class is not thread-safe.
+ *
+ * @param <V> the type of the values
+ */
+public final class IntObjectMap<V> {
+
+    /**
+     * Receives the key and the value of a mapping.
+     *
+     * @param <V> the type of the values
+     */
+    @FunctionalInterface
+    public interface EntryConsumer<V> {
+        /**
+         * Accept a mapping.
+         *
+         * @param key   the key
+         * @param value the value
+         */
+        void accept(int key, V value);
+    }
+
+    private int[] keys;
+    private @Nullable Object[] values;
+    // position + 1 of the key in keys, 0 for a free slot
+    private int[] index;
+    private int size = 0;
+
+    /**
+     * Creates a new, empty map.
+     */
+    public IntObjectMap() {
+        this(8);
+    }
+
+    /**
+     * Creates a new, empty map which holds the given number of mappings
+     * without growing.
+     *
+     * @param expectedSize the expected number of mappings
+     * @throws IllegalArgumentException if {@code expectedSize} is negative
+     *                                  or greater than {@code 2^29}
+     */
+    public IntObjectMap(int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("negative expected size: " + expectedSize);
+        }
+        int capacity = Math.max(expectedSize, 1);
+        this.index = new int[HashIndex.tableLength(capacity)];
+        this.keys = new int[capacity];
+        this.values = new Object[capacity];
+    }
+
+    // the index slot of the given key, or the free slot where it would go
+    private int slot(int key) {
+        int mask = index.length - 1;
+        int i = HashIndex.mix(key) & mask;
+        for (int p = index[i]; p != 0 && keys[p - 1] != key; p = index[i]) {
+            i = (i + 1) & mask;
+        }
+        return i;
+    }
+
+    /**
+     * The number of mappings.
+     *
+     * @return the number of mappings
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Whether this map is empty.
+     *
+     * @return {@code true} if there are no mappings
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Whether the given key is mapped.
+     *
+     * @param key the key
+     * @return {@code true} if the key is mapped, even to {@code null}
+     */
+    public boolean containsKey(int key) {
+        return index[slot(key)] != 0;
+    }
+
+    /**
+     * The value mapped to the given key.
+     *
+     * @param key the key
+     * @return the value, or {@code null} if the key is not mapped
+     */
+    public @Nullable V get(int key) {
+        return getOrDefault(key, null);
+    }
+
+    /**
+     * The value mapped to the given key, or the given fallback if the key
+     * is not mapped.
+     *
+     * @param key      the key
+     * @param fallback the value returned for an unmapped key
+     * @return the value or the fallback
+     */
+    @SuppressWarnings("unchecked")
+    public @Nullable V getOrDefault(int key, @Nullable V fallback) {
+        int p = index[slot(key)];
+        return p == 0 ? fallback : (V) values[p - 1];
+    }
+
+    /**
+     * Map the given key to the given value.
+     * A new key is appended to the end of the insertion order,
+     * an existing key keeps its position.
+     *
+     * @param key   the key
+     * @param value the value, may be {@code null}
+     * @return the value previously mapped to the key, or {@code null}
+     * @throws IllegalStateException if the key is new and the map already
+     *                               holds {@code 2^29} mappings
+     */
+    @SuppressWarnings("unchecked")
+    public @Nullable V put(int key, @Nullable V value) {
+        int i = slot(key);
+        int p = index[i];
+        if (p != 0) {
+            var previous = (V) values[p - 1];
+            values[p - 1] = value;
+            return previous;
+        }
+        if (size == keys.length) {
+            grow();
+            i = slot(key);
+        }
+        keys[size] = key;
+        values[size] = value;
+        index[i] = ++size;
+        return null;
+    }
+
+    private void grow() {
+        if (keys.length == HashIndex.MAX_KEYS) {
+            // a fuller index would make the linear probe in slot() endless
+            throw new IllegalStateException("map is full: " + size + " mappings");
+        }
+        int capacity = (int) Math.min(keys.length * 2L, HashIndex.MAX_KEYS);
+        index = new int[HashIndex.tableLength(capacity)];
+        keys = Arrays.copyOf(keys, capacity);
+        values = Arrays.copyOf(values, capacity);
+        for (int p = 0; p < size; p++) {
+            index[slot(keys[p])] = p + 1;
+        }
+    }
+
+    /**
+     * The keys in insertion order.
+     *
+     * @return a new array of the keys
+     */
+    public int[] keys() {
+        return Arrays.copyOf(keys, size);
+    }
+
+    /**
+     * The values in the insertion order of their keys.
+     *
+     * @return an unmodifiable snapshot of the values
+     */
+    @SuppressWarnings("unchecked")
+    public List<@Nullable V> values() {
+        return Collections.unmodifiableList(Arrays.asList((V[]) Arrays.copyOf(values, size)));
+    }
+
+    /**
+     * Pass all mappings in insertion order to the given consumer.
+     *
+     * @param action the consumer
+     */
+    @SuppressWarnings("unchecked")
+    public void forEach(EntryConsumer<? super @Nullable V> action) {
+        for (int p = 0; p < size; p++) {
+            action.accept(keys[p], (V) values[p]);
+        }
+    }
+
+    /**
+     * Two maps are equal if they contain the same mappings,
+     * regardless of their order.
+     *
+     * @param o the other object
+     * @return {@code true} if {@code o} is an {@code IntObjectMap}
+     * with the same mappings
+     */
+    @Override
+    public boolean equals(@Nullable Object o) {
+        if (o == this) {
+            return true;
+        }
+        if (!(o instanceof IntObjectMap<?> other) || other.size != size) {
+            return false;
+        }
+        for (int p = 0; p < size; p++) {
+            int q = other.index[other.slot(keys[p])];
+            if (q == 0 || !Objects.equals(values[p], other.values[q - 1])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * The sum of {@code key ^ Objects.hashCode(value)} over all mappings,
+     * which agrees with the hash code of an equivalent
+     * {@code Map<Integer, V>}.
+     *
+     * @return the hash code
+     */
+    @Override
+    public int hashCode() {
+        int h = 0;
+        for (int p = 0; p < size; p++) {
+            h += keys[p] ^ Objects.hashCode(values[p]);
+        }
+        return h;
+    }
+
+    @Override
+    public String toString() {
+        var sb = new StringBuilder("{");
+        for (int p = 0; p < size; p++) {
+            if (p > 0) {
+                sb.append(", ");
+            }
+            sb.append(keys[p]).append('=').append(values[p]);
+        }
+        return sb.append('}').toString();
+    }
+}
@@ -0,0 +1,167 @@
+package io.github.ralfspoeth.basix.coll;
+
+import java.util.NoSuchElementException;
+import java.util.OptionalInt;
+
+/**
+ * First in first out (FIFO) queue of {@code int} values.
+ * The primitive counterpart of {@link Queue}: elements are kept in an
+ * {@code int[]} ring buffer which wraps around and doubles in size when
+ * exhausted, so neither {@link #add(int)} nor {@link #remove()} allocates
+ * except when the ring is grown.
+ * <p>
+ * The {@link #pollOr(int)}, {@link #headAsInt()} and {@link #tailAsInt()}
+ * operations return the primitive directly; {@link #removeIfNotEmpty()},
+ * {@link #head()} and {@link #tail()} mirror {@link FiFo} with
+ * {@link OptionalInt} results.
+ * {@snippet :
+ * var ids = new IntQueue();
+ * ids.add(10).add(20);
+ * assert 10 == ids.headAsInt();
+ * assert 20 == ids.tailAsInt();
+ * assert 10 == ids.remove();
+ * assert 20 == ids.pollOr(-1);
+ * assert -1 == ids.pollOr(-1);
+ *}
+ */
+public final class IntQueue implements PrimitiveFiFo<IntQueue> {
+
+    /**
+     * Creates a new, empty queue.
+     */
+    public IntQueue() {}
+
+    private int[] data = new int[4];
+    private int next = 0; // next available slot
+    private int top = 0; // next slot to be removed
+
+    private void growIfExhausted() {
+        // next insertion point out of bounds?
+        if (next == data.length) {
+            // move next to the beginning of the queue,
+            if (top == 0) {
+                var tmp = new int[data.length * 2];
+                System.arraycopy(data, 0, tmp, 0, data.length);
+                data = tmp;
+            } else {
+                next = 0;
+            }
+        }
+        // next at top but not empty
+        else if (next == top && next > 0) {
+            var tmp = new int[data.length * 2];
+            System.arraycopy(data, top, tmp, 0, data.length - top);
+            System.arraycopy(data, 0, tmp, data.length - top, top);
+            top = 0;
+            next = data.length;
+            data = tmp;
+        }
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return next == top && next == 0;
+    }
+
+    /**
+     * Add an element at the tail.
+     *
+     * @param item an element
+     * @return this
+     */
+    public IntQueue add(int item) {
+        growIfExhausted();
+        data[next++] = item;
+        return this;
+    }
+
+    /**
+     * Removes and returns the element from the head of the queue.
+     *
+     * @return the element at the head of the queue
+     * @throws NoSuchElementException when empty.
+     */
+    public int remove() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("queue is empty");
+        } else {
+            return removeHead();
+        }
+    }
+
+    /**
+     * Removes and returns the element from the head of the queue,
+     * or returns the given fallback if empty.
+     *
+     * @param fallback the value returned for an empty queue
+     * @return the element at the head of the queue or {@code fallback}
+     */
+    public int pollOr(int fallback) {
+        return isEmpty() ? fallback : removeHead();
+    }
+
+    /**
+     * Removes and returns the element from the head of the queue
+     * if it is non-empty.
+     *
+     * @return the removed head element, or an empty optional
+     */
+    public OptionalInt removeIfNotEmpty() {
+        return isEmpty() ? OptionalInt.empty() : OptionalInt.of(removeHead());
+    }
+
+    private int removeHead() {
+        int tmp = data[top++];
+        // see Queue.remove(): reset both pointers when drained
+        if (top == next) {
+            next = top = 0;
+        } else if (top == data.length) {
+            top = 0;
+        }
+        return tmp;
+    }
+
+    /**
+     * The next element available in the queue.
+     *
+     * @return the head element
+     * @throws NoSuchElementException when empty
+     */
+    public int headAsInt() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("queue is empty");
+        }
+        return data[top];
+    }
+
+    /**
+     * The last element added to the queue.
+     *
+     * @return the tail element
+     * @throws NoSuchElementException when empty
+     */
+    public int tailAsInt() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("queue is empty");
+        }
+        return data[next == 0 ? data.length - 1 : next - 1];
+    }
+
+    /**
+     * The next element available in the queue.
+     *
+     * @return the head element, or an empty optional
+     */
+    public OptionalInt head() {
+        return isEmpty() ? OptionalInt.empty() : OptionalInt.of(headAsInt());
+    }
+
+    /**
+     * The last element added to the queue.
+     *
+     * @return the tail element, or an empty optional
+     */
+    public OptionalInt tail() {
+        return isEmpty() ? OptionalInt.empty() : OptionalInt.of(tailAsInt());
+    }
+}
@@ -0,0 +1,135 @@
+package io.github.ralfspoeth.basix.coll;
+
+import java.util.NoSuchElementException;
+import java.util.OptionalInt;
+import java.util.function.IntPredicate;
+
+/**
+ * Last in, first out (LIFO) stack of {@code int} values.
+ * The primitive counterpart of {@link Stack}: elements are kept in an
+ * {@code int[]} which grows by doubling, so neither {@link #push(int)}
+ * nor {@link #pop()} allocates except when the array is grown.
+ * {@snippet :
+ * var depths = new IntStack();
+ * depths.push(1).push(2);
+ * assert 2 == depths.top();
+ * assert 2 == depths.pop();
+ * assert 1 == depths.pop();
+ * assert depths.isEmpty();
+ *}
+ */
+public final class IntStack implements PrimitiveLiFo<IntStack> {
+
+    private int[] data = new int[16];
+    private int next = 0;
+
+    /**
+     * Creates a new, empty stack.
+     */
+    public IntStack() {}
+
+    /**
+     * Push an element onto the top of the stack.
+     * The internal storage is grown automatically as needed.
+     *
+     * @param elem the element to be pushed
+     * @return this
+     */
+    public IntStack push(int elem) {
+        if (next == data.length) {
+            var tmp = new int[data.length * 2];
+            System.arraycopy(data, 0, tmp, 0, data.length);
+            data = tmp;
+        }
+        data[next++] = elem;
+        return this;
+    }
+
+    /**
+     * Return and remove the topmost element of the stack.
+     *
+     * @return the topmost element
+     * @throws NoSuchElementException when empty
+     */
+    public int pop() {
+        if (next > 0) {
+            return data[--next];
+        } else {
+            throw new NoSuchElementException("stack is empty");
+        }
+    }
+
+    /**
+     * The topmost element of the stack.
+     *
+     * @return the topmost element
+     * @throws NoSuchElementException when empty
+     */
+    public int top() {
+        if (next > 0) {
+            return data[next - 1];
+        } else {
+            throw new NoSuchElementException("stack is empty");
+        }
+    }
+
+    /**
+     * The topmost element of the stack, or the given fallback
+     * if empty.
+     *
+     * @param fallback the value returned for an empty stack
+     * @return the topmost element or {@code fallback}
+     */
+    public int topOr(int fallback) {
+        return next > 0 ? data[next - 1] : fallback;
+    }
+
+    /**
+     * Push an element if the topmost element meets the given condition.
+     * The condition is not tested on an empty stack, and nothing is pushed;
+     * use {@link #pushIfEmpty(int)} for that case.
+     *
+     * @param data      the element to be pushed
+     * @param condition the condition the topmost element must meet
+     * @return this, regardless of whether the element has been pushed or not
+     */
+    public IntStack pushIf(int data, IntPredicate condition) {
+        return next > 0 && condition.test(this.data[next - 1]) ? push(data) : this;
+    }
+
+    /**
+     * Push an element only if the stack is empty.
+     *
+     * @param data the element
+     * @return this
+     */
+    public IntStack pushIfEmpty(int data) {
+        return next == 0 ? push(data) : this;
+    }
+
+    /**
+     * Remove the top element of this stack only if it meets
+     * the given condition.
+     *
+     * @param condition a condition; not tested on an empty stack
+     * @return the removed topmost element, or {@link OptionalInt#empty()}
+     * if the stack is empty or the condition is not met
+     */
+    public OptionalInt popIf(IntPredicate condition) {
+        return next > 0 && condition.test(data[next - 1]) ? OptionalInt.of(data[--next]) : OptionalInt.empty();
+    }
+
+    /**
+     * Remove and return the topmost element if the stack is not empty.
+     *
+     * @return same as {@code popIf} with a condition which is always met
+     */
+    public OptionalInt popIfNotEmpty() {
+        return next > 0 ? OptionalInt.of(data[--next]) : OptionalInt.empty();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return next == 0;
+    }
+}
@@ -2,7 +2,9 @@ package io.github.ralfspoeth.basix.coll;
 
 import org.jspecify.annotations.Nullable;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.function.Predicate;
@@ -12,7 +14,7 @@ import java.util.function.Predicate;
  * @param <S> the actual implementation
  * @param <T> the type of the elements in the structure
  */
-public sealed interface LiFo<S extends LiFo<S, T>, T> permits Stack, ConcurrentStack{
+public sealed interface LiFo<S extends LiFo<S, T>, T> permits Stack, ConcurrentStack, PooledConcurrentStack {
 
     /**
      * Add an element to the structure.
@@ -22,6 +24,23 @@ public sealed interface LiFo<S extends LiFo<S, T>, T> permits Stack, ConcurrentS
      */
     S push(T elem);
 
+    /**
+     * Push all elements of the given collection in their iteration order,
+     * such that the last element of {@code items} ends up on top.
+     * <p>
+     * The default implementation calls {@link #push(Object)} for each element.
+     *
+     * @param items the elements to be added
+     * @return {@code this}
+     */
+    @SuppressWarnings("unchecked")
+    default S pushAll(Collection<? extends T> items) {
+        for (T item : items) {
+            push(item);
+        }
+        return (S) this;
+    }
+
     /**
      * The most recently added element.
      * @return the topmost element, may be {@code null}
@@ -69,6 +88,24 @@ public sealed interface LiFo<S extends LiFo<S, T>, T> permits Stack, ConcurrentS
         return popIf(Objects::nonNull);
     }
 
+    /**
+     * Remove all elements of the structure.
+     * <p>
+     * The default implementation pops one element at a time; concurrent
+     * implementations must override this method such that the elements
+     * are removed atomically.
+     *
+     * @return a new, modifiable list of the removed elements, the formerly
+     *         topmost element first
+     */
+    default List<T> popAll() {
+        var all = new ArrayList<T>();
+        while (!isEmpty()) {
+            all.add(pop());
+        }
+        return all;
+    }
+
     /**
      * Test whether empty or not; cf.{@link Collection#isEmpty()}.
      * @return {@code true} if empty
@@ -0,0 +1,167 @@
+package io.github.ralfspoeth.basix.coll;
+
+import java.util.NoSuchElementException;
+import java.util.OptionalLong;
+
+/**
+ * First in first out (FIFO) queue of {@code long} values.
+ * The primitive counterpart of {@link Queue}: elements are kept in a
+ * {@code long[]} ring buffer which wraps around and doubles in size when
+ * exhausted, so neither {@link #add(long)} nor {@link #remove()} allocates
+ * except when the ring is grown.
+ * <p>
+ * The {@link #pollOr(long)}, {@link #headAsLong()} and {@link #tailAsLong()}
+ * operations return the primitive directly; {@link #removeIfNotEmpty()},
+ * {@link #head()} and {@link #tail()} mirror {@link FiFo} with
+ * {@link OptionalLong} results.
+ * {@snippet :
+ * var stamps = new LongQueue();
+ * stamps.add(10L).add(20L);
+ * assert 10L == stamps.headAsLong();
+ * assert 20L == stamps.tailAsLong();
+ * assert 10L == stamps.remove();
+ * assert 20L == stamps.pollOr(-1L);
+ * assert -1L == stamps.pollOr(-1L);
+ *}
+ */
+public final class LongQueue implements PrimitiveFiFo<LongQueue> {
+
+    /**
+     * Creates a new, empty queue.
+     */
+    public LongQueue() {}
+
+    private long[] data = new long[4];
+    private int next = 0; // next available slot
+    private int top = 0; // next slot to be removed
+
+    private void growIfExhausted() {
+        // next insertion point out of bounds?
+        if (next == data.length) {
+            // move next to the beginning of the queue,
+            if (top == 0) {
+                var tmp = new long[data.length * 2];
+                System.arraycopy(data, 0, tmp, 0, data.length);
+                data = tmp;
+            } else {
+                next = 0;
+            }
+        }
+        // next at top but not empty
+        else if (next == top && next > 0) {
+            var tmp = new long[data.length * 2];
+            System.arraycopy(data, top, tmp, 0, data.length - top);
+            System.arraycopy(data, 0, tmp, data.length - top, top);
+            top = 0;
+            next = data.length;
+            data = tmp;
+        }
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return next == top && next == 0;
+    }
+
+    /**
+     * Add an element at the tail.
+     *
+     * @param item an element
+     * @return this
+     */
+    public LongQueue add(long item) {
+        growIfExhausted();
+        data[next++] = item;
+        return this;
+    }
+
+    /**
+     * Removes and returns the element from the head of the queue.
+     *
+     * @return the element at the head of the queue
+     * @throws NoSuchElementException when empty.
+     */
+    public long remove() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("queue is empty");
+        } else {
+            return removeHead();
+        }
+    }
+
+    /**
+     * Removes and returns the element from the head of the queue,
+     * or returns the given fallback if empty.
+     *
+     * @param fallback the value returned for an empty queue
+     * @return the element at the head of the queue or {@code fallback}
+     */
+    public long pollOr(long fallback) {
+        return isEmpty() ? fallback : removeHead();
+    }
+
+    /**
+     * Removes and returns the element from the head of the queue
+     * if it is non-empty.
+     *
+     * @return the removed head element, or an empty optional
+     */
+    public OptionalLong removeIfNotEmpty() {
+        return isEmpty() ? OptionalLong.empty() : OptionalLong.of(removeHead());
+    }
+
+    private long removeHead() {
+        long tmp = data[top++];
+        // see Queue.remove(): reset both pointers when drained
+        if (top == next) {
+            next = top = 0;
+        } else if (top == data.length) {
+            top = 0;
+        }
+        return tmp;
+    }
+
+    /**
+     * The next element available in the queue.
+     *
+     * @return the head element
+     * @throws NoSuchElementException when empty
+     */
+    public long headAsLong() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("queue is empty");
+        }
+        return data[top];
+    }
+
+    /**
+     * The last element added to the queue.
+     *
+     * @return the tail element
+     * @throws NoSuchElementException when empty
+     */
+    public long tailAsLong() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("queue is empty");
+        }
+        return data[next == 0 ? data.length - 1 : next - 1];
+    }
+
+    /**
+     * The next element available in the queue.
+     *
+     * @return the head element, or an empty optional
+     */
+    public OptionalLong head() {
+        return isEmpty() ? OptionalLong.empty() : OptionalLong.of(headAsLong());
+    }
+
+    /**
+     * The last element added to the queue.
+     *
+     * @return the tail element, or an empty optional
+     */
+    public OptionalLong tail() {
+        return isEmpty() ? OptionalLong.empty() : OptionalLong.of(tailAsLong());
+    }
+}
@@ -0,0 +1,282 @@
+package io.github.ralfspoeth.basix.coll;
+
+import org.jspecify.annotations.Nullable;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Bounded, thread-safe FIFO queue for any number of producers and consumers.
+ * <p>
+ * Implemented as a lock-free ring buffer after Dmitry Vyukov's bounded
+ * MPMC queue: every slot carries a sequence number which tells producers
+ * and consumers whether the slot is free for the current lap or holds an
+ * element ready to be taken. A producer or consumer claims a slot with a
+ * single CAS on the respective position counter; no nodes are allocated
+ * and the memory footprint is fixed at construction.
+ * <p>
+ * The capacity is rounded up to the next power of two, and to at least two:
+ * with a single slot the sequence number a producer waits for on the next
+ * lap equals the one announcing a published element.
+ * {@link #offer(Object)} and {@link #poll()} report a full or empty queue
+ * through their return values; {@link #add(Object)} throws
+ * {@link IllegalStateException} when the queue is full.
+ * {@link #put(Object)}, {@link #take()} and {@link #poll(Duration)} wait
+ * for space or an element instead; waiting threads are parked without
+ * holding a monitor, so virtual threads unmount while waiting.
+ * The {@link #head()} and {@link #tail()} snapshots reflect the state of the
+ * queue at the moment of the call and may be stale by the time the caller
+ * inspects them.
+ *
+ * @param <T> the element type
+ */
+public final class MpmcQueue<T> implements FiFo<MpmcQueue<T>, T> {
+
+    private final int mask;
+    private final Waiters notEmpty = new Waiters();
+    private final Waiters notFull = new Waiters();
+    private final AtomicReferenceArray<@Nullable T> buffer;
+    private final AtomicLongArray sequence;
+    private final AtomicLong enqueuePos = new AtomicLong();
+    private final AtomicLong dequeuePos = new AtomicLong();
+
+    /**
+     * Creates a new, empty queue.
+     *
+     * @param capacity the minimum number of elements the queue can hold;
+     *                 rounded up to the next power of two, at least two
+     * @throws IllegalArgumentException if {@code capacity} is not in the
+     *                                  range {@code 1..2^30}
+     */
+    public MpmcQueue(int capacity) {
+        if (capacity < 1 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("capacity out of range: " + capacity);
+        }
+        int size = Math.max(2, 1 << (Integer.SIZE - Integer.numberOfLeadingZeros(capacity - 1)));
+        this.mask = size - 1;
+        this.buffer = new AtomicReferenceArray<>(size);
+        this.sequence = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequence.setPlain(i, i);
+        }
+    }
+
+    /**
+     * The maximum number of elements this queue can hold.
+     *
+     * @return the capacity, a power of two
+     */
+    public int capacity() {
+        return mask + 1;
+    }
+
+    /**
+     * Add an element at the tail if the queue is not full.
+     *
+     * @param item an element, must not be {@code null}
+     * @return {@code true} if added, {@code false} if the queue is full
+     */
+    public boolean offer(T item) {
+        requireNonNull(item);
+        long pos = enqueuePos.get();
+        while (true) {
+            int idx = (int) pos & mask;
+            long diff = sequence.getAcquire(idx) - pos;
+            if (diff == 0) {
+                // the slot is free for this lap; claim it
+                if (enqueuePos.compareAndSet(pos, pos + 1)) {
+                    buffer.setPlain(idx, item);
+                    sequence.setRelease(idx, pos + 1);
+                    notEmpty.signal();
+                    return true;
+                }
+                pos = enqueuePos.get();
+            } else if (diff < 0) {
+                // the slot still holds the element of the previous lap
+                return false;
+            } else {
+                // another producer claimed the slot
+                pos = enqueuePos.get();
+            }
+        }
+    }
+
+    /**
+     * Remove and return the element at the head if the queue is not empty.
+     *
+     * @return an {@link Optional} wrapping the removed head element, or an
+     *         empty optional if the queue is empty
+     */
+    public Optional<T> poll() {
+        return Optional.ofNullable(pollOrNull());
+    }
+
+    private @Nullable T pollOrNull() {
+        long pos = dequeuePos.get();
+        while (true) {
+            int idx = (int) pos & mask;
+            long diff = sequence.getAcquire(idx) - (pos + 1);
+            if (diff == 0) {
+                // the slot holds an element of this lap; claim it
+                if (dequeuePos.compareAndSet(pos, pos + 1)) {
+                    T item = buffer.getPlain(idx);
+                    buffer.setPlain(idx, null);
+                    sequence.setRelease(idx, pos + mask + 1);
+                    notFull.signal();
+                    return item;
+                }
+                pos = dequeuePos.get();
+            } else if (diff < 0) {
+                // nothing published in this slot yet
+                return null;
+            } else {
+                // another consumer claimed the slot
+                pos = dequeuePos.get();
+            }
+        }
+    }
+
+    @Override
+    public int drainTo(Collection<? super T> target, int max) {
+        if (max < 0) {
+            throw new IllegalArgumentException("max must not be negative: " + max);
+        }
+        int n = 0;
+        T item;
+        while (n < max && (item = pollOrNull()) != null) {
+            target.add(item);
+            n++;
+        }
+        return n;
+    }
+
+    /**
+     * Add an element at the tail, waiting for space to become available
+     * if the queue is full.
+     *
+     * @param item an element, must not be {@code null}
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public void put(T item) throws InterruptedException {
+        requireNonNull(item);
+        notFull.await(() -> offer(item) ? Boolean.TRUE : null, false, 0L);
+    }
+
+    /**
+     * Remove and return the element at the head of the queue, waiting
+     * for an element to become available if the queue is empty.
+     *
+     * @return the element at the head of the queue
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public T take() throws InterruptedException {
+        T item = notEmpty.await(this::pollOrNull, false, 0L);
+        assert item != null;
+        return item;
+    }
+
+    /**
+     * Remove and return the element at the head of the queue, waiting up
+     * to the given timeout for an element to become available.
+     *
+     * @param timeout the maximum time to wait
+     * @return an {@link Optional} wrapping the removed head element, or an
+     *         empty optional if the timeout elapsed first
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public Optional<T> poll(Duration timeout) throws InterruptedException {
+        return Optional.ofNullable(notEmpty.await(this::pollOrNull, true, TimeUnit.NANOSECONDS.convert(timeout)));
+    }
+
+    @Override
+    public boolean isEmpty() {
+        long pos = dequeuePos.get();
+        return sequence.getAcquire((int) pos & mask) != pos + 1;
+    }
+
+    /**
+     * Add an element at the tail.
+     *
+     * @param item an element, must not be {@code null}
+     * @return this
+     * @throws IllegalStateException if the queue is full
+     */
+    @Override
+    public MpmcQueue<T> add(T item) {
+        if (offer(item)) {
+            return this;
+        } else {
+            throw new IllegalStateException("queue is full");
+        }
+    }
+
+    /**
+     * Removes and returns the element from the head of the queue.
+     *
+     * @return the element at the head of the queue
+     * @throws NoSuchElementException when empty.
+     */
+    @Override
+    public T remove() {
+        T item = pollOrNull();
+        if (item == null) {
+            throw new NoSuchElementException("queue is empty");
+        }
+        return item;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * This implementation is the same as {@link #poll()}, which is atomic
+     * and lock-free.
+     */
+    @Override
+    public Optional<T> removeIfNotEmpty() {
+        return poll();
+    }
+
+    @Override
+    public Optional<T> head() {
+        while (true) {
+            long pos = dequeuePos.get();
+            int idx = (int) pos & mask;
+            if (sequence.getAcquire(idx) != pos + 1) {
+                return Optional.empty();
+            }
+            T item = buffer.getPlain(idx);
+            // only trust the element if no consumer took it meanwhile
+            if (item != null && dequeuePos.get() == pos) {
+                return Optional.of(item);
+            }
+        }
+    }
+
+    @Override
+    public Optional<T> tail() {
+        while (true) {
+            long pos = enqueuePos.get();
+            if (pos == dequeuePos.get()) {
+                return Optional.empty();
+            }
+            int idx = (int) (pos - 1) & mask;
+            if (sequence.getAcquire(idx) == pos) {
+                T item = buffer.getPlain(idx);
+                if (item != null && enqueuePos.get() == pos) {
+                    return Optional.of(item);
+                }
+            } else {
+                // claimed but not yet published, or already taken
+                Thread.onSpinWait();
+            }
+        }
+    }
+}
@@ -0,0 +1,318 @@
+package io.github.ralfspoeth.basix.coll;
+
+import org.jspecify.annotations.Nullable;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Bounded FIFO queue for any number of producer threads and exactly one
+ * consumer thread, such as the fan-in into a single pipeline stage.
+ * <p>
+ * At any time, at most one thread may remove elements; this is not checked.
+ * Producers claim a slot with a single CAS on the tail index and publish
+ * the element with a release store into that slot. The consumer never
+ * performs a CAS: it reads the slot with acquire semantics, clears it,
+ * and advances its head index with a release store. If a producer has
+ * claimed the head slot but not yet published its element, the consumer
+ * spins until it appears. Head and tail indices live in separate cache
+ * lines so producers and the consumer do not invalidate each other's line
+ * on every operation.
+ * <p>
+ * The capacity is rounded up to the next power of two.
+ * {@link #offer(Object)} and {@link #poll()} report a full or empty queue
+ * through their return values; {@link #add(Object)} throws
+ * {@link IllegalStateException} when the queue is full.
+ * {@link #put(Object)}, {@link #take()} and {@link #poll(Duration)} wait
+ * for space or an element instead; waiting threads are parked without
+ * holding a monitor, so virtual threads unmount while waiting.
+ * {@link #head()} is meant for the consumer; called from any other thread
+ * it returns a snapshot which may be stale by the time the caller inspects
+ * it, as does {@link #tail()}.
+ *
+ * @param <T> the element type
+ * @see SpscQueue
+ * @see MpmcQueue
+ */
+public final class MpscQueue<T> implements FiFo<MpscQueue<T>, T> {
+
+    private static final VarHandle LONGS = MethodHandles.arrayElementVarHandle(long[].class);
+    private static final VarHandle ELEMS = MethodHandles.arrayElementVarHandle(Object[].class);
+
+    // positions in the padded index array; 16 longs (128 bytes) apart
+    // so that consumer-owned and producer-owned slots never share a cache line
+    private static final int HEAD = 15;
+    private static final int TAIL = 31;
+    private static final int HEAD_CACHE = 32;
+    private static final int PADDED_LENGTH = 48;
+
+    private final long[] indices = new long[PADDED_LENGTH];
+    private final @Nullable Object[] buffer;
+    private final int mask;
+    private final Waiters notEmpty = new Waiters();
+    private final Waiters notFull = new Waiters();
+
+    /**
+     * Creates a new, empty queue.
+     *
+     * @param capacity the minimum number of elements the queue can hold;
+     *                 rounded up to the next power of two
+     * @throws IllegalArgumentException if {@code capacity} is not in the
+     *                                  range {@code 1..2^30}
+     */
+    public MpscQueue(int capacity) {
+        if (capacity < 1 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("capacity out of range: " + capacity);
+        }
+        int size = 1 << (Integer.SIZE - Integer.numberOfLeadingZeros(capacity - 1));
+        this.mask = size - 1;
+        this.buffer = new Object[size];
+    }
+
+    /**
+     * The maximum number of elements this queue can hold.
+     *
+     * @return the capacity, a power of two
+     */
+    public int capacity() {
+        return mask + 1;
+    }
+
+    /**
+     * Add an element at the tail if the queue is not full.
+     * May be called by any thread.
+     *
+     * @param item an element, must not be {@code null}
+     * @return {@code true} if added, {@code false} if the queue is full
+     */
+    public boolean offer(T item) {
+        requireNonNull(item);
+        while (true) {
+            long t = (long) LONGS.getVolatile(indices, TAIL);
+            // the head cache is shared by all producers; it may lag behind
+            // the real head, which only costs an extra read of the head.
+            // Release/acquire on the cache hands the acquire of HEAD on to
+            // the other producers, ordering the consumer's clearing of a slot
+            // before their store into it
+            if (t - (long) LONGS.getAcquire(indices, HEAD_CACHE) > mask) {
+                long h = (long) LONGS.getAcquire(indices, HEAD);
+                LONGS.setRelease(indices, HEAD_CACHE, h);
+                if (t - h > mask) {
+                    return false;
+                }
+            }
+            if (LONGS.compareAndSet(indices, TAIL, t, t + 1)) {
+                ELEMS.setRelease(buffer, (int) t & mask, item);
+                notEmpty.signal();
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Remove and return the element at the head if the queue is not empty.
+     * Must only be called by the consumer thread.
+     *
+     * @return an {@link Optional} wrapping the removed head element, or an
+     *         empty optional if the queue is empty
+     */
+    public Optional<T> poll() {
+        return Optional.ofNullable(pollOrNull());
+    }
+
+    @SuppressWarnings("unchecked")
+    private @Nullable T pollOrNull() {
+        long h = indices[HEAD];
+        int idx = (int) h & mask;
+        T item = (T) ELEMS.getAcquire(buffer, idx);
+        if (item == null) {
+            if (h == (long) LONGS.getVolatile(indices, TAIL)) {
+                return null;
+            }
+            // a producer claimed the slot but has not published its element yet
+            do {
+                Thread.onSpinWait();
+                item = (T) ELEMS.getAcquire(buffer, idx);
+            } while (item == null);
+        }
+        buffer[idx] = null;
+        LONGS.setRelease(indices, HEAD, h + 1);
+        notFull.signal();
+        return item;
+    }
+
+    /**
+     * Remove up to {@code max} elements from the head and add them to the
+     * given collection, in order, releasing their slots to the producers at once.
+     * Must only be called by the consumer thread.
+     *
+     * @param target the collection receiving the elements
+     * @param max    the maximum number of elements to remove
+     * @return the number of elements removed
+     * @throws IllegalArgumentException if {@code max} is negative
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public int drainTo(Collection<? super T> target, int max) {
+        if (max < 0) {
+            throw new IllegalArgumentException("max must not be negative: " + max);
+        }
+        long h = indices[HEAD];
+        int i = 0;
+        try {
+            for (; i < max; i++) {
+                int idx = (int) (h + i) & mask;
+                T item = (T) ELEMS.getAcquire(buffer, idx);
+                if (item == null) {
+                    if (h + i == (long) LONGS.getVolatile(indices, TAIL)) {
+                        break;
+                    }
+                    // a producer claimed the slot but has not published its element yet
+                    do {
+                        Thread.onSpinWait();
+                        item = (T) ELEMS.getAcquire(buffer, idx);
+                    } while (item == null);
+                }
+                target.add(item);
+                buffer[idx] = null;
+            }
+        } finally {
+            if (i > 0) {
+                LONGS.setRelease(indices, HEAD, h + i);
+                notFull.signal(i);
+            }
+        }
+        return i;
+    }
+
+    /**
+     * Add an element at the tail, waiting for space to become available
+     * if the queue is full.
+     * May be called by any thread.
+     *
+     * @param item an element, must not be {@code null}
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public void put(T item) throws InterruptedException {
+        requireNonNull(item);
+        notFull.await(() -> offer(item) ? Boolean.TRUE : null, false, 0L);
+    }
+
+    /**
+     * Remove and return the element at the head of the queue, waiting
+     * for an element to become available if the queue is empty.
+     * Must only be called by the consumer thread.
+     *
+     * @return the element at the head of the queue
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public T take() throws InterruptedException {
+        T item = notEmpty.await(this::pollOrNull, false, 0L);
+        assert item != null;
+        return item;
+    }
+
+    /**
+     * Remove and return the element at the head of the queue, waiting up
+     * to the given timeout for an element to become available.
+     * Must only be called by the consumer thread.
+     *
+     * @param timeout the maximum time to wait
+     * @return an {@link Optional} wrapping the removed head element, or an
+     *         empty optional if the timeout elapsed first
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public Optional<T> poll(Duration timeout) throws InterruptedException {
+        return Optional.ofNullable(notEmpty.await(this::pollOrNull, true, TimeUnit.NANOSECONDS.convert(timeout)));
+    }
+
+    @Override
+    public boolean isEmpty() {
+        long h = (long) LONGS.getAcquire(indices, HEAD);
+        return h == (long) LONGS.getVolatile(indices, TAIL);
+    }
+
+    /**
+     * Add an element at the tail.
+     * May be called by any thread.
+     *
+     * @param item an element, must not be {@code null}
+     * @return this
+     * @throws IllegalStateException if the queue is full
+     */
+    @Override
+    public MpscQueue<T> add(T item) {
+        if (offer(item)) {
+            return this;
+        } else {
+            throw new IllegalStateException("queue is full");
+        }
+    }
+
+    /**
+     * Removes and returns the element from the head of the queue.
+     * Must only be called by the consumer thread.
+     *
+     * @return the element at the head of the queue
+     * @throws NoSuchElementException when empty.
+     */
+    @Override
+    public T remove() {
+        T item = pollOrNull();
+        if (item == null) {
+            throw new NoSuchElementException("queue is empty");
+        }
+        return item;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * This implementation is the same as {@link #poll()}.
+     */
+    @Override
+    public Optional<T> removeIfNotEmpty() {
+        return poll();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Optional<T> head() {
+        while (true) {
+            long h = (long) LONGS.getAcquire(indices, HEAD);
+            if (h == (long) LONGS.getVolatile(indices, TAIL)) {
+                return Optional.empty();
+            }
+            T item = (T) ELEMS.getAcquire(buffer, (int) h & mask);
+            // null if not yet published or taken meanwhile
+            if (item != null && (long) LONGS.getAcquire(indices, HEAD) == h) {
+                return Optional.of(item);
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Optional<T> tail() {
+        while (true) {
+            long t = (long) LONGS.getVolatile(indices, TAIL);
+            if ((long) LONGS.getAcquire(indices, HEAD) >= t) {
+                return Optional.empty();
+            }
+            T item = (T) ELEMS.getAcquire(buffer, (int) (t - 1) & mask);
+            // null if not yet published or taken meanwhile
+            if (item != null && (long) LONGS.getVolatile(indices, TAIL) == t) {
+                return Optional.of(item);
+            }
+            Thread.onSpinWait();
+        }
+    }
+}
@@ -0,0 +1,349 @@
+package io.github.ralfspoeth.basix.coll;
+
+import org.jspecify.annotations.Nullable;
+
+import java.lang.invoke.VarHandle;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Predicate;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A thread-safe stack like {@link ConcurrentStack} which recycles its nodes
+ * instead of allocating one per push.
+ * <p>
+ * Nodes are slots in a pool of arrays, addressed by their index; a popped
+ * node goes back to a free list from which the next push takes it, so a
+ * stack which churns at a steady size produces no garbage at all. The pool
+ * grows in chunks of doubling size up to the high-water mark of the stack
+ * and never shrinks.
+ * <p>
+ * Recycling nodes exposes a Treiber stack to the ABA problem: a thread may
+ * read the top node, be preempted while the node is popped, recycled and
+ * pushed again, and then wrongly succeed with its CAS. Both the top of the
+ * stack and the head of the free list are therefore stamped references,
+ * packed into a single {@code long} with the node index in the lower and
+ * a modification count in the upper half, which every successful CAS
+ * increments. Reads of a node's element or successor are only trusted if
+ * the stamp is still unchanged afterwards.
+ * {@snippet :
+ * var stack = new PooledConcurrentStack<Task>();
+ * stack.push(task);           // takes a node from the pool
+ * var t = stack.pop();        // returns the node to the pool
+ * }
+ * Unlike {@link ConcurrentStack}, this stack does not accept {@code null}
+ * elements.
+ *
+ * @param <T> the element type
+ */
+public final class PooledConcurrentStack<T> implements LiFo<PooledConcurrentStack<T>, T> {
+
+    private static final int NIL = -1;
+    private static final int FIRST_CHUNK_BITS = 5;
+    private static final int FIRST_CHUNK_SIZE = 1 << FIRST_CHUNK_BITS;
+    private static final int MAX_NODES = Integer.MAX_VALUE - FIRST_CHUNK_SIZE;
+
+    // chunk i holds FIRST_CHUNK_SIZE << i nodes
+    private static final class Chunk {
+        final @Nullable Object[] elements;
+        final int[] next;
+
+        Chunk(int size) {
+            this.elements = new Object[size];
+            this.next = new int[size];
+        }
+    }
+
+    private final AtomicReferenceArray<@Nullable Chunk> chunks =
+            new AtomicReferenceArray<>(Integer.SIZE - FIRST_CHUNK_BITS);
+    private final AtomicInteger allocated = new AtomicInteger();
+    private final AtomicLong top = new AtomicLong(pack(0, NIL));
+    private final AtomicLong free = new AtomicLong(pack(0, NIL));
+
+    /**
+     * Creates a new, empty stack with an empty node pool.
+     */
+    public PooledConcurrentStack() {}
+
+    // the stamp only has to differ between a read and the CAS which
+    // validates it; wrapping around after 2^32 operations is harmless
+    private static long pack(long stamp, int index) {
+        return stamp << 32 | (index & 0xFFFF_FFFFL);
+    }
+
+    private static int index(long stamped) {
+        return (int) stamped;
+    }
+
+    private static long restamp(long stamped, int index) {
+        return pack((stamped >>> 32) + 1, index);
+    }
+
+    private Chunk chunk(int index) {
+        int level = Integer.SIZE - 1 - Integer.numberOfLeadingZeros(index + FIRST_CHUNK_SIZE) - FIRST_CHUNK_BITS;
+        Chunk c = chunks.get(level);
+        if (c == null) {
+            c = new Chunk(FIRST_CHUNK_SIZE << level);
+            if (!chunks.compareAndSet(level, null, c)) {
+                c = requireNonNull(chunks.get(level));
+            }
+        }
+        return c;
+    }
+
+    private static int offset(int index) {
+        int i = index + FIRST_CHUNK_SIZE;
+        return i - Integer.highestOneBit(i);
+    }
+
+    @SuppressWarnings("unchecked")
+    private @Nullable T element(int index) {
+        return (T) chunk(index).elements[offset(index)];
+    }
+
+    private void setElement(int index, @Nullable T elem) {
+        chunk(index).elements[offset(index)] = elem;
+    }
+
+    private int nextOf(int index) {
+        return chunk(index).next[offset(index)];
+    }
+
+    private void setNext(int index, int next) {
+        chunk(index).next[offset(index)] = next;
+    }
+
+    // take a node from the free list, or a fresh one from the pool
+    private int acquire(T elem) {
+        while (true) {
+            long f = free.get();
+            int index = index(f);
+            if (index == NIL) {
+                index = allocated.getAndIncrement();
+                if (index < 0 || index >= MAX_NODES) {
+                    allocated.decrementAndGet();
+                    throw new IllegalStateException("node pool exhausted");
+                }
+                setElement(index, elem);
+                return index;
+            }
+            if (free.compareAndSet(f, restamp(f, nextOf(index)))) {
+                setElement(index, elem);
+                return index;
+            }
+        }
+    }
+
+    // return a chain of nodes, linked from first to last, to the free list
+    private void release(int first, int last) {
+        long f;
+        do {
+            f = free.get();
+            setNext(last, index(f));
+        } while (!free.compareAndSet(f, restamp(f, first)));
+    }
+
+    // the number of nodes ever taken from the pool; for tests
+    int pooled() {
+        return allocated.get();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return index(top.get()) == NIL;
+    }
+
+    /**
+     * Push an element onto the top of the stack.
+     *
+     * @param elem the element to be pushed; must not be {@code null}
+     * @return this
+     * @throws NullPointerException if {@code elem} is {@code null}
+     */
+    @Override
+    public PooledConcurrentStack<T> push(T elem) {
+        int node = acquire(requireNonNull(elem));
+        long t;
+        do {
+            t = top.get();
+            setNext(node, index(t));
+        } while (!top.compareAndSet(t, restamp(t, node)));
+        return this;
+    }
+
+    /**
+     * Push an element only if the topmost element meets the condition.
+     * A node is only taken from the pool once the condition holds.
+     *
+     * @param data      the element to be pushed; must not be {@code null}
+     * @param condition the condition applied to the topmost element,
+     *                  which is {@code null} if the stack is empty
+     * @return this
+     * @throws NullPointerException if {@code data} is {@code null}
+     */
+    @Override
+    public PooledConcurrentStack<T> pushIf(T data, Predicate<? super @Nullable T> condition) {
+        requireNonNull(data);
+        int node = NIL;
+        while (true) {
+            long t = top.get();
+            int current = index(t);
+            T e = current == NIL ? null : element(current);
+            // the element may stem from a recycled node, unless top is unchanged
+            VarHandle.loadLoadFence();
+            if (top.get() != t) {
+                continue;
+            }
+            if (!condition.test(e)) {
+                if (node != NIL) {
+                    setElement(node, null);
+                    release(node, node);
+                }
+                return this;
+            }
+            if (node == NIL) {
+                node = acquire(data);
+            }
+            setNext(node, current);
+            if (top.compareAndSet(t, restamp(t, node))) {
+                return this;
+            }
+        }
+    }
+
+    /**
+     * Push all elements of the given collection in their iteration order,
+     * atomically, such that the last element ends up on top.
+     * If this method throws, the stack is left unchanged and the nodes taken
+     * for the elements so far are returned to the pool.
+     *
+     * @param items the elements to be pushed; must not contain {@code null}
+     * @return this
+     * @throws NullPointerException if {@code items} contains {@code null}
+     */
+    @Override
+    public PooledConcurrentStack<T> pushAll(Collection<? extends T> items) {
+        int newTop = NIL, bottom = NIL;
+        try {
+            for (T item : items) {
+                int node = acquire(requireNonNull(item));
+                setNext(node, newTop);
+                newTop = node;
+                if (bottom == NIL) {
+                    bottom = node;
+                }
+            }
+        } catch (Throwable e) {
+            // the partial chain is on neither the stack nor the free list
+            if (newTop != NIL) {
+                for (int node = newTop; node != NIL; node = nextOf(node)) {
+                    setElement(node, null);
+                }
+                release(newTop, bottom);
+            }
+            throw e;
+        }
+        if (newTop != NIL) {
+            long t;
+            do {
+                t = top.get();
+                setNext(bottom, index(t));
+            } while (!top.compareAndSet(t, restamp(t, newTop)));
+        }
+        return this;
+    }
+
+    /**
+     * Remove and return the topmost element of the stack.
+     *
+     * @return the topmost element
+     * @throws NoSuchElementException when empty
+     */
+    @Override
+    public T pop() {
+        return popIf(_ -> true).orElseThrow();
+    }
+
+    /**
+     * Remove and return the topmost element if it meets the given condition.
+     *
+     * @param condition the condition; tested with {@code null} if the stack is empty
+     * @return an optional wrapping the topmost element, or an empty optional
+     * @throws NoSuchElementException if the stack is empty but the condition
+     *                                holds for {@code null}
+     */
+    @Override
+    public Optional<T> popIf(Predicate<? super @Nullable T> condition) {
+        while (true) {
+            long t = top.get();
+            int current = index(t);
+            T e = current == NIL ? null : element(current);
+            int successor = current == NIL ? NIL : nextOf(current);
+            // the element and successor may stem from a recycled node,
+            // unless top is unchanged
+            VarHandle.loadLoadFence();
+            if (top.get() != t) {
+                continue;
+            }
+            if (!condition.test(e)) {
+                return Optional.empty();
+            }
+            if (e == null) {
+                throw new NoSuchElementException("stack is empty");
+            }
+            if (top.compareAndSet(t, restamp(t, successor))) {
+                setElement(current, null);
+                release(current, current);
+                return Optional.of(e);
+            }
+        }
+    }
+
+    /**
+     * Remove all elements atomically.
+     *
+     * @return a new, modifiable list of the removed elements, the formerly
+     *         topmost element first
+     */
+    @Override
+    public List<T> popAll() {
+        long t;
+        do {
+            t = top.get();
+        } while (!top.compareAndSet(t, restamp(t, NIL)));
+        var all = new ArrayList<T>();
+        int first = index(t), last = NIL;
+        for (int node = first; node != NIL; node = nextOf(node)) {
+            all.add(requireNonNull(element(node)));
+            setElement(node, null);
+            last = node;
+        }
+        if (first != NIL) {
+            release(first, last);
+        }
+        return all;
+    }
+
+    @Override
+    public @Nullable T top() {
+        while (true) {
+            long t = top.get();
+            int current = index(t);
+            if (current == NIL) {
+                return null;
+            }
+            T e = element(current);
+            VarHandle.loadLoadFence();
+            if (top.get() == t) {
+                return e;
+            }
+        }
+    }
+}
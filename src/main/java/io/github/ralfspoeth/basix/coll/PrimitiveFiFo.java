@@ -0,0 +1,23 @@
+package io.github.ralfspoeth.basix.coll;
+
+import java.util.Collection;
+
+/**
+ * Common supertype of the first-in, first-out structures holding
+ * primitive values.
+ * <p>
+ * The element-specific operations ({@code add}, {@code remove},
+ * {@code head}, {@code tail}) mirror those of {@link FiFo} but take and
+ * return primitives, so they cannot be declared here; see the permitted
+ * implementations.
+ *
+ * @param <S> the actual implementation
+ */
+public sealed interface PrimitiveFiFo<S extends PrimitiveFiFo<S>> permits IntQueue, LongQueue {
+
+    /**
+     * Test whether empty or not; cf.{@link Collection#isEmpty()}.
+     * @return {@code true} if empty
+     */
+    boolean isEmpty();
+}
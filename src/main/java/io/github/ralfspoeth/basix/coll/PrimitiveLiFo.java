@@ -0,0 +1,26 @@
+package io.github.ralfspoeth.basix.coll;
+
+import java.util.Collection;
+
+/**
+ * Common supertype of the last-in, first-out structures holding
+ * primitive values.
+ * <p>
+ * The element-specific operations ({@code push}, {@code pop}, {@code top},
+ * {@code pushIf}, {@code popIf}) mirror those of {@link LiFo} but take and
+ * return primitives, so they cannot be declared here; see the permitted
+ * implementations.
+ * Unlike {@link Stack}, an empty primitive stack has no {@code null} top
+ * element: {@code top()} throws {@link java.util.NoSuchElementException}
+ * and conditional pushes do not test the condition on an empty stack.
+ *
+ * @param <S> the actual implementation
+ */
+public sealed interface PrimitiveLiFo<S extends PrimitiveLiFo<S>> permits IntStack, LongStack, DoubleStack {
+
+    /**
+     * Test whether empty or not; cf.{@link Collection#isEmpty()}.
+     * @return {@code true} if empty
+     */
+    boolean isEmpty();
+}
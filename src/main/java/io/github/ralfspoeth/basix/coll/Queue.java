@@ -2,6 +2,7 @@ package io.github.ralfspoeth.basix.coll;
 
 import org.jspecify.annotations.Nullable;
 
+import java.util.Collection;
 import java.util.NoSuchElementException;
 import java.util.Optional;
 
@@ -31,15 +32,100 @@ import static java.util.Objects.requireNonNull;
  */
 public final class Queue<T> implements FiFo<Queue<T>, T> {
 
+    private static final int DEFAULT_CAPACITY = 4;
+
+    private @Nullable T[] data;
+    private int next = 0; // next available slot
+    private int top = 0; // next slot to be removed
+    private int size = 0; // the number of elements
+    private final int initialCapacity;
+    private final boolean shrinking;
+
     /**
      * Creates a new, empty queue.
      */
-    public Queue() {}
+    public Queue() {
+        this(DEFAULT_CAPACITY, false);
+    }
 
+    /**
+     * Creates a new, empty queue with room for the given number of elements
+     * before its internal storage grows.
+     *
+     * @param initialCapacity the initial capacity
+     * @throws IllegalArgumentException if {@code initialCapacity} is less than one
+     */
+    public Queue(int initialCapacity) {
+        this(initialCapacity, false);
+    }
+
+    /**
+     * Creates a new, empty queue with room for the given number of elements
+     * before its internal storage grows, and which optionally gives memory
+     * back after a spike.
+     * A shrinking queue halves its internal storage whenever a
+     * {@link #remove()} leaves it at most a quarter full, but never below the
+     * initial capacity; after halving it is still half full, so that
+     * alternating additions and removals at the boundary do not resize the
+     * storage over and over again.
+     *
+     * @param initialCapacity the initial, and minimum, capacity
+     * @param shrinking       whether {@link #remove()} halves sparsely used storage
+     * @throws IllegalArgumentException if {@code initialCapacity} is less than one
+     */
     @SuppressWarnings("unchecked")
-    private @Nullable T[] data = (T[]) new Object[4];
-    private int next = 0; // next available slot
-    private int top = 0; // next slot to be removed
+    public Queue(int initialCapacity, boolean shrinking) {
+        if (initialCapacity < 1) {
+            throw new IllegalArgumentException("capacity out of range: " + initialCapacity);
+        }
+        this.data = (T[]) new Object[initialCapacity];
+        this.initialCapacity = initialCapacity;
+        this.shrinking = shrinking;
+    }
+
+    /**
+     * The number of elements the queue holds before its internal storage grows.
+     *
+     * @return the capacity
+     */
+    public int capacity() {
+        return data.length;
+    }
+
+    // move the elements to the front of a new array of the given length
+    private void resize(int length) {
+        @SuppressWarnings("unchecked")
+        var tmp = (T[]) new Object[length];
+        if (next > top) {
+            System.arraycopy(data, top, tmp, 0, size);
+        } else if (size > 0) {
+            System.arraycopy(data, top, tmp, 0, data.length - top);
+            System.arraycopy(data, 0, tmp, data.length - top, next);
+        }
+        data = tmp;
+        top = 0;
+        next = size;
+    }
+
+    /**
+     * Grow the internal storage, if necessary, such that it holds at least
+     * the given number of elements; its length keeps doubling from the
+     * current capacity.
+     * A shrinking queue may give the capacity back when elements are removed.
+     *
+     * @param minCapacity the minimum capacity
+     * @return this
+     */
+    public Queue<T> ensureCapacity(int minCapacity) {
+        if (minCapacity > data.length) {
+            long length = data.length;
+            while (length < minCapacity) {
+                length *= 2;
+            }
+            resize((int) Math.min(length, Integer.MAX_VALUE - 8));
+        }
+        return this;
+    }
 
     private void growIfExhausted() {
         // next insertion point out of bounds?
@@ -79,8 +165,10 @@ public final class Queue<T> implements FiFo<Queue<T>, T> {
      */
     @Override
     public Queue<T> add(T item) {
+        requireNonNull(item);
         growIfExhausted();
-        data[next++] = requireNonNull(item);
+        data[next++] = item;
+        size++;
         return this;
     }
 
@@ -99,6 +187,7 @@ public final class Queue<T> implements FiFo<Queue<T>, T> {
         } else {
             T tmp = data[top];
             data[top++] = null; // prevent memory leak
+            size--;
             // top reaching next means we just removed the last element
             // and can reset both pointers to the start
             if (top == next) {
@@ -106,11 +195,44 @@ public final class Queue<T> implements FiFo<Queue<T>, T> {
             } else if (top == data.length) {
                 top = 0;
             }
+            if (shrinking && size <= data.length / 4 && data.length / 2 >= initialCapacity) {
+                resize(data.length / 2);
+            }
             assert tmp != null;
             return tmp;
         }
     }
 
+    /**
+     * Add all elements of the given collection in their iteration order.
+     * The internal storage is grown at most once.
+     *
+     * @param items the elements to be added; must not contain {@code null}
+     * @return this
+     * @throws NullPointerException if {@code items} contains {@code null}
+     */
+    @Override
+    public Queue<T> addAll(Collection<? extends T> items) {
+        ensureCapacity(size + items.size());
+        for (T item : items) {
+            add(item);
+        }
+        return this;
+    }
+
+    @Override
+    public int drainTo(Collection<? super T> target, int max) {
+        if (max < 0) {
+            throw new IllegalArgumentException("max must not be negative: " + max);
+        }
+        int n = 0;
+        while (n < max && !isEmpty()) {
+            target.add(remove());
+            n++;
+        }
+        return n;
+    }
+
     /**
      * The next element available in the queue.
      */
@@ -0,0 +1,346 @@
+package io.github.ralfspoeth.basix.coll;
+
+import org.jspecify.annotations.Nullable;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Bounded FIFO queue for exactly one producer thread and one consumer thread,
+ * such as the hand-off between two stages of a pipeline.
+ * <p>
+ * At any time, at most one thread may add elements and at most one
+ * (other) thread may remove them; this is not checked. In return, neither
+ * side ever performs a CAS: the producer publishes an element with a
+ * release store of its tail index and the consumer frees a slot with a
+ * release store of its head index. Each side caches the other side's
+ * index and only re-reads it (with acquire semantics) when the cached
+ * value suggests the queue is full or empty. The two indices live in
+ * separate cache lines so the threads do not invalidate each other's line
+ * on every operation.
+ * <p>
+ * The capacity is rounded up to the next power of two.
+ * {@link #offer(Object)} and {@link #poll()} report a full or empty queue
+ * through their return values; {@link #add(Object)} throws
+ * {@link IllegalStateException} when the queue is full.
+ * {@link #put(Object)}, {@link #take()} and {@link #poll(Duration)} wait
+ * for space or an element instead; waiting threads are parked without
+ * holding a monitor, so virtual threads unmount while waiting.
+ * {@link #head()} is meant for the consumer and {@link #tail()} for the
+ * producer; called from any other thread they return snapshots which
+ * may be stale by the time the caller inspects them.
+ *
+ * @param <T> the element type
+ * @see MpscQueue
+ * @see MpmcQueue
+ */
+public final class SpscQueue<T> implements FiFo<SpscQueue<T>, T> {
+
+    private static final VarHandle LONGS = MethodHandles.arrayElementVarHandle(long[].class);
+    private static final VarHandle ELEMS = MethodHandles.arrayElementVarHandle(Object[].class);
+
+    // positions in the padded index array; 16 longs (128 bytes) apart
+    // so that consumer-owned and producer-owned slots never share a cache line
+    private static final int HEAD = 15;
+    private static final int TAIL_CACHE = 16;
+    private static final int TAIL = 31;
+    private static final int HEAD_CACHE = 32;
+    private static final int PADDED_LENGTH = 48;
+
+    private final long[] indices = new long[PADDED_LENGTH];
+    private final @Nullable Object[] buffer;
+    private final int mask;
+    private final Waiters notEmpty = new Waiters();
+    private final Waiters notFull = new Waiters();
+
+    /**
+     * Creates a new, empty queue.
+     *
+     * @param capacity the minimum number of elements the queue can hold;
+     *                 rounded up to the next power of two
+     * @throws IllegalArgumentException if {@code capacity} is not in the
+     *                                  range {@code 1..2^30}
+     */
+    public SpscQueue(int capacity) {
+        if (capacity < 1 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("capacity out of range: " + capacity);
+        }
+        int size = 1 << (Integer.SIZE - Integer.numberOfLeadingZeros(capacity - 1));
+        this.mask = size - 1;
+        this.buffer = new Object[size];
+    }
+
+    /**
+     * The maximum number of elements this queue can hold.
+     *
+     * @return the capacity, a power of two
+     */
+    public int capacity() {
+        return mask + 1;
+    }
+
+    /**
+     * Add an element at the tail if the queue is not full.
+     * Must only be called by the producer thread.
+     *
+     * @param item an element, must not be {@code null}
+     * @return {@code true} if added, {@code false} if the queue is full
+     */
+    public boolean offer(T item) {
+        requireNonNull(item);
+        long t = indices[TAIL];
+        if (t - indices[HEAD_CACHE] > mask) {
+            long h = (long) LONGS.getAcquire(indices, HEAD);
+            indices[HEAD_CACHE] = h;
+            if (t - h > mask) {
+                return false;
+            }
+        }
+        buffer[(int) t & mask] = item;
+        LONGS.setRelease(indices, TAIL, t + 1);
+        notEmpty.signal();
+        return true;
+    }
+
+    /**
+     * Remove and return the element at the head if the queue is not empty.
+     * Must only be called by the consumer thread.
+     *
+     * @return an {@link Optional} wrapping the removed head element, or an
+     *         empty optional if the queue is empty
+     */
+    public Optional<T> poll() {
+        return Optional.ofNullable(pollOrNull());
+    }
+
+    @SuppressWarnings("unchecked")
+    private @Nullable T pollOrNull() {
+        long h = indices[HEAD];
+        if (h >= indices[TAIL_CACHE]) {
+            long t = (long) LONGS.getAcquire(indices, TAIL);
+            indices[TAIL_CACHE] = t;
+            if (h >= t) {
+                return null;
+            }
+        }
+        int idx = (int) h & mask;
+        T item = (T) buffer[idx];
+        buffer[idx] = null;
+        LONGS.setRelease(indices, HEAD, h + 1);
+        notFull.signal();
+        return item;
+    }
+
+    /**
+     * Remove up to {@code max} elements from the head and add them to the
+     * given collection, in order, releasing their slots to the producer at once.
+     * Must only be called by the consumer thread.
+     *
+     * @param target the collection receiving the elements
+     * @param max    the maximum number of elements to remove
+     * @return the number of elements removed
+     * @throws IllegalArgumentException if {@code max} is negative
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public int drainTo(Collection<? super T> target, int max) {
+        if (max < 0) {
+            throw new IllegalArgumentException("max must not be negative: " + max);
+        }
+        long h = indices[HEAD];
+        long t = (long) LONGS.getAcquire(indices, TAIL);
+        indices[TAIL_CACHE] = t;
+        int k = (int) Math.min(max, t - h);
+        int i = 0;
+        try {
+            for (; i < k; i++) {
+                int idx = (int) (h + i) & mask;
+                target.add((T) buffer[idx]);
+                buffer[idx] = null;
+            }
+        } finally {
+            if (i > 0) {
+                LONGS.setRelease(indices, HEAD, h + i);
+                notFull.signal();
+            }
+        }
+        return i;
+    }
+
+    /**
+     * Add an element at the tail, waiting for space to become available
+     * if the queue is full.
+     * Must only be called by the producer thread.
+     *
+     * @param item an element, must not be {@code null}
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public void put(T item) throws InterruptedException {
+        requireNonNull(item);
+        notFull.await(() -> offer(item) ? Boolean.TRUE : null, false, 0L);
+    }
+
+    /**
+     * Remove and return the element at the head of the queue, waiting
+     * for an element to become available if the queue is empty.
+     * Must only be called by the consumer thread.
+     *
+     * @return the element at the head of the queue
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public T take() throws InterruptedException {
+        T item = notEmpty.await(this::pollOrNull, false, 0L);
+        assert item != null;
+        return item;
+    }
+
+    /**
+     * Remove and return the element at the head of the queue, waiting up
+     * to the given timeout for an element to become available.
+     * Must only be called by the consumer thread.
+     *
+     * @param timeout the maximum time to wait
+     * @return an {@link Optional} wrapping the removed head element, or an
+     *         empty optional if the timeout elapsed first
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public Optional<T> poll(Duration timeout) throws InterruptedException {
+        return Optional.ofNullable(notEmpty.await(this::pollOrNull, true, TimeUnit.NANOSECONDS.convert(timeout)));
+    }
+
+    @Override
+    public boolean isEmpty() {
+        long h = (long) LONGS.getAcquire(indices, HEAD);
+        return h >= (long) LONGS.getAcquire(indices, TAIL);
+    }
+
+    /**
+     * Add an element at the tail.
+     * Must only be called by the producer thread.
+     *
+     * @param item an element, must not be {@code null}
+     * @return this
+     * @throws IllegalStateException if the queue is full
+     */
+    @Override
+    public SpscQueue<T> add(T item) {
+        if (offer(item)) {
+            return this;
+        } else {
+            throw new IllegalStateException("queue is full");
+        }
+    }
+
+    /**
+     * Add all elements of the given collection in their iteration order,
+     * publishing them to the consumer at once.
+     * Must only be called by the producer thread.
+     * <p>
+     * Unlike the default {@link FiFo#addAll(Collection)}, this operation
+     * is all-or-nothing: if it throws, the queue is left unchanged and
+     * holds no reference to any of the given elements.
+     *
+     * @param items the elements to be added, must not contain {@code null}
+     * @return this
+     * @throws IllegalStateException if the queue cannot take all elements;
+     *                               no element is added in that case
+     * @throws NullPointerException  if {@code items} contains {@code null};
+     *                               no element is added in that case
+     */
+    @Override
+    public SpscQueue<T> addAll(Collection<? extends T> items) {
+        int n = items.size();
+        long t = indices[TAIL];
+        if (t + n - indices[HEAD_CACHE] > mask + 1) {
+            long h = (long) LONGS.getAcquire(indices, HEAD);
+            indices[HEAD_CACHE] = h;
+            if (t + n - h > mask + 1) {
+                throw new IllegalStateException("queue is full");
+            }
+        }
+        int i = 0;
+        for (T item : items) {
+            if (i == n) {
+                break;
+            }
+            if (item == null) {
+                // release the elements written so far before giving up
+                for (int j = 0; j < i; j++) {
+                    buffer[(int) (t + j) & mask] = null;
+                }
+                throw new NullPointerException("items must not contain null");
+            }
+            // slots beyond the tail are invisible to the consumer
+            buffer[(int) (t + i++) & mask] = item;
+        }
+        if (i > 0) {
+            LONGS.setRelease(indices, TAIL, t + i);
+            notEmpty.signal();
+        }
+        return this;
+    }
+
+    /**
+     * Removes and returns the element from the head of the queue.
+     * Must only be called by the consumer thread.
+     *
+     * @return the element at the head of the queue
+     * @throws NoSuchElementException when empty.
+     */
+    @Override
+    public T remove() {
+        T item = pollOrNull();
+        if (item == null) {
+            throw new NoSuchElementException("queue is empty");
+        }
+        return item;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * This implementation is the same as {@link #poll()}.
+     */
+    @Override
+    public Optional<T> removeIfNotEmpty() {
+        return poll();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Optional<T> head() {
+        while (true) {
+            long h = (long) LONGS.getAcquire(indices, HEAD);
+            if (h >= (long) LONGS.getAcquire(indices, TAIL)) {
+                return Optional.empty();
+            }
+            T item = (T) ELEMS.getAcquire(buffer, (int) h & mask);
+            // only trust the element if the consumer did not take it meanwhile
+            if (item != null && (long) LONGS.getAcquire(indices, HEAD) == h) {
+                return Optional.of(item);
+            }
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Optional<T> tail() {
+        while (true) {
+            long t = (long) LONGS.getAcquire(indices, TAIL);
+            if ((long) LONGS.getAcquire(indices, HEAD) >= t) {
+                return Optional.empty();
+            }
+            T item = (T) ELEMS.getAcquire(buffer, (int) (t - 1) & mask);
+            if (item != null && (long) LONGS.getAcquire(indices, HEAD) < t) {
+                return Optional.of(item);
+            }
+        }
+    }
+}
@@ -2,6 +2,10 @@ package io.github.ralfspoeth.basix.coll;
 
 import org.jspecify.annotations.Nullable;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Optional;
 import java.util.function.Predicate;
@@ -46,13 +50,87 @@ import static java.util.Objects.requireNonNull;
 @SuppressWarnings("unchecked")
 public final class Stack<T> implements LiFo<Stack<T>, T> {
 
-    private @Nullable T[] data = (T[]) new Object[16];
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private @Nullable T[] data;
     private int next = 0;
+    private final int initialCapacity;
+    private final boolean shrinking;
 
     /**
      * Creates a new, empty stack.
      */
-    public Stack() {}
+    public Stack() {
+        this(DEFAULT_CAPACITY, false);
+    }
+
+    /**
+     * Creates a new, empty stack with room for the given number of elements
+     * before its internal storage grows.
+     *
+     * @param initialCapacity the initial capacity
+     * @throws IllegalArgumentException if {@code initialCapacity} is less than one
+     */
+    public Stack(int initialCapacity) {
+        this(initialCapacity, false);
+    }
+
+    /**
+     * Creates a new, empty stack with room for the given number of elements
+     * before its internal storage grows, and which optionally gives memory
+     * back after a spike.
+     * A shrinking stack halves its internal storage whenever a {@link #pop()}
+     * leaves it at most a quarter full, but never below the initial capacity;
+     * after halving it is still half full, so that alternating pushes and pops
+     * at the boundary do not resize the storage over and over again.
+     * {@snippet :
+     * var stack = new Stack<Integer>(16, true);
+     * for (int i = 0; i < 1_000_000; i++) stack.push(i); // a burst of deep recursion
+     * while (!stack.isEmpty()) stack.pop();
+     * assert stack.capacity() == 16;
+     * }
+     *
+     * @param initialCapacity the initial, and minimum, capacity
+     * @param shrinking       whether {@link #pop()} halves sparsely used storage
+     * @throws IllegalArgumentException if {@code initialCapacity} is less than one
+     */
+    public Stack(int initialCapacity, boolean shrinking) {
+        if (initialCapacity < 1) {
+            throw new IllegalArgumentException("capacity out of range: " + initialCapacity);
+        }
+        this.data = (T[]) new Object[initialCapacity];
+        this.initialCapacity = initialCapacity;
+        this.shrinking = shrinking;
+    }
+
+    /**
+     * The number of elements the stack holds before its internal storage grows.
+     *
+     * @return the capacity
+     */
+    public int capacity() {
+        return data.length;
+    }
+
+    /**
+     * Grow the internal storage, if necessary, such that it holds at least
+     * the given number of elements; its length keeps doubling from the
+     * current capacity.
+     * A shrinking stack may give the capacity back when elements are popped.
+     *
+     * @param minCapacity the minimum capacity
+     * @return this
+     */
+    public Stack<T> ensureCapacity(int minCapacity) {
+        if (minCapacity > data.length) {
+            long length = data.length;
+            while (length < minCapacity) {
+                length *= 2;
+            }
+            data = Arrays.copyOf(data, (int) Math.min(length, Integer.MAX_VALUE - 8));
+        }
+        return this;
+    }
 
     /**
      * Remove to the top element of this stack only if it meets
@@ -102,6 +180,9 @@ public final class Stack<T> implements LiFo<Stack<T>, T> {
         if (next > 0) {
             T tmp = data[--next];
             data[next] = null;
+            if (shrinking && next <= data.length / 4 && data.length / 2 >= initialCapacity) {
+                data = Arrays.copyOf(data, data.length / 2);
+            }
             assert tmp != null;
             return tmp;
         } else {
@@ -129,15 +210,51 @@ public final class Stack<T> implements LiFo<Stack<T>, T> {
      * @return this
      * @throws NullPointerException if {@code elem} is {@code null}
      */
-    @SuppressWarnings("unchecked")
     @Override
     public Stack<T> push(T elem) {
         if (next == data.length) {
-            T[] tmp = (T[]) new Object[data.length * 2];
-            System.arraycopy(data, 0, tmp, 0, data.length);
-            data = tmp;
+            ensureCapacity(next + 1);
         }
         data[next++] = requireNonNull(elem);
         return this;
     }
+
+    /**
+     * Push all elements of the given collection in their iteration order.
+     * The internal storage is grown at most once.
+     *
+     * @param items the elements to be pushed; must not contain {@code null}
+     * @return this
+     * @throws NullPointerException if {@code items} contains {@code null}
+     */
+    @Override
+    public Stack<T> pushAll(Collection<? extends T> items) {
+        ensureCapacity(next + items.size());
+        for (T item : items) {
+            push(item);
+        }
+        return this;
+    }
+
+    /**
+     * Remove all elements of this stack; a shrinking stack returns to its
+     * initial capacity.
+     *
+     * @return a new, modifiable list of the removed elements, the formerly
+     *         topmost element first
+     */
+    @Override
+    public List<T> popAll() {
+        var all = new ArrayList<T>(next);
+        for (int i = next - 1; i >= 0; i--) {
+            all.add(requireNonNull(data[i]));
+        }
+        if (shrinking) {
+            data = (T[]) new Object[initialCapacity];
+        } else {
+            Arrays.fill(data, 0, next, null);
+        }
+        next = 0;
+        return all;
+    }
 }
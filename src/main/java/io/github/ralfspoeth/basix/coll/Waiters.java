@@ -0,0 +1,128 @@
+package io.github.ralfspoeth.basix.coll;
+
+import org.jspecify.annotations.Nullable;
+
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * Threads waiting for a condition on one of the concurrent queues,
+ * e.g. "not empty" or "not full".
+ * <p>
+ * Waiting threads are parked with {@link LockSupport}, never inside a
+ * monitor, so virtual threads unmount while they wait. Non-blocking
+ * operations only pay for a read of a volatile flag in {@link #signal()}
+ * as long as no thread has ever waited on this instance.
+ */
+final class Waiters {
+
+    // a producer may skip signal() while the first waiter registers,
+    // see signal(); the first park of every wait is bounded by this
+    private static final long FIRST_PARK_NANOS = 100_000L;
+
+    private static final class Node {
+        final Thread thread;
+        volatile boolean signalled;
+
+        Node(Thread thread) {
+            this.thread = thread;
+        }
+    }
+
+    private final ConcurrentLinkedQueue<Node> parked = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger count = new AtomicInteger();
+    private volatile boolean used;
+
+    /**
+     * Wake up one waiting thread, if any.
+     * Must be called after the state change the waiters wait for
+     * has been published.
+     */
+    void signal() {
+        signal(1);
+    }
+
+    /**
+     * Wake up to {@code n} waiting threads, e.g. after a batch of
+     * {@code n} elements has been published.
+     *
+     * @param n the maximum number of threads to wake up
+     */
+    void signal(int n) {
+        if (used) {
+            // orders the caller's (possibly release-only) publication
+            // before the read of the waiter count
+            VarHandle.fullFence();
+            for (int i = 0; i < n && count.get() > 0; i++) {
+                Node node = parked.poll();
+                if (node == null) {
+                    return;
+                }
+                node.signalled = true;
+                LockSupport.unpark(node.thread);
+            }
+        }
+    }
+
+    /**
+     * Repeat the given attempt until it returns a non-{@code null} result,
+     * parking the current thread in between.
+     *
+     * @param attempt a non-blocking attempt, e.g. a poll
+     * @param timed   whether to give up after {@code nanos}
+     * @param nanos   the maximum time to wait if {@code timed}
+     * @param <T>     the result type
+     * @return the first non-{@code null} result, or {@code null} on timeout
+     * @throws InterruptedException if interrupted while waiting
+     */
+    <T> @Nullable T await(Supplier<@Nullable T> attempt, boolean timed, long nanos) throws InterruptedException {
+        T result = attempt.get();
+        if (result != null) {
+            return result;
+        }
+        used = true;
+        final long deadline = timed ? System.nanoTime() + nanos : 0L;
+        var node = new Node(Thread.currentThread());
+        count.incrementAndGet();
+        parked.offer(node);
+        try {
+            for (long slice = FIRST_PARK_NANOS; ; slice = Long.MAX_VALUE) {
+                // orders the registration before the re-check
+                VarHandle.fullFence();
+                result = attempt.get();
+                if (result != null) {
+                    return result;
+                }
+                if (Thread.interrupted()) {
+                    throw new InterruptedException();
+                }
+                long park = slice;
+                if (timed) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0L) {
+                        return null;
+                    }
+                    park = Math.min(park, remaining);
+                }
+                if (park == Long.MAX_VALUE) {
+                    LockSupport.park(this);
+                } else {
+                    LockSupport.parkNanos(this, park);
+                }
+                if (node.signalled) {
+                    node = new Node(node.thread);
+                    parked.offer(node);
+                }
+            }
+        } finally {
+            count.decrementAndGet();
+            if (!parked.remove(node) && result == null) {
+                // signalled while giving up: pass the signal on
+                signal();
+            }
+        }
+    }
+}
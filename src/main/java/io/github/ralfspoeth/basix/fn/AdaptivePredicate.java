@@ -0,0 +1,236 @@
+package io.github.ralfspoeth.basix.fn;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A conjunction ({@link #allOf}) or disjunction ({@link #anyOf}) of
+ * predicates which reorders its terms by their observed selectivity and
+ * cost such that short-circuiting gets cheaper the more data it sees.
+ * {@snippet :
+ * var p = AdaptivePredicate.allOf(
+ *         Predicates.eq("EUR", Trade::currency),      // passes most trades
+ *         Predicates.greaterThanLong(1_000_000, Trade::amount)); // passes few
+ * trades.stream().filter(p)... // soon tests the amount first
+ * }
+ * Nested conjunctions in a conjunction, and nested disjunctions in a
+ * disjunction, are flattened into a single array of terms which is
+ * evaluated in one loop; {@link #and(Predicate)} and {@link #or(Predicate)}
+ * preserve this structure.
+ * <p>
+ * On average every {@value #SAMPLE_PERIOD}th test, drawn at random, is a
+ * sample which evaluates all terms,
+ * recording for each term how often it passes and how long it takes, with
+ * single measurements clipped to a multiple of the term's mean.
+ * Every {@value #REORDER_AFTER} samples the terms are sorted by their cost per
+ * decisive outcome: a rejection for a conjunction, a match for a
+ * disjunction. The statistics are then halved, such that the order follows
+ * changes in the data.
+ * <p>
+ * The result of a test never depends on the order of the terms, provided
+ * the terms are free of side effects and do not depend on each other; in
+ * particular, a term must not rely on another one as a guard, as in
+ * {@code x != null} followed by {@code x.isEmpty()}; combine such terms into
+ * a single term instead. Instances may be shared among threads, e.g. by a
+ * parallel stream: tests other than samples only read the current order, and
+ * the statistics are updated by samples without synchronization and are then
+ * merely approximate.
+ *
+ * @param <T> the type of the input to the predicate
+ */
+public final class AdaptivePredicate<T> implements Predicate<T> {
+
+    private static final int SAMPLE_PERIOD = 64;
+    private static final int REORDER_AFTER = 16;
+
+    // the current evaluation order, safely published through the final field
+    private record Plan<T>(Predicate<? super T>[] terms) {}
+
+    private final boolean conjunction;
+    private final Predicate<? super T>[] terms;
+    private final int samplePeriod;
+    private final int reorderAfter;
+
+    private Plan<T> plan;
+    private int samples;
+    private long evaluated;
+    private final long[] passed;
+    private final long[] nanos;
+
+    AdaptivePredicate(boolean conjunction, List<? extends Predicate<? super T>> terms,
+                      int samplePeriod, int reorderAfter) {
+        this.conjunction = conjunction;
+        var flat = new ArrayList<Predicate<? super T>>();
+        for (var term : terms) {
+            if (requireNonNull(term) instanceof AdaptivePredicate<?> ap && ap.conjunction == conjunction) {
+                // flatten nested terms of the same kind in their current order
+                @SuppressWarnings("unchecked")
+                var nested = (AdaptivePredicate<? super T>) ap;
+                flat.addAll(nested.terms());
+            } else {
+                flat.add(term);
+            }
+        }
+        @SuppressWarnings("unchecked")
+        Predicate<? super T>[] array = flat.toArray(Predicate[]::new);
+        this.terms = array;
+        this.samplePeriod = samplePeriod;
+        this.reorderAfter = reorderAfter;
+        this.plan = new Plan<>(array.clone());
+        this.passed = new long[array.length];
+        this.nanos = new long[array.length];
+    }
+
+    /**
+     * A predicate which is {@code true} iff all the given terms are;
+     * {@code true} for no terms.
+     *
+     * @param terms the terms; none may be {@code null}
+     * @param <T>   the type of the input to the predicate
+     * @return an adaptive conjunction
+     */
+    @SafeVarargs
+    public static <T> AdaptivePredicate<T> allOf(Predicate<? super T>... terms) {
+        return new AdaptivePredicate<T>(true, Arrays.asList(terms), SAMPLE_PERIOD, REORDER_AFTER);
+    }
+
+    /**
+     * A predicate which is {@code true} iff all the given terms are;
+     * {@code true} for no terms.
+     *
+     * @param terms the terms; none may be {@code null}
+     * @param <T>   the type of the input to the predicate
+     * @return an adaptive conjunction
+     */
+    public static <T> AdaptivePredicate<T> allOf(List<? extends Predicate<? super T>> terms) {
+        return new AdaptivePredicate<>(true, terms, SAMPLE_PERIOD, REORDER_AFTER);
+    }
+
+    /**
+     * A predicate which is {@code true} iff any of the given terms is;
+     * {@code false} for no terms.
+     *
+     * @param terms the terms; none may be {@code null}
+     * @param <T>   the type of the input to the predicate
+     * @return an adaptive disjunction
+     */
+    @SafeVarargs
+    public static <T> AdaptivePredicate<T> anyOf(Predicate<? super T>... terms) {
+        return new AdaptivePredicate<T>(false, Arrays.asList(terms), SAMPLE_PERIOD, REORDER_AFTER);
+    }
+
+    /**
+     * A predicate which is {@code true} iff any of the given terms is;
+     * {@code false} for no terms.
+     *
+     * @param terms the terms; none may be {@code null}
+     * @param <T>   the type of the input to the predicate
+     * @return an adaptive disjunction
+     */
+    public static <T> AdaptivePredicate<T> anyOf(List<? extends Predicate<? super T>> terms) {
+        return new AdaptivePredicate<>(false, terms, SAMPLE_PERIOD, REORDER_AFTER);
+    }
+
+    /**
+     * The terms in their current order of evaluation.
+     *
+     * @return an unmodifiable list of the terms
+     */
+    public List<Predicate<? super T>> terms() {
+        return List.of(plan.terms());
+    }
+
+    @Override
+    public boolean test(T t) {
+        // a per-thread random draw keeps shared writes off the common path
+        if (ThreadLocalRandom.current().nextInt(samplePeriod) == 0) {
+            return sample(t);
+        }
+        for (var term : plan.terms()) {
+            if (term.test(t) != conjunction) {
+                return !conjunction;
+            }
+        }
+        return conjunction;
+    }
+
+    private boolean sample(T t) {
+        boolean result = conjunction;
+        for (int i = 0; i < terms.length; i++) {
+            long start = System.nanoTime();
+            boolean r = terms[i].test(t);
+            long elapsed = System.nanoTime() - start;
+            // clip outliers such as safepoint pauses to a multiple of the mean
+            nanos[i] += evaluated == 0 ? elapsed : Math.min(elapsed, 16 * nanos[i] / evaluated + 100);
+            if (r) {
+                passed[i]++;
+            }
+            if (r != conjunction) {
+                result = !conjunction;
+            }
+        }
+        evaluated++;
+        if (++samples % reorderAfter == 0) {
+            reorder();
+        }
+        return result;
+    }
+
+    private void reorder() {
+        var rank = new double[terms.length];
+        for (int i = 0; i < terms.length; i++) {
+            double pass = (double) passed[i] / evaluated;
+            double decisive = conjunction ? 1 - pass : pass;
+            // a term which never decides goes last, the cheaper of those first
+            rank[i] = (nanos[i] + 1.0) / Math.max(decisive, 1e-9);
+            passed[i] /= 2;
+            nanos[i] /= 2;
+        }
+        evaluated = Math.max(1, evaluated / 2);
+        var order = IntStream.range(0, terms.length).boxed()
+                .sorted(Comparator.comparingDouble(i -> rank[i]))
+                .mapToInt(Integer::intValue).toArray();
+        @SuppressWarnings("unchecked")
+        Predicate<? super T>[] ordered = new Predicate[terms.length];
+        for (int i = 0; i < order.length; i++) {
+            ordered[i] = terms[order[i]];
+        }
+        plan = new Plan<>(ordered);
+    }
+
+    /**
+     * A conjunction of this predicate and another one; if this is a
+     * conjunction, the other predicate becomes one more of its terms.
+     *
+     * @param other the other predicate
+     * @return an adaptive conjunction
+     */
+    @Override
+    public AdaptivePredicate<T> and(Predicate<? super T> other) {
+        return new AdaptivePredicate<>(true, List.of(this, other), samplePeriod, reorderAfter);
+    }
+
+    /**
+     * A disjunction of this predicate and another one; if this is a
+     * disjunction, the other predicate becomes one more of its terms.
+     *
+     * @param other the other predicate
+     * @return an adaptive disjunction
+     */
+    @Override
+    public AdaptivePredicate<T> or(Predicate<? super T> other) {
+        return new AdaptivePredicate<>(false, List.of(this, other), samplePeriod, reorderAfter);
+    }
+
+    @Override
+    public String toString() {
+        return (conjunction ? "allOf" : "anyOf") + terms();
+    }
+}
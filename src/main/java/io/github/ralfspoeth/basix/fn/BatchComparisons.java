@@ -0,0 +1,527 @@
+package io.github.ralfspoeth.basix.fn;
+
+/**
+ * The batch predicates behind the primitive comparisons of {@link Predicates}.
+ * <p>
+ * Each predicate is a class of its own, such that the loop in
+ * {@code testAll} is compiled for exactly one comparison: without a
+ * virtual call per element, and with the comparison result shifted into
+ * the mask word instead of a data-dependent branch.
+ */
+final class BatchComparisons {
+
+    private BatchComparisons() {
+        // prevent instantiation
+    }
+
+    static void checkMask(int columnLength, long[] mask) {
+        int words = (columnLength + 63) >>> 6;
+        if (mask.length < words) {
+            throw new IllegalArgumentException("mask too short: " + mask.length + " words for " + columnLength + " values");
+        }
+    }
+
+    // x < ref
+    static IntBatchPredicate smallerThan(int ref) {
+        return new IntBatchPredicate() {
+            @Override
+            public boolean test(int x) {
+                return x < ref;
+            }
+
+            @Override
+            public void testAll(int[] column, long[] outMask) {
+                checkMask(column.length, outMask);
+                for (int w = 0, base = 0; base < column.length; w++, base += 64) {
+                    int n = Math.min(64, column.length - base);
+                    long bits = 0;
+                    for (int j = 0; j < n; j++) {
+                        int x = column[base + j];
+                        bits |= x < ref ? 1L << j : 0L;
+                    }
+                    outMask[w] = bits;
+                }
+            }
+        };
+    }
+
+    // x <= ref
+    static IntBatchPredicate smallerOrEqual(int ref) {
+        return new IntBatchPredicate() {
+            @Override
+            public boolean test(int x) {
+                return x <= ref;
+            }
+
+            @Override
+            public void testAll(int[] column, long[] outMask) {
+                checkMask(column.length, outMask);
+                for (int w = 0, base = 0; base < column.length; w++, base += 64) {
+                    int n = Math.min(64, column.length - base);
+                    long bits = 0;
+                    for (int j = 0; j < n; j++) {
+                        int x = column[base + j];
+                        bits |= x <= ref ? 1L << j : 0L;
+                    }
+                    outMask[w] = bits;
+                }
+            }
+        };
+    }
+
+    // x == ref
+    static IntBatchPredicate equal(int ref) {
+        return new IntBatchPredicate() {
+            @Override
+            public boolean test(int x) {
+                return x == ref;
+            }
+
+            @Override
+            public void testAll(int[] column, long[] outMask) {
+                checkMask(column.length, outMask);
+                for (int w = 0, base = 0; base < column.length; w++, base += 64) {
+                    int n = Math.min(64, column.length - base);
+                    long bits = 0;
+                    for (int j = 0; j < n; j++) {
+                        int x = column[base + j];
+                        bits |= x == ref ? 1L << j : 0L;
+                    }
+                    outMask[w] = bits;
+                }
+            }
+        };
+    }
+
+    // x != ref
+    static IntBatchPredicate nonEqual(int ref) {
+        return new IntBatchPredicate() {
+            @Override
+            public boolean test(int x) {
+                return x != ref;
+            }
+
+            @Override
+            public void testAll(int[] column, long[] outMask) {
+                checkMask(column.length, outMask);
+                for (int w = 0, base = 0; base < column.length; w++, base += 64) {
+                    int n = Math.min(64, column.length - base);
+                    long bits = 0;
+                    for (int j = 0; j < n; j++) {
+                        int x = column[base + j];
+                        bits |= x != ref ? 1L << j : 0L;
+                    }
+                    outMask[w] = bits;
+                }
+            }
+        };
+    }
+
+    // x >= ref
+    static IntBatchPredicate greaterOrEqual(int ref) {
+        return new IntBatchPredicate() {
+            @Override
+            public boolean test(int x) {
+                return x >= ref;
+            }
+
+            @Override
+            public void testAll(int[] column, long[] outMask) {
+                checkMask(column.length, outMask);
+                for (int w = 0, base = 0; base < column.length; w++, base += 64) {
+                    int n = Math.min(64, column.length - base);
+                    long bits = 0;
+                    for (int j = 0; j < n; j++) {
+                        int x = column[base + j];
+                        bits |= x >= ref ? 1L << j : 0L;
+                    }
+                    outMask[w] = bits;
+                }
+            }
+        };
+    }
+
+    // x > ref
+    static IntBatchPredicate greaterThan(int ref) {
+        return new IntBatchPredicate() {
+            @Override
+            public boolean test(int x) {
+                return x > ref;
+            }
+
+            @Override
+            public void testAll(int[] column, long[] outMask) {
+                checkMask(column.length, outMask);
+                for (int w = 0, base = 0; base < column.length; w++, base += 64) {
+                    int n = Math.min(64, column.length - base);
+                    long bits = 0;
+                    for (int j = 0; j < n; j++) {
+                        int x = column[base + j];
+                        bits |= x > ref ? 1L << j : 0L;
+                    }
+                    outMask[w] = bits;
+                }
+            }
+        };
+    }
+
+    // x < ref
+    static LongBatchPredicate smallerThan(long ref) {
+        return new LongBatchPredicate() {
+            @Override
+            public boolean test(long x) {
+                return x < ref;
+            }
+
+            @Override
+            public void testAll(long[] column, long[] outMask) {
+                checkMask(column.length, outMask);
+                for (int w = 0, base = 0; base < column.length; w++, base += 64) {
+                    int n = Math.min(64, column.length - base);
+                    long bits = 0;
+                    for (int j = 0; j < n; j++) {
+                        long x = column[base + j];
+                        bits |= x < ref ? 1L << j : 0L;
+                    }
+                    outMask[w] = bits;
+                }
+            }
+        };
+    }
+
+    // x <= ref
+    static LongBatchPredicate smallerOrEqual(long ref) {
+        return new LongBatchPredicate() {
+            @Override
+            public boolean test(long x) {
+                return x <= ref;
+            }
+
+            @Override
+            public void testAll(long[] column, long[] outMask) {
+                checkMask(column.length, outMask);
+                for (int w = 0, base = 0; base < column.length; w++, base += 64) {
+                    int n = Math.min(64, column.length - base);
+                    long bits = 0;
+                    for (int j = 0; j < n; j++) {
+                        long x = column[base + j];
+                        bits |= x <= ref ? 1L << j : 0L;
+                    }
+                    outMask[w] = bits;
+                }
+            }
+        };
+    }
+
+    // x == ref
+    static LongBatchPredicate equal(long ref) {
+        return new LongBatchPredicate() {
+            @Override
+            public boolean test(long x) {
+                return x == ref;
+            }
+
+            @Override
+            public void testAll(long[] column, long[] outMask) {
+                checkMask(column.length, outMask);
+                for (int w = 0, base = 0; base < column.length; w++, base += 64) {
+                    int n = Math.min(64, column.length - base);
+                    long bits = 0;
+                    for (int j = 0; j < n; j++) {
+                        long x = column[base + j];
+                        bits |= x == ref ? 1L << j : 0L;
+                    }
+                    outMask[w] = bits;
+                }
+            }
+        };
+    }
+
+    // x != ref
+    static LongBatchPredicate nonEqual(long ref) {
+        return new LongBatchPredicate() {
+            @Override
+            public boolean test(long x) {
+                return x != ref;
+            }
+
+            @Override
+            public void testAll(long[] column, long[] outMask) {
+                checkMask(column.length, outMask);
+                for (int w = 0, base = 0; base < column.length; w++, base += 64) {
+                    int n = Math.min(64, column.length - base);
+                    long bits = 0;
+                    for (int j = 0; j < n; j++) {
+                        long x = column[base + j];
+                        bits |= x != ref ? 1L << j : 0L;
+                    }
+                    outMask[w] = bits;
+                }
+            }
+        };
+    }
+
+    // x >= ref
+    static LongBatchPredicate greaterOrEqual(long ref) {
+        return new LongBatchPredicate() {
+            @Override
+            public boolean test(long x) {
+                return x >= ref;
+            }
+
+            @Override
+            public void testAll(long[] column, long[] outMask) {
+                checkMask(column.length, outMask);
+                for (int w = 0, base = 0; base < column.length; w++, base += 64) {
+                    int n = Math.min(64, column.length - base);
+                    long bits = 0;
+                    for (int j = 0; j < n; j++) {
+                        long x = column[base + j];
+                        bits |= x >= ref ? 1L << j : 0L;
+                    }
+                    outMask[w] = bits;
+                }
+            }
+        };
+    }
+
+    // x > ref
+    static LongBatchPredicate greaterThan(long ref) {
+        return new LongBatchPredicate() {
+            @Override
+            public boolean test(long x) {
+                return x > ref;
+            }
+
+            @Override
+            public void testAll(long[] column, long[] outMask) {
+                checkMask(column.length, outMask);
+                for (int w = 0, base = 0; base < column.length; w++, base += 64) {
+                    int n = Math.min(64, column.length - base);
+                    long bits = 0;
+                    for (int j = 0; j < n; j++) {
+                        long x = column[base + j];
+                        bits |= x > ref ? 1L << j : 0L;
+                    }
+                    outMask[w] = bits;
+                }
+            }
+        };
+    }
+
+    // x < ref
+    static DoubleBatchPredicate smallerThan(double ref) {
+        return new DoubleBatchPredicate() {
+            @Override
+            public boolean test(double x) {
+                return x < ref;
+            }
+
+            @Override
+            public void testAll(double[] column, long[] outMask) {
+                checkMask(column.length, outMask);
+                for (int w = 0, base = 0; base < column.length; w++, base += 64) {
+                    int n = Math.min(64, column.length - base);
+                    long bits = 0;
+                    for (int j = 0; j < n; j++) {
+                        double x = column[base + j];
+                        bits |= x < ref ? 1L << j : 0L;
+                    }
+                    outMask[w] = bits;
+                }
+            }
+        };
+    }
+
+    // x <= ref
+    static DoubleBatchPredicate smallerOrEqual(double ref) {
+        return new DoubleBatchPredicate() {
+            @Override
+            public boolean test(double x) {
+                return x <= ref;
+            }
+
+            @Override
+            public void testAll(double[] column, long[] outMask) {
+                checkMask(column.length, outMask);
+                for (int w = 0, base = 0; base < column.length; w++, base += 64) {
+                    int n = Math.min(64, column.length - base);
+                    long bits = 0;
+                    for (int j = 0; j < n; j++) {
+                        double x = column[base + j];
+                        bits |= x <= ref ? 1L << j : 0L;
+                    }
+                    outMask[w] = bits;
+                }
+            }
+        };
+    }
+
+    // x == ref
+    static DoubleBatchPredicate equal(double ref) {
+        return new DoubleBatchPredicate() {
+            @Override
+            public boolean test(double x) {
+                return x == ref;
+            }
+
+            @Override
+            public void testAll(double[] column, long[] outMask) {
+                checkMask(column.length, outMask);
+                for (int w = 0, base = 0; base < column.length; w++, base += 64) {
+                    int n = Math.min(64, column.length - base);
+                    long bits = 0;
+                    for (int j = 0; j < n; j++) {
+                        double x = column[base + j];
+                        bits |= x == ref ? 1L << j : 0L;
+                    }
+                    outMask[w] = bits;
+                }
+            }
+        };
+    }
+
+    // x != ref
+    static DoubleBatchPredicate nonEqual(double ref) {
+        return new DoubleBatchPredicate() {
+            @Override
+            public boolean test(double x) {
+                return x != ref;
+            }
+
+            @Override
+            public void testAll(double[] column, long[] outMask) {
+                checkMask(column.length, outMask);
+                for (int w = 0, base = 0; base < column.length; w++, base += 64) {
+                    int n = Math.min(64, column.length - base);
+                    long bits = 0;
+                    for (int j = 0; j < n; j++) {
+                        double x = column[base + j];
+                        bits |= x != ref ? 1L << j : 0L;
+                    }
+                    outMask[w] = bits;
+                }
+            }
+        };
+    }
+
+    // x >= ref
+    static DoubleBatchPredicate greaterOrEqual(double ref) {
+        return new DoubleBatchPredicate() {
+            @Override
+            public boolean test(double x) {
+                return x >= ref;
+            }
+
+            @Override
+            public void testAll(double[] column, long[] outMask) {
+                checkMask(column.length, outMask);
+                for (int w = 0, base = 0; base < column.length; w++, base += 64) {
+                    int n = Math.min(64, column.length - base);
+                    long bits = 0;
+                    for (int j = 0; j < n; j++) {
+                        double x = column[base + j];
+                        bits |= x >= ref ? 1L << j : 0L;
+                    }
+                    outMask[w] = bits;
+                }
+            }
+        };
+    }
+
+    // x > ref
+    static DoubleBatchPredicate greaterThan(double ref) {
+        return new DoubleBatchPredicate() {
+            @Override
+            public boolean test(double x) {
+                return x > ref;
+            }
+
+            @Override
+            public void testAll(double[] column, long[] outMask) {
+                checkMask(column.length, outMask);
+                for (int w = 0, base = 0; base < column.length; w++, base += 64) {
+                    int n = Math.min(64, column.length - base);
+                    long bits = 0;
+                    for (int j = 0; j < n; j++) {
+                        double x = column[base + j];
+                        bits |= x > ref ? 1L << j : 0L;
+                    }
+                    outMask[w] = bits;
+                }
+            }
+        };
+    }
+
+    // lower <= x <= lower + width, where width is unsigned
+    static IntBatchPredicate closedUnsigned(int lower, int width) {
+        return new IntBatchPredicate() {
+            @Override
+            public boolean test(int x) {
+                return Integer.compareUnsigned(x - lower, width) <= 0;
+            }
+
+            @Override
+            public void testAll(int[] column, long[] outMask) {
+                checkMask(column.length, outMask);
+                for (int w = 0, base = 0; base < column.length; w++, base += 64) {
+                    int n = Math.min(64, column.length - base);
+                    long bits = 0;
+                    for (int j = 0; j < n; j++) {
+                        int x = column[base + j];
+                        bits |= Integer.compareUnsigned(x - lower, width) <= 0 ? 1L << j : 0L;
+                    }
+                    outMask[w] = bits;
+                }
+            }
+        };
+    }
+
+    // lower <= x <= lower + width, where width is unsigned
+    static LongBatchPredicate closedUnsigned(long lower, long width) {
+        return new LongBatchPredicate() {
+            @Override
+            public boolean test(long x) {
+                return Long.compareUnsigned(x - lower, width) <= 0;
+            }
+
+            @Override
+            public void testAll(long[] column, long[] outMask) {
+                checkMask(column.length, outMask);
+                for (int w = 0, base = 0; base < column.length; w++, base += 64) {
+                    int n = Math.min(64, column.length - base);
+                    long bits = 0;
+                    for (int j = 0; j < n; j++) {
+                        long x = column[base + j];
+                        bits |= Long.compareUnsigned(x - lower, width) <= 0 ? 1L << j : 0L;
+                    }
+                    outMask[w] = bits;
+                }
+            }
+        };
+    }
+
+    // lower <= x <= upper
+    static DoubleBatchPredicate closed(double lower, double upper) {
+        return new DoubleBatchPredicate() {
+            @Override
+            public boolean test(double x) {
+                return x >= lower & x <= upper;
+            }
+
+            @Override
+            public void testAll(double[] column, long[] outMask) {
+                checkMask(column.length, outMask);
+                for (int w = 0, base = 0; base < column.length; w++, base += 64) {
+                    int n = Math.min(64, column.length - base);
+                    long bits = 0;
+                    for (int j = 0; j < n; j++) {
+                        double x = column[base + j];
+                        bits |= x >= lower & x <= upper ? 1L << j : 0L;
+                    }
+                    outMask[w] = bits;
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,41 @@
+package io.github.ralfspoeth.basix.fn;
+
+/**
+ * Whether the lower and upper bounds of an interval belong to the interval,
+ * as used by {@link Predicates#between(Comparable, Comparable, Bounds)} and
+ * {@link Predicates#inIntervals(java.util.List, java.util.List, Bounds)}.
+ */
+public enum Bounds {
+    /** Both bounds are included: {@code [lower, upper]}. */
+    CLOSED(true, true),
+    /** Neither bound is included: {@code (lower, upper)}. */
+    OPEN(false, false),
+    /** The lower bound is included, the upper is not: {@code [lower, upper)}. */
+    CLOSED_OPEN(true, false),
+    /** The upper bound is included, the lower is not: {@code (lower, upper]}. */
+    OPEN_CLOSED(false, true);
+
+    private final boolean lowerInclusive;
+    private final boolean upperInclusive;
+
+    Bounds(boolean lowerInclusive, boolean upperInclusive) {
+        this.lowerInclusive = lowerInclusive;
+        this.upperInclusive = upperInclusive;
+    }
+
+    /**
+     * Tests whether the lower bound belongs to the interval.
+     * @return {@code true} for {@link #CLOSED} and {@link #CLOSED_OPEN}
+     */
+    public boolean lowerInclusive() {
+        return lowerInclusive;
+    }
+
+    /**
+     * Tests whether the upper bound belongs to the interval.
+     * @return {@code true} for {@link #CLOSED} and {@link #OPEN_CLOSED}
+     */
+    public boolean upperInclusive() {
+        return upperInclusive;
+    }
+}
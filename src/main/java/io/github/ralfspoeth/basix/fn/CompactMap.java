@@ -0,0 +1,140 @@
+package io.github.ralfspoeth.basix.fn;
+
+import io.github.ralfspoeth.basix.internal.HashIndex;
+import org.jspecify.annotations.Nullable;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.SequencedMap;
+import java.util.Set;
+
+/**
+ * Immutable sequenced map backed by two parallel arrays of keys and values
+ * in insertion order and an open-addressing hash index of their positions.
+ * <p>
+ * Compared to a {@link java.util.LinkedHashMap}, there is neither an entry
+ * object per mapping nor the before/after links; lookups cost a hash index
+ * probe and one key comparison on average. Entries are created on the fly
+ * when iterating the {@link #entrySet()} only. Both keys and values may be
+ * {@code null}.
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the values
+ */
+final class CompactMap<K, V> extends AbstractMap<K, V> implements SequencedMap<K, V> {
+
+    private final @Nullable Object[] keys;
+    private final @Nullable Object[] values;
+    // position + 1 of the key in keys, 0 for a free slot
+    private final int[] index;
+    private final int size;
+
+    /**
+     * Creates a map from the first {@code size} elements of the given
+     * arrays which are taken over, not copied.
+     * A key which occurs more than once is mapped to its last value
+     * at the position of its first occurrence.
+     *
+     * @param keys   the keys
+     * @param values the values
+     * @param size   the number of leading elements used from both arrays
+     */
+    CompactMap(@Nullable Object[] keys, @Nullable Object[] values, int size) {
+        this.index = new int[HashIndex.tableLength(size)];
+        int n = 0;
+        for (int p = 0; p < size; p++) {
+            int i = slot(keys, keys[p]);
+            if (index[i] == 0) {
+                keys[n] = keys[p];
+                values[n] = values[p];
+                index[i] = ++n;
+            } else {
+                values[index[i] - 1] = values[p];
+            }
+        }
+        this.keys = n == keys.length ? keys : Arrays.copyOf(keys, n);
+        this.values = n == values.length ? values : Arrays.copyOf(values, n);
+        this.size = n;
+    }
+
+    // the index slot of the given key, or the free slot where it would go
+    private int slot(@Nullable Object[] keys, @Nullable Object key) {
+        int mask = index.length - 1;
+        int i = HashIndex.mix(Objects.hashCode(key)) & mask;
+        for (int p = index[i]; p != 0 && !Objects.equals(keys[p - 1], key); p = index[i]) {
+            i = (i + 1) & mask;
+        }
+        return i;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean containsKey(@Nullable Object key) {
+        return index[slot(keys, key)] != 0;
+    }
+
+    @Override
+    public @Nullable V get(@Nullable Object key) {
+        return getOrDefault(key, null);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public @Nullable V getOrDefault(@Nullable Object key, @Nullable V defaultValue) {
+        int p = index[slot(keys, key)];
+        return p == 0 ? defaultValue : (V) values[p - 1];
+    }
+
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Entry<K, V>> iterator() {
+                return new EntryIterator();
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    @Override
+    public SequencedMap<K, V> reversed() {
+        var rk = new Object[size];
+        var rv = new Object[size];
+        for (int p = 0; p < size; p++) {
+            rk[p] = keys[size - 1 - p];
+            rv[p] = values[size - 1 - p];
+        }
+        return new CompactMap<>(rk, rv, size);
+    }
+
+    private final class EntryIterator implements Iterator<Entry<K, V>> {
+        private int next = 0;
+
+        @Override
+        public boolean hasNext() {
+            return next < size;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Entry<K, V> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            int p = next++;
+            return new SimpleImmutableEntry<>((K) keys[p], (V) values[p]);
+        }
+    }
+}
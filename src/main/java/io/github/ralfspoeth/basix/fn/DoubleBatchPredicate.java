@@ -0,0 +1,55 @@
+package io.github.ralfspoeth.basix.fn;
+
+import java.util.function.DoublePredicate;
+
+/**
+ * A {@link DoublePredicate} which also tests a whole column of {@code double}
+ * values at once, yielding a selection bitmap: bit {@code i % 64} of
+ * {@code mask[i / 64]} is set iff {@code test(column[i])}, a layout which
+ * {@link java.util.BitSet#valueOf(long[])} accepts as is.
+ * {@snippet :
+ * double[] column = {0.1, 0.2, 0.3};
+ * long[] mask = Predicates.greaterThanDouble(0.2).testAll(column);
+ * assert mask[0] == 0b100;
+ * }
+ * The comparison and {@code between} predicates of {@link Predicates} override
+ * {@link #testAll(double[], long[])} with a loop specialized to the comparison,
+ * which the JIT compiler can keep free of data-dependent branches; the
+ * default implementation calls {@link #test(double)} for every element.
+ */
+@FunctionalInterface
+public interface DoubleBatchPredicate extends DoublePredicate {
+
+    /**
+     * Test every element of the column and store the results in the mask.
+     * The bits of the last word beyond the column are cleared, further
+     * words of the mask are left untouched.
+     *
+     * @param column  the values to test
+     * @param outMask the selection bitmap, at least {@code (column.length + 63) / 64} words long
+     * @throws IllegalArgumentException if the mask is too short
+     */
+    default void testAll(double[] column, long[] outMask) {
+        BatchComparisons.checkMask(column.length, outMask);
+        for (int w = 0, base = 0; base < column.length; w++, base += 64) {
+            int n = Math.min(64, column.length - base);
+            long bits = 0;
+            for (int j = 0; j < n; j++) {
+                bits |= test(column[base + j]) ? 1L << j : 0L;
+            }
+            outMask[w] = bits;
+        }
+    }
+
+    /**
+     * Test every element of the column.
+     *
+     * @param column the values to test
+     * @return a new selection bitmap
+     */
+    default long[] testAll(double[] column) {
+        var mask = new long[(column.length + 63) >>> 6];
+        testAll(column, mask);
+        return mask;
+    }
+}
@@ -1,12 +1,17 @@
 package io.github.ralfspoeth.basix.fn;
 
+import io.github.ralfspoeth.basix.coll.IntObjectMap;
+import io.github.ralfspoeth.basix.internal.HashIndex;
 import org.jspecify.annotations.Nullable;
 
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.*;
 import java.util.stream.Collector;
 import java.util.stream.Gatherer;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
@@ -16,10 +21,15 @@ import java.util.stream.StreamSupport;
  * and {@link java.util.stream}.
  * <p>
  * Includes adapters that view a {@link Map} or {@link List} as a
- * {@link Function}, helpers for attaching indices ({@link #indexed(int)})
- * or labels ({@link #labeled(Map)}) to stream elements, the
- * {@link #filterAndCast(Class)} gatherer, and a content-based
- * comparison ({@link #contentsEquals(Collection, Collection)}).
+ * {@link Function}, helpers for attaching indices ({@link #indexed(int)},
+ * {@link #indexing(int)}) or labels ({@link #labeled(Map)}) to stream elements, the
+ * {@link #filterAndCast(Class)}, windowing ({@link #windowFixed(int)},
+ * {@link #windowSliding(int)}), batching ({@link #batch(int, Duration)}),
+ * and deduplicating ({@link #dedupConsecutive()}, {@link #distinct(int)})
+ * gatherers, and a content-based comparison
+ * ({@link #contentsEquals(Collection, Collection)}), optionally in parallel
+ * ({@link #parallelContentsEquals(Collection, Collection)}) or by a
+ * comparator ({@link #contentsEquals(Collection, Collection, Comparator)}).
  * This class cannot be instantiated.
  */
 public class Functions {
@@ -76,15 +86,22 @@ public class Functions {
      * // then
      * assert List.of("two", "three").equals(l.stream().map(of(m, R::x)).toList());
      *}
+     * The function looks up the extracted keys in an immutable snapshot of
+     * the map which is specialized for hot lookups: keys of a single enum type
+     * index an array by their ordinal, {@link Integer} keys from a small range
+     * index a dense array, and all other keys are hashed into a table which
+     * is spread out such that, as a rule, a lookup takes a single probe.
+     * Keys not contained in the map, including {@code null}, yield {@code null}.
      *
-     * @param m         a map
+     * @param m         a map; neither keys nor values may be {@code null}
      * @param extractor a function
      * @param <T>       target type of the function
      * @param <R>       return type of the function
      * @return a function that maps the extracted key to a value
+     * @throws NullPointerException if the map contains {@code null} keys or values
      */
     public static <T, R> Function<@Nullable T, @Nullable R> of(Map<?, R> m, Function<T, ?> extractor) {
-        return extractor.andThen(Map.copyOf(m)::get);
+        return extractor.andThen(Lookup.of(m));
     }
 
     /**
@@ -113,6 +130,10 @@ public class Functions {
      * assert l.stream().map(indexed(1)).toList().equals(r);
      *
      *}
+     * The function shares a single counter among all threads calling it;
+     * in a parallel stream, this is a point of contention, and the indices
+     * follow the order of the calls rather than the encounter order.
+     * Use {@link #indexing(int)} or {@link #indexed(Iterable, int)} instead.
      *
      * @param startWith the first index value
      * @param <T>       the value type wrapped
@@ -124,19 +145,114 @@ public class Functions {
     }
 
     /**
-     * Applies {@link #indexed(int)} to the given array.
+     * A gatherer which turns each element into an {@link Indexed} object
+     * holding its position in the encounter order, offset by {@code startWith}.
+     * {@snippet :
+     * Stream.of("a", "b", "c")
+     *     .parallel()
+     *     .gather(Functions.indexing(1))
+     *     .toList(); // [Indexed(1, "a"), Indexed(2, "b"), Indexed(3, "c")]
+     * }
+     * Unlike {@link #indexed(int)}, the gatherer is sequential and counts
+     * in a plain {@code int} of its own state, so that the indices follow
+     * the encounter order even in a parallel stream; the stages before and
+     * after it still run in parallel.
+     *
+     * @param startWith the first index value
+     * @param <T>       the value type wrapped
+     * @return a gatherer
+     */
+    public static <T> Gatherer<T, ?, Indexed<T>> indexing(int startWith) {
+        class Counter {
+            int next = startWith;
+        }
+        return Gatherer.ofSequential(
+                Counter::new,
+                Gatherer.Integrator.ofGreedy((c, e, d) -> d.push(new Indexed<>(c.next++, e)))
+        );
+    }
+
+    /**
+     * Streams the elements of the given array, or any other {@link Iterable},
+     * as {@link Indexed} values holding their position, offset by
+     * {@code startWith}.
      *
      * @param array     an array or some other {@link Iterable}
      * @param startWith the first index value
      * @param <T>       the type of the values of the array
-     * @return a stream of {@link Indexed} values
+     * @return a sequential stream of {@link Indexed} values
+     * @see #indexed(Iterable, int, boolean) for when the source is bound and
+     * how modifications are detected
      */
     public static <T> Stream<Indexed<T>> indexed(Iterable<T> array, int startWith) {
-        return StreamSupport.stream(array.spliterator(), false).map(indexed(startWith));
+        return indexed(array, startWith, false);
+    }
+
+    /**
+     * Streams the elements of the given array, or any other {@link Iterable},
+     * as {@link Indexed} values holding their position, offset by
+     * {@code startWith}, in a sequential or parallel stream.
+     * The indices are taken from the position within the source rather than
+     * from a shared counter. A {@link RandomAccess} list is split evenly into
+     * ranges of positions, each of an exact size, much like
+     * {@code IntStream.range(0, size).mapToObj(i -> new Indexed<>(startWith + i, list.get(i)))};
+     * every other source is streamed through a spliterator which gives each
+     * split of the source its own contiguous range of indices.
+     * A parallel stream is therefore correct, and free of contention.
+     * <p>
+     * As with the source's own stream, the elements are bound when the
+     * terminal operation starts, not when this method returns. A list which
+     * is structurally modified while the stream is traversed makes it throw
+     * a {@link ConcurrentModificationException} on a best-effort basis; for a
+     * {@code RandomAccess} list the check compares the list's size only, so
+     * changes which keep the size go undetected.
+     *
+     * @param array     an array or some other {@link Iterable}
+     * @param startWith the first index value
+     * @param parallel  whether the stream is parallel
+     * @param <T>       the type of the values of the array
+     * @return a stream of {@link Indexed} values
+     */
+    public static <T> Stream<Indexed<T>> indexed(Iterable<T> array, int startWith, boolean parallel) {
+        if (array instanceof List<T> list && list instanceof RandomAccess) {
+            return StreamSupport.stream(new IndexedRangeSpliterator<>(list::get, list::size, startWith), parallel);
+        }
+        return StreamSupport.stream(new IndexedSpliterator<>(array.spliterator(), startWith), parallel);
+    }
+
+    /**
+     * Streams the elements of the given array as {@link Indexed} values
+     * holding their position, offset by {@code startWith}, in a sequential
+     * or parallel stream which splits evenly into ranges of positions.
+     * {@snippet :
+     * String[] args = {"a", "b", "c"};
+     * indexed(args, 1, false).toList(); // [Indexed(1, "a"), Indexed(2, "b"), Indexed(3, "c")]
+     * }
+     *
+     * @param array     an array
+     * @param startWith the first index value
+     * @param parallel  whether the stream is parallel
+     * @param <T>       the type of the elements of the array
+     * @return a stream of {@link Indexed} values
+     */
+    public static <T> Stream<Indexed<T>> indexed(T[] array, int startWith, boolean parallel) {
+        return StreamSupport.stream(new IndexedRangeSpliterator<>(i -> array[i], () -> array.length, startWith), parallel);
     }
 
     /**
-     * Applies {@link #indexed(int)} with a first index value of 0
+     * Applies {@link #indexed(Object[], int, boolean)} to a sequential stream.
+     *
+     * @param array     an array
+     * @param startWith the first index value
+     * @param <T>       the type of the elements of the array
+     * @return a sequential stream of {@link Indexed} values
+     */
+    public static <T> Stream<Indexed<T>> indexed(T[] array, int startWith) {
+        return indexed(array, startWith, false);
+    }
+
+    /**
+     * Applies {@link #indexed(Iterable, int)} with a first index value of 0
      * to the given array.
      *
      * @see #indexed(Iterable, int)
@@ -145,6 +261,61 @@ public class Functions {
         return indexed(array, 0);
     }
 
+    /**
+     * Performs the given action on each element of the given array, or any
+     * other {@link Iterable}, together with its position offset by
+     * {@code startWith}, in iteration order.
+     * {@snippet :
+     * forEachIndexed(args, 1, (arg, i) -> ps.setString(i, arg));
+     * }
+     * Unlike {@code indexed(array, startWith).forEach(...)}, no
+     * {@link Indexed} record is allocated per element.
+     *
+     * @param array     an array or some other {@link Iterable}
+     * @param startWith the first index value
+     * @param action    the action taking an element and its index
+     * @param <T>       the type of the values of the array
+     */
+    public static <T> void forEachIndexed(Iterable<? extends T> array, int startWith, ObjIntConsumer<? super T> action) {
+        if (array instanceof List<? extends T> list && list instanceof RandomAccess) {
+            for (int i = 0, n = list.size(); i < n; i++) {
+                action.accept(list.get(i), startWith + i);
+            }
+        } else {
+            int i = startWith;
+            for (T t : array) {
+                action.accept(t, i++);
+            }
+        }
+    }
+
+    /**
+     * Applies {@link #forEachIndexed(Iterable, int, ObjIntConsumer)} with a
+     * first index value of 0 to the given array.
+     *
+     * @see #forEachIndexed(Iterable, int, ObjIntConsumer)
+     */
+    public static <T> void forEachIndexed(Iterable<? extends T> array, ObjIntConsumer<? super T> action) {
+        forEachIndexed(array, 0, action);
+    }
+
+    /**
+     * A spliterator over the elements of the given array, or any other
+     * {@link Iterable}, which passes the position of each element, offset
+     * by {@code startWith}, alongside the element.
+     * It splits like the stream returned by {@link #indexed(Iterable, int)},
+     * such that parallel traversals may share the work without sharing a
+     * counter, yet it never wraps an element in an {@link Indexed} record.
+     *
+     * @param array     an array or some other {@link Iterable}
+     * @param startWith the first index value
+     * @param <T>       the type of the values of the array
+     * @return a spliterator yielding elements with their indices
+     */
+    public static <T> IndexSpliterator<T> indexSpliterator(Iterable<? extends T> array, int startWith) {
+        return new IndexSpliterator<>(array.spliterator(), startWith);
+    }
+
     /**
      * Turns a map into a stream of its values labeled with
      * the respective key.
@@ -162,8 +333,26 @@ public class Functions {
      * @return a stream of labeled values
      */
     public static <K, T> Stream<Labeled<K, T>> labeled(Map<K, T> map) {
-        return map.entrySet()
-                .stream()
+        return labeled(map, false);
+    }
+
+    /**
+     * Turns a map into a sequential or parallel stream of its values labeled
+     * with the respective key.
+     * The stream splits like the spliterator of the map's
+     * {@link Map#entrySet() entry set}, such that a parallel stream over a
+     * large {@link HashMap} or {@link java.util.concurrent.ConcurrentHashMap}
+     * fans out across the common pool.
+     *
+     * @param map      a map of key-value pairs
+     * @param parallel whether the stream is parallel
+     * @param <K>      the type of the keys in the map
+     * @param <T>      the type of the values in the map
+     * @return a stream of labeled values
+     * @see #labeled(Map)
+     */
+    public static <K, T> Stream<Labeled<K, T>> labeled(Map<K, T> map, boolean parallel) {
+        return StreamSupport.stream(map.entrySet().spliterator(), parallel)
                 .map(e -> new Labeled<>(e.getKey(), e.getValue()));
     }
 
@@ -188,11 +377,51 @@ public class Functions {
      * @return a stream of labeled values
      */
     public static <L, T> Stream<Labeled<L, T>> labeled(Iterable<T> list, Function<T, L> label) {
+        return labeled(list, label, false);
+    }
+
+    /**
+     * Turns an iterable list of values into a sequential or parallel stream
+     * of {@link Labeled} values where the label is extracted from each value
+     * by applying the given labeling function.
+     * The stream keeps the characteristics of the source's spliterator, such
+     * as {@link Spliterator#SIZED} and {@link Spliterator#SUBSIZED}, and
+     * splits like it; labeling a large list in parallel thus divides the
+     * list evenly among the threads of the common pool.
+     *
+     * @param list     a list or array of values.
+     * @param label    a labeling function
+     * @param parallel whether the stream is parallel
+     * @param <L>      the type of the label
+     * @param <T>      the type of the value
+     * @return a stream of labeled values
+     * @see #labeled(Iterable, Function)
+     */
+    public static <L, T> Stream<Labeled<L, T>> labeled(Iterable<T> list, Function<T, L> label, boolean parallel) {
         return StreamSupport
-                .stream(list.spliterator(), false)
+                .stream(list.spliterator(), parallel)
                 .map(t -> new Labeled<>(label.apply(t), t));
     }
 
+    /**
+     * Performs the given action on each element of the given list, or any
+     * other {@link Iterable}, together with the label extracted from it,
+     * in iteration order; unlike {@code labeled(list, label).forEach(...)},
+     * no {@link Labeled} record is allocated per element.
+     *
+     * @param list   a list or array of values
+     * @param label  a labeling function
+     * @param action the action taking a label and its value
+     * @param <L>    the type of the label
+     * @param <T>    the type of the value
+     */
+    public static <L, T> void forEachLabeled(Iterable<? extends T> list, Function<? super T, ? extends L> label,
+                                             BiConsumer<? super L, ? super T> action) {
+        for (T t : list) {
+            action.accept(label.apply(t), t);
+        }
+    }
+
 
     /**
      * Creates a sequenced map by "zipping" two independent arrays whereby the order
@@ -220,13 +449,101 @@ public class Functions {
      */
     @SuppressWarnings("unchecked")
     public static <K, V> Map<K, V> zipMap(Iterable<K> keys, Iterable<V> values) {
-        Map<K, V> tmp = new LinkedHashMap<>();
+        Map<K, V> tmp = keys instanceof Collection<?> ck && values instanceof Collection<?> cv
+                ? LinkedHashMap.newLinkedHashMap(Math.min(ck.size(), cv.size()))
+                : new LinkedHashMap<>();
         for (Iterator<?> itk = keys.iterator(), itv = values.iterator(); itk.hasNext() && itv.hasNext(); ) {
             tmp.put((K) itk.next(), (V) itv.next());
         }
         return tmp;
     }
 
+    /**
+     * Creates an {@link IntObjectMap} by "zipping" an array of {@code int} keys
+     * and some values, in the same way as {@link #zipMap(Iterable, Iterable)}
+     * but without boxing the keys.
+     * {@snippet :
+     * var m = zipMap(new int[]{1, 2, 3}, List.of("one", "two"));
+     * assert 2 == m.size();
+     * assert "two".equals(m.get(2));
+     *}
+     *
+     * @param keys   array of keys
+     * @param values the values, may contain {@code null} values
+     * @param <V>    the type of the values
+     * @return an insertion-ordered map where the first key is mapped to the
+     * first value and so forth
+     */
+    public static <V> IntObjectMap<V> zipMap(int[] keys, Iterable<? extends V> values) {
+        int expected = values instanceof Collection<?> cv ? Math.min(keys.length, cv.size()) : keys.length;
+        var tmp = new IntObjectMap<V>(expected);
+        var itv = values.iterator();
+        for (int i = 0; i < keys.length && itv.hasNext(); i++) {
+            tmp.put(keys[i], itv.next());
+        }
+        return tmp;
+    }
+
+    /**
+     * Creates an {@link IntObjectMap} by "zipping" a stream of {@code int}
+     * keys and some values; the stream is consumed only as far as there are
+     * values, so it may well be infinite.
+     * {@snippet :
+     * var m = zipMap(IntStream.iterate(1, i -> i + 1), List.of("one", "two"));
+     * assert "two".equals(m.get(2));
+     *}
+     *
+     * @param keys   stream of keys
+     * @param values the values, may contain {@code null} values
+     * @param <V>    the type of the values
+     * @return an insertion-ordered map where the first key is mapped to the
+     * first value and so forth
+     */
+    public static <V> IntObjectMap<V> zipMap(IntStream keys, Iterable<? extends V> values) {
+        var tmp = values instanceof Collection<?> cv ? new IntObjectMap<V>(cv.size()) : new IntObjectMap<V>();
+        var itv = values.iterator();
+        for (var itk = keys.iterator(); itv.hasNext() && itk.hasNext(); ) {
+            tmp.put(itk.nextInt(), itv.next());
+        }
+        return tmp;
+    }
+
+    /**
+     * Creates an immutable sequenced map by "zipping" keys and values
+     * like {@link #zipMap(Iterable, Iterable)}, intended for read-mostly
+     * lookup tables.
+     * The map stores keys and values in two parallel arrays in insertion
+     * order together with a compact hash index of {@code int}s, so it holds
+     * no entry object per mapping as a {@link LinkedHashMap} does.
+     * A key which occurs more than once is mapped to its last value but
+     * retains the position of its first occurrence.
+     * {@snippet :
+     * var m = compactZipMap(List.of("a", "b"), List.of(1, 2));
+     * assert Integer.valueOf(2).equals(m.get("b"));
+     * assert "b".equals(m.lastEntry().getKey());
+     *}
+     *
+     * @param keys   the keys, may contain {@code null} keys
+     * @param values the values, may contain {@code null} values
+     * @param <K>    the type of the keys
+     * @param <V>    the type of the values
+     * @return an unmodifiable sequenced map
+     */
+    public static <K, V> SequencedMap<K, V> compactZipMap(Iterable<? extends K> keys, Iterable<? extends V> values) {
+        var ks = keys instanceof Collection<?> ck ? new Object[ck.size()] : new Object[16];
+        var vs = new Object[ks.length];
+        int n = 0;
+        for (Iterator<?> itk = keys.iterator(), itv = values.iterator(); itk.hasNext() && itv.hasNext(); n++) {
+            if (n == ks.length) {
+                ks = Arrays.copyOf(ks, Math.max(16, n * 2));
+                vs = Arrays.copyOf(vs, ks.length);
+            }
+            ks[n] = itk.next();
+            vs[n] = itv.next();
+        }
+        return new CompactMap<>(ks, vs, n);
+    }
+
     /**
      * A gatherer that combines filtering and casting to some class.
      * It is used to prevent copy/paste errors as in
@@ -251,6 +568,312 @@ public class Functions {
         );
     }
 
+    /**
+     * A gatherer which groups elements into consecutive, non-overlapping
+     * windows of the given size; the last window may be smaller.
+     * {@snippet :
+     * Stream.of(1, 2, 3, 4, 5)
+     *     .gather(Functions.windowFixed(2))
+     *     .toList(); // [[1, 2], [3, 4], [5]]
+     *}
+     * Each window is an unmodifiable list backed by the array the elements
+     * have been collected in; no further copy is made. The gatherer is
+     * sequential since a window's boundaries depend on the position of
+     * its elements in the whole stream.
+     *
+     * @param size the number of elements per window
+     * @param <T>  the element type
+     * @return a gatherer
+     * @throws IllegalArgumentException if {@code size} is less than 1
+     */
+    public static <T> Gatherer<T, ?, List<T>> windowFixed(int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("window size must be positive: " + size);
+        }
+        class Window {
+            Object[] elements = new Object[size];
+            int n;
+
+            boolean push(Gatherer.Downstream<? super List<T>> d) {
+                List<T> full = asList(elements, n);
+                elements = new Object[size];
+                n = 0;
+                return d.push(full);
+            }
+        }
+        return Gatherer.ofSequential(
+                Window::new,
+                Gatherer.Integrator.ofGreedy((w, e, d) -> {
+                    w.elements[w.n++] = e;
+                    return w.n < size || w.push(d);
+                }),
+                (w, d) -> {
+                    if (w.n > 0 && !d.isRejecting()) {
+                        w.push(d);
+                    }
+                }
+        );
+    }
+
+    /**
+     * A gatherer which emits a window of the most recent {@code size}
+     * elements for each element from the {@code size}-th on; if the stream
+     * has fewer elements, a single, smaller window is emitted in the end.
+     * {@snippet :
+     * Stream.of(1, 2, 3, 4)
+     *     .gather(Functions.windowSliding(3))
+     *     .toList(); // [[1, 2, 3], [2, 3, 4]]
+     *}
+     * The elements are kept in a single ring buffer which is reused for
+     * the entire stream; each window emitted is an unmodifiable copy.
+     * The gatherer is sequential.
+     *
+     * @param size the number of elements per window
+     * @param <T>  the element type
+     * @return a gatherer
+     * @throws IllegalArgumentException if {@code size} is less than 1
+     */
+    public static <T> Gatherer<T, ?, List<T>> windowSliding(int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("window size must be positive: " + size);
+        }
+        class Ring {
+            final Object[] elements = new Object[size];
+            long count;
+
+            List<T> window() {
+                int n = (int) Math.min(count, size);
+                var copy = new Object[n];
+                // the oldest element sits at count % size once the ring is full
+                int start = count > size ? (int) (count % size) : 0;
+                System.arraycopy(elements, start, copy, 0, n - start);
+                System.arraycopy(elements, 0, copy, n - start, start);
+                return asList(copy, n);
+            }
+        }
+        return Gatherer.ofSequential(
+                Ring::new,
+                Gatherer.Integrator.ofGreedy((r, e, d) -> {
+                    r.elements[(int) (r.count++ % size)] = e;
+                    return r.count < size || d.push(r.window());
+                }),
+                (r, d) -> {
+                    if (r.count > 0 && r.count < size && !d.isRejecting()) {
+                        d.push(r.window());
+                    }
+                }
+        );
+    }
+
+    /**
+     * A gatherer which groups elements into batches which are emitted as
+     * soon as they contain {@code maxSize} elements, or when an element
+     * arrives more than {@code maxAge} after the first element of the
+     * current batch; that element then starts the next batch.
+     * {@snippet :
+     * events.stream()
+     *     .gather(Functions.batch(500, Duration.ofMillis(50)))
+     *     .forEach(db::insertAll);
+     *}
+     * Batches are only ever emitted when an element arrives or the stream
+     * ends, never by a timer. Each batch is an unmodifiable list.
+     * The gatherer is sequential since a batch's age is measured in the
+     * order in which elements arrive.
+     *
+     * @param maxSize the maximum number of elements per batch
+     * @param maxAge  the maximum age of a batch
+     * @param <T>     the element type
+     * @return a gatherer
+     * @throws IllegalArgumentException if {@code maxSize} is less than 1
+     *                                  or {@code maxAge} is not positive
+     */
+    public static <T> Gatherer<T, ?, List<T>> batch(int maxSize, Duration maxAge) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("batch size must be positive: " + maxSize);
+        }
+        if (maxAge.isNegative() || maxAge.isZero()) {
+            throw new IllegalArgumentException("batch age must be positive: " + maxAge);
+        }
+        final long maxNanos = maxAge.toNanos();
+        class Batch {
+            Object[] elements = new Object[Math.min(maxSize, 16)];
+            int n;
+            long started;
+
+            boolean push(Gatherer.Downstream<? super List<T>> d) {
+                List<T> batch = asList(elements, n);
+                elements = new Object[elements.length];
+                n = 0;
+                return d.push(batch);
+            }
+        }
+        return Gatherer.ofSequential(
+                Batch::new,
+                Gatherer.Integrator.ofGreedy((b, e, d) -> {
+                    if (b.n > 0 && System.nanoTime() - b.started > maxNanos && !b.push(d)) {
+                        return false;
+                    }
+                    if (b.n == 0) {
+                        b.started = System.nanoTime();
+                    } else if (b.n == b.elements.length) {
+                        b.elements = Arrays.copyOf(b.elements, Math.min(maxSize, b.n * 2));
+                    }
+                    b.elements[b.n++] = e;
+                    return b.n < maxSize || b.push(d);
+                }),
+                (b, d) -> {
+                    if (b.n > 0 && !d.isRejecting()) {
+                        b.push(d);
+                    }
+                }
+        );
+    }
+
+    /**
+     * A gatherer which drops elements equal to their immediate predecessor,
+     * such that each run of equal elements is reduced to its first element.
+     * {@snippet :
+     * Stream.of(1, 1, 2, 2, 2, 1, 3, 3)
+     *     .gather(Functions.dedupConsecutive())
+     *     .toList(); // [1, 2, 1, 3]
+     *}
+     * Only the most recent element is kept, so the gatherer runs in constant
+     * space. It is sequential since runs may span any split of the stream.
+     *
+     * @param <T> the element type
+     * @return a gatherer
+     */
+    public static <T> Gatherer<T, ?, T> dedupConsecutive() {
+        class Last {
+            @Nullable Object last;
+            boolean any;
+        }
+        return Gatherer.ofSequential(
+                Last::new,
+                Gatherer.Integrator.ofGreedy((l, e, d) -> {
+                    if (l.any && Objects.equals(l.last, e)) {
+                        return !d.isRejecting();
+                    }
+                    l.any = true;
+                    l.last = e;
+                    return d.push(e);
+                })
+        );
+    }
+
+    /**
+     * A gatherer which emits the first {@code limit} distinct elements of
+     * the stream in encounter order and then stops; it is equivalent to
+     * {@code distinct().limit(limit)} but never remembers more than
+     * {@code limit} elements.
+     * {@snippet :
+     * Stream.of(3, 1, 3, 2, 1, 4)
+     *     .gather(Functions.distinct(3))
+     *     .toList(); // [3, 1, 2]
+     *}
+     * Elements are tracked in an open-addressing hash table which grows
+     * up to the given limit only. In parallel streams each split collects
+     * its own first {@code limit} distinct elements and stops reading
+     * thereafter; the combiner merges adjacent splits in encounter order.
+     * The elements are therefore emitted when the stream ends rather than
+     * as they arrive.
+     *
+     * @param limit the maximum number of elements to emit
+     * @param <T>   the element type
+     * @return a gatherer
+     * @throws IllegalArgumentException if {@code limit} is negative
+     */
+    public static <T> Gatherer<T, ?, T> distinct(int limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("limit must not be negative: " + limit);
+        }
+        return Gatherer.<T, BoundedSet, T>of(
+                () -> new BoundedSet(limit),
+                Gatherer.Integrator.of((s, e, _) -> {
+                    s.add(e);
+                    return !s.isFull();
+                }),
+                (left, right) -> {
+                    for (int i = 0; i < right.size && !left.isFull(); i++) {
+                        left.add(right.elements[i]);
+                    }
+                    return left;
+                },
+                (s, d) -> {
+                    for (int i = 0; i < s.size; i++) {
+                        if (!d.push(s.<T>elementAt(i))) {
+                            return;
+                        }
+                    }
+                }
+        );
+    }
+
+    // the distinct elements added first, up to a fixed limit, in insertion order
+    private static final class BoundedSet {
+        private final int limit;
+        private @Nullable Object[] elements = new Object[0];
+        private int[] table = new int[0]; // 1-based indexes into elements, 0 = free slot
+        private int size;
+
+        BoundedSet(int limit) {
+            this.limit = limit;
+        }
+
+        boolean isFull() {
+            return size == limit;
+        }
+
+        @SuppressWarnings("unchecked")
+        <T> T elementAt(int i) {
+            return (T) elements[i];
+        }
+
+        void add(@Nullable Object e) {
+            if (isFull()) {
+                return;
+            }
+            if (size == elements.length) {
+                grow();
+            }
+            int mask = table.length - 1;
+            for (int i = slot(e, mask); ; i = (i + 1) & mask) {
+                int slot = table[i];
+                if (slot == 0) {
+                    elements[size++] = e;
+                    table[i] = size;
+                    return;
+                } else if (Objects.equals(elements[slot - 1], e)) {
+                    return;
+                }
+            }
+        }
+
+        private static int slot(@Nullable Object e, int mask) {
+            return HashIndex.mix(Objects.hashCode(e)) & mask;
+        }
+
+        private void grow() {
+            int capacity = (int) Math.min(limit, Math.max(8L, 2L * elements.length));
+            elements = Arrays.copyOf(elements, capacity);
+            table = new int[HashIndex.tableLength(capacity)];
+            int mask = table.length - 1;
+            for (int k = 0; k < size; k++) {
+                int i = slot(elements[k], mask);
+                while (table[i] != 0) {
+                    i = (i + 1) & mask;
+                }
+                table[i] = k + 1;
+            }
+        }
+    }
+
+    // an unmodifiable view of the first n elements of the given array
+    @SuppressWarnings("unchecked")
+    private static <T> List<T> asList(Object[] elements, int n) {
+        return Collections.unmodifiableList(Arrays.asList((T[]) (n == elements.length ? elements : Arrays.copyOf(elements, n))));
+    }
+
     /**
      * Create a combiner for generic types of collections as used by
      * {@link Gatherer#combiner()} or {@link Collector#combiner()}.
@@ -294,14 +917,15 @@ public class Functions {
      * of times in {@code a} as in {@code b}.
      * <p>
      * Element identity is determined by {@link Object#equals(Object)} /
-     * {@link Object#hashCode()}, since the implementation uses a {@link HashMap}
-     * internally.
+     * {@link Object#hashCode()}, since the implementation counts the elements
+     * in a hash table internally.
      *
      * @param a   the first collection
      * @param b   the second collection
      * @param <T> the (common) element type
      * @return {@code true} iff {@code a} and {@code b} contain the same elements
      *         with the same multiplicities, ignoring order
+     * @see #parallelContentsEquals(Collection, Collection)
      */
     public static <T> boolean contentsEquals(Collection<? extends T> a, Collection<? extends T> b) {
         if (a.isEmpty()) {
@@ -311,25 +935,207 @@ public class Functions {
         } else if (a.size() != b.size()) {
             return false;
         } else { // two non-empty collections of the same size
-            // High 32 bits: count of occurrences in a; low 32 bits: count of occurrences in b.
-            Map<Object, Long> map = new HashMap<>();
+            // count up the occurrences in a, then down those in b;
+            // with equal sizes, no count dropping below zero means all end at zero
+            var counts = new ObjIntTable(a.size());
             for (T t : a) {
-                map.compute(t, (_, v) -> v == null ? (1L << 32) : v + (1L << 32));
+                counts.increment(t, ObjIntTable.hash(t));
             }
             for (T t : b) {
-                if(!map.containsKey(t)) {
+                if (!counts.decrement(t, ObjIntTable.hash(t))) {
                     return false;
-                } else {
-                    map.put(t, map.get(t) + 1L);
                 }
             }
-            for(Map.Entry<Object, Long> entry : map.entrySet()) {
-                long value = entry.getValue();
-                int _a = (int)(value >>> 32);
-                int _b = (int)(value & 0xFFFFFFFFL);
-                if(_a!=_b) return false;
+            return true;
+        }
+    }
+
+    /**
+     * Compare the elements of two collections by content (multiset equality)
+     * where two elements are considered equal if the given comparator
+     * returns zero for them; neither {@link Object#equals(Object)} nor
+     * {@link Object#hashCode()} is ever called.
+     * <p>
+     * Both collections are copied into arrays which are sorted with
+     * {@link Arrays#parallelSort(Object[], Comparator)}, in parallel for
+     * large arrays, and then compared element by element. This takes
+     * {@code O(n log n)} time and exactly two arrays of {@code n} references
+     * besides the temporary space of the sort, which makes it preferable to
+     * {@link #contentsEquals(Collection, Collection)} if hashing the elements
+     * is expensive but comparing them is cheap.
+     * {@snippet :
+     * var a = List.of("a", "B", "b");
+     * var b = List.of("A", "b", "B");
+     * assert contentsEquals(a, b, String.CASE_INSENSITIVE_ORDER);
+     * }
+     *
+     * @param a          the first collection
+     * @param b          the second collection
+     * @param comparator the comparator defining both the order and the
+     *                   equality of the elements; must accept {@code null}
+     *                   if the collections contain {@code null} elements
+     * @param <T>        the (common) element type
+     * @return {@code true} iff {@code a} and {@code b} contain the same elements
+     *         with the same multiplicities, ignoring order
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> boolean contentsEquals(Collection<? extends T> a, Collection<? extends T> b,
+                                             Comparator<? super T> comparator) {
+        if (a.size() != b.size()) {
+            return false;
+        }
+        T[] xs = (T[]) a.toArray(), ys = (T[]) b.toArray();
+        if (xs.length != ys.length) {
+            return false;
+        }
+        Arrays.parallelSort(xs, comparator);
+        Arrays.parallelSort(ys, comparator);
+        for (int i = 0; i < xs.length; i++) {
+            if (comparator.compare(xs[i], ys[i]) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // below this size, the sequential variant wins
+    private static final int PARALLEL_CONTENTS_THRESHOLD = 1 << 14;
+
+    /**
+     * Same as {@link #parallelContentsEquals(Collection, Collection, boolean)}
+     * without the hash sum pre-check.
+     *
+     * @param a   the first collection
+     * @param b   the second collection
+     * @param <T> the (common) element type
+     * @return {@code true} iff {@code a} and {@code b} contain the same elements
+     *         with the same multiplicities, ignoring order
+     */
+    public static <T> boolean parallelContentsEquals(Collection<? extends T> a, Collection<? extends T> b) {
+        return parallelContentsEquals(a, b, false);
+    }
+
+    /**
+     * Parallel variant of {@link #contentsEquals(Collection, Collection)} for
+     * large collections.
+     * <p>
+     * Both collections are copied into arrays and their elements hashed in
+     * parallel. The elements are then partitioned into shards by hash, such
+     * that equal elements of {@code a} and {@code b} end up in the same shard,
+     * and the shards are compared in parallel in the common fork-join pool,
+     * each with its own primitive counting table. The comparison stops as
+     * soon as one shard differs in size or content.
+     * <p>
+     * With {@code hashSumPrecheck}, the sums of the element hashes of both
+     * collections are compared first; since the sum does not depend on the
+     * order of the elements, differing sums prove the collections differ
+     * without counting a single element. This pays off if unequal inputs
+     * are common; equal sums are inconclusive, and the exact count follows.
+     * <p>
+     * Collections with fewer than 16384 elements are compared sequentially.
+     * The collections must not be modified during the comparison.
+     *
+     * @param a               the first collection
+     * @param b               the second collection
+     * @param hashSumPrecheck whether to compare the sums of the element hashes first
+     * @param <T>             the (common) element type
+     * @return {@code true} iff {@code a} and {@code b} contain the same elements
+     *         with the same multiplicities, ignoring order
+     */
+    public static <T> boolean parallelContentsEquals(Collection<? extends T> a, Collection<? extends T> b,
+                                                     boolean hashSumPrecheck) {
+        if (a.size() != b.size()) {
+            return false;
+        } else if (a.size() < PARALLEL_CONTENTS_THRESHOLD) {
+            return contentsEquals(a, b);
+        }
+        Object[] xs = a.toArray(), ys = b.toArray();
+        if (xs.length != ys.length) {
+            return false;
+        }
+        int[] hx = hashes(xs), hy = hashes(ys);
+        if (hashSumPrecheck && sum(hx) != sum(hy)) {
+            return false;
+        }
+        // a few shards per worker balance the load if the hashes are skewed
+        int shardBits = Integer.SIZE - Integer.numberOfLeadingZeros(ForkJoinPool.getCommonPoolParallelism() * 4 - 1);
+        int shards = 1 << shardBits;
+        var px = Shards.of(hx, shardBits);
+        var py = Shards.of(hy, shardBits);
+        return IntStream.range(0, shards).parallel().allMatch(s -> {
+            int from = px.offsets[s], to = px.offsets[s + 1];
+            if (to - from != py.offsets[s + 1] - py.offsets[s]) {
+                return false;
+            }
+            var counts = new ObjIntTable(to - from);
+            for (int i = from; i < to; i++) {
+                int k = px.indices[i];
+                counts.increment(xs[k], hx[k]);
+            }
+            for (int i = py.offsets[s]; i < py.offsets[s + 1]; i++) {
+                int k = py.indices[i];
+                if (!counts.decrement(ys[k], hy[k])) {
+                    return false;
+                }
             }
             return true;
+        });
+    }
+
+    private static int[] hashes(Object[] elements) {
+        var h = new int[elements.length];
+        Arrays.parallelSetAll(h, i -> ObjIntTable.hash(elements[i]));
+        return h;
+    }
+
+    private static long sum(int[] hashes) {
+        return IntStream.of(hashes).parallel().asLongStream().sum();
+    }
+
+    /**
+     * The indices of a hashed array, sorted by shard; the indices of
+     * shard {@code s} are found from {@code offsets[s]} (inclusive)
+     * to {@code offsets[s + 1]} (exclusive).
+     */
+    private record Shards(int[] offsets, int[] indices) {
+
+        // the shard is taken from the highest bits of the hash,
+        // the counting tables use the lowest
+        static Shards of(int[] hashes, int shardBits) {
+            int shards = 1 << shardBits;
+            int shift = Integer.SIZE - shardBits;
+            int chunks = Math.clamp(hashes.length >> 12, 1, ForkJoinPool.getCommonPoolParallelism() * 4);
+            int chunkSize = (hashes.length + chunks - 1) / chunks;
+            // count per chunk and shard in parallel, ...
+            var counts = new int[chunks][shards];
+            IntStream.range(0, chunks).parallel().forEach(c -> {
+                int[] cc = counts[c];
+                for (int i = c * chunkSize, to = Math.min(hashes.length, i + chunkSize); i < to; i++) {
+                    cc[hashes[i] >>> shift]++;
+                }
+            });
+            // ... turn the counts into the positions at which each chunk
+            // writes the indices of each shard, ...
+            var offsets = new int[shards + 1];
+            int position = 0;
+            for (int s = 0; s < shards; s++) {
+                offsets[s] = position;
+                for (int c = 0; c < chunks; c++) {
+                    int n = counts[c][s];
+                    counts[c][s] = position;
+                    position += n;
+                }
+            }
+            offsets[shards] = position;
+            // ... and scatter the indices in parallel
+            var indices = new int[hashes.length];
+            IntStream.range(0, chunks).parallel().forEach(c -> {
+                int[] next = counts[c];
+                for (int i = c * chunkSize, to = Math.min(hashes.length, i + chunkSize); i < to; i++) {
+                    indices[next[hashes[i] >>> shift]++] = i;
+                }
+            });
+            return new Shards(offsets, indices);
         }
     }
 }
@@ -0,0 +1,134 @@
+package io.github.ralfspoeth.basix.fn;
+
+import org.jspecify.annotations.Nullable;
+
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * A spliterator over the elements of a source which also knows the index of
+ * each element, that is, its position within the source offset by a first
+ * index, and passes it alongside the element instead of wrapping both in an
+ * {@link Indexed} record.
+ * {@snippet :
+ * var s = Functions.indexSpliterator(List.of("a", "b", "c"), 1);
+ * s.forEachRemaining((x, i) -> System.out.println(i + ": " + x)); // 1: a, 2: b, 3: c
+ * }
+ * Every split owns a contiguous range of indices: a {@link #SUBSIZED} source
+ * splits off a prefix of known size, so the index of the remainder advances
+ * by that size; any other source is split by copying a batch of elements
+ * from the front into an array, like
+ * {@link Spliterators#spliteratorUnknownSize(java.util.Iterator, int)} does,
+ * after which the remainder no longer reports an exact size.
+ * Indices thus never depend on the order in which splits are traversed.
+ *
+ * @param <T> the type of the elements of the source
+ */
+public final class IndexSpliterator<T> implements Spliterator<T> {
+
+    // the increment of the batch size, and its maximum
+    private static final int BATCH_UNIT = 1 << 10;
+    private static final int MAX_BATCH = 1 << 25;
+
+    private final Spliterator<? extends T> source;
+    private int index;
+    private int batch;
+
+    IndexSpliterator(Spliterator<? extends T> source, int startWith) {
+        this.source = source;
+        this.index = startWith;
+    }
+
+    /**
+     * The index of the next element.
+     *
+     * @return the index the next element is passed with
+     */
+    public int index() {
+        return index;
+    }
+
+    /**
+     * Performs the given action on the next element and its index, if any.
+     *
+     * @param action the action
+     * @return {@code false} if no elements remain
+     */
+    public boolean tryAdvance(ObjIntConsumer<? super T> action) {
+        return source.tryAdvance(x -> action.accept(x, index++));
+    }
+
+    /**
+     * Performs the given action on each remaining element and its index.
+     *
+     * @param action the action
+     */
+    public void forEachRemaining(ObjIntConsumer<? super T> action) {
+        source.forEachRemaining(x -> action.accept(x, index++));
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super T> action) {
+        if (source.tryAdvance(action)) {
+            index++;
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super T> action) {
+        source.forEachRemaining(x -> {
+            index++;
+            action.accept(x);
+        });
+    }
+
+    @Override
+    public @Nullable IndexSpliterator<T> trySplit() {
+        if (source.hasCharacteristics(SUBSIZED)) {
+            var prefix = source.trySplit();
+            if (prefix == null) {
+                return null;
+            }
+            var split = new IndexSpliterator<T>(prefix, index);
+            index += (int) prefix.getExactSizeIfKnown();
+            return split;
+        }
+        long size = source.estimateSize();
+        if (size <= 1) {
+            return null;
+        }
+        int n = (int) Math.min(Math.min(size, MAX_BATCH), batch + BATCH_UNIT);
+        var buffer = new Object[n];
+        var holder = new Object[1];
+        int j = 0;
+        while (j < n && source.tryAdvance(x -> holder[0] = x)) {
+            buffer[j++] = holder[0];
+        }
+        if (j == 0) {
+            return null;
+        }
+        batch = j;
+        @SuppressWarnings("unchecked")
+        var prefix = (Spliterator<T>) Spliterators.spliterator(buffer, 0, j, source.characteristics() & ORDERED);
+        var split = new IndexSpliterator<T>(prefix, index);
+        index += j;
+        return split;
+    }
+
+    @Override
+    public long estimateSize() {
+        return source.estimateSize();
+    }
+
+    @Override
+    public int characteristics() {
+        // the comparator of a sorted source is not one of T
+        int c = source.characteristics() & ~SORTED;
+        // a source which is not subsized need not count the elements copied from it
+        return batch > 0 ? c & ~SIZED : c;
+    }
+}
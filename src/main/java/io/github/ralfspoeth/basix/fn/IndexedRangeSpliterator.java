@@ -0,0 +1,124 @@
+package io.github.ralfspoeth.basix.fn;
+
+import org.jspecify.annotations.Nullable;
+
+import java.util.ConcurrentModificationException;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+import java.util.function.IntSupplier;
+
+/**
+ * A spliterator over the positions {@code [origin, fence)} of an array or a
+ * {@link java.util.RandomAccess} list which wraps each element in an
+ * {@link Indexed} record holding its position offset by a first index.
+ * <p>
+ * It splits in halves, reports exact sizes for itself and for all of its
+ * splits, and computes each index from the position, such that the
+ * elements may be traversed in parallel without any shared state.
+ * <p>
+ * Like the spliterators of the JDK lists, it binds late: the size is read
+ * on the first traversal, split or size estimate rather than at creation.
+ * It fails fast on a best-effort basis: if the size differs from the bound
+ * size after an element has been traversed, or a position is no longer
+ * valid, a {@link ConcurrentModificationException} is thrown. A change
+ * which keeps the size, such as a {@code set}, goes undetected.
+ *
+ * @param <T> the type of the elements
+ */
+final class IndexedRangeSpliterator<T> implements Spliterator<Indexed<T>> {
+
+    private final IntFunction<? extends T> elements;
+    private final IntSupplier size;
+    private final int offset;
+    private int origin;
+    private int fence; // -1 until bound
+    private int expectedSize;
+
+    /**
+     * Creates a spliterator over the positions {@code [0, size)}, where
+     * {@code size} is read when the spliterator is first used.
+     *
+     * @param elements  the element at a position
+     * @param size      the current number of elements
+     * @param startWith the index of the element at position zero
+     */
+    IndexedRangeSpliterator(IntFunction<? extends T> elements, IntSupplier size, int startWith) {
+        this(elements, size, startWith, 0, -1, -1);
+    }
+
+    private IndexedRangeSpliterator(IntFunction<? extends T> elements, IntSupplier size,
+                                    int offset, int origin, int fence, int expectedSize) {
+        this.elements = elements;
+        this.size = size;
+        this.offset = offset;
+        this.origin = origin;
+        this.fence = fence;
+        this.expectedSize = expectedSize;
+    }
+
+    private int fence() {
+        if (fence < 0) {
+            expectedSize = fence = size.getAsInt();
+        }
+        return fence;
+    }
+
+    private T element(int i) {
+        try {
+            return elements.apply(i);
+        } catch (IndexOutOfBoundsException e) {
+            throw new ConcurrentModificationException(e);
+        }
+    }
+
+    private void checkSize() {
+        if (size.getAsInt() != expectedSize) {
+            throw new ConcurrentModificationException();
+        }
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super Indexed<T>> action) {
+        if (origin < fence()) {
+            int i = origin++;
+            action.accept(new Indexed<>(offset + i, element(i)));
+            checkSize();
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super Indexed<T>> action) {
+        int hi = fence();
+        int i = origin;
+        origin = hi;
+        for (; i < hi; i++) {
+            action.accept(new Indexed<>(offset + i, element(i)));
+        }
+        checkSize();
+    }
+
+    @Override
+    public @Nullable Spliterator<Indexed<T>> trySplit() {
+        int hi = fence();
+        int mid = (origin + hi) >>> 1;
+        if (mid <= origin) {
+            return null;
+        }
+        var prefix = new IndexedRangeSpliterator<T>(elements, size, offset, origin, mid, expectedSize);
+        origin = mid;
+        return prefix;
+    }
+
+    @Override
+    public long estimateSize() {
+        return fence() - origin;
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | SIZED | SUBSIZED | NONNULL;
+    }
+}
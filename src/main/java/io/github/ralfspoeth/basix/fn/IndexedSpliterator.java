@@ -0,0 +1,51 @@
+package io.github.ralfspoeth.basix.fn;
+
+import org.jspecify.annotations.Nullable;
+
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * A spliterator which wraps each element of an {@link IndexSpliterator}
+ * together with its index in an {@link Indexed} record.
+ *
+ * @param <T> the type of the elements of the source
+ */
+final class IndexedSpliterator<T> implements Spliterator<Indexed<T>> {
+
+    private final IndexSpliterator<T> source;
+
+    IndexedSpliterator(Spliterator<? extends T> source, int startWith) {
+        this(new IndexSpliterator<>(source, startWith));
+    }
+
+    private IndexedSpliterator(IndexSpliterator<T> source) {
+        this.source = source;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super Indexed<T>> action) {
+        return source.tryAdvance((x, i) -> action.accept(new Indexed<>(i, x)));
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super Indexed<T>> action) {
+        source.forEachRemaining((x, i) -> action.accept(new Indexed<>(i, x)));
+    }
+
+    @Override
+    public @Nullable Spliterator<Indexed<T>> trySplit() {
+        var prefix = source.trySplit();
+        return prefix == null ? null : new IndexedSpliterator<>(prefix);
+    }
+
+    @Override
+    public long estimateSize() {
+        return source.estimateSize();
+    }
+
+    @Override
+    public int characteristics() {
+        return source.characteristics() & (ORDERED | SIZED | SUBSIZED | IMMUTABLE | CONCURRENT) | NONNULL;
+    }
+}
@@ -0,0 +1,243 @@
+package io.github.ralfspoeth.basix.fn;
+
+import org.jspecify.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.DoublePredicate;
+import java.util.function.IntPredicate;
+import java.util.function.LongPredicate;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+
+/**
+ * Membership tests for single intervals and for unions of intervals.
+ * <p>
+ * Primitive intervals are normalized to closed intervals first: the open
+ * bound of an integral interval moves one step inwards, that of a
+ * {@code double} interval to the adjacent floating-point value. A closed
+ * integral interval {@code [a, b]} then takes a single unsigned comparison
+ * of {@code x - a} with {@code b - a}, since values below {@code a} wrap
+ * around to large unsigned differences.
+ * <p>
+ * A union of intervals is sorted by lower bounds and overlapping or
+ * adjacent intervals are merged, so that the lower bounds are strictly
+ * increasing; a binary search for the last lower bound not greater than
+ * a value then finds the only interval which may contain it.
+ */
+final class Intervals {
+
+    private Intervals() {
+        // prevent instantiation
+    }
+
+    private static void checkOrder(boolean ordered, Object lower, Object upper) {
+        if (!ordered) {
+            throw new IllegalArgumentException("lower bound " + lower + " greater than upper bound " + upper);
+        }
+    }
+
+    private static void checkLengths(int lowers, int uppers) {
+        if (lowers != uppers) {
+            throw new IllegalArgumentException("lower and upper bounds differ in number: " + lowers + " vs " + uppers);
+        }
+    }
+
+    static <T> Predicate<T> between(T lower, T upper, Bounds bounds, Comparator<? super T> c) {
+        checkOrder(c.compare(lower, upper) <= 0, lower, upper);
+        return switch (bounds) {
+            case CLOSED -> x -> c.compare(x, lower) >= 0 && c.compare(x, upper) <= 0;
+            case OPEN -> x -> c.compare(x, lower) > 0 && c.compare(x, upper) < 0;
+            case CLOSED_OPEN -> x -> c.compare(x, lower) >= 0 && c.compare(x, upper) < 0;
+            case OPEN_CLOSED -> x -> c.compare(x, lower) > 0 && c.compare(x, upper) <= 0;
+        };
+    }
+
+    // the closed interval [a, b] as {a, b}, or null if empty
+    private static long @Nullable [] closed(long lower, long upper, Bounds bounds) {
+        if (!bounds.lowerInclusive()) {
+            if (lower == Long.MAX_VALUE) return null;
+            lower++;
+        }
+        if (!bounds.upperInclusive()) {
+            if (upper == Long.MIN_VALUE) return null;
+            upper--;
+        }
+        return lower <= upper ? new long[]{lower, upper} : null;
+    }
+
+    // the closed interval [a, b] as {a, b}, or null if empty
+    private static double @Nullable [] closed(double lower, double upper, Bounds bounds) {
+        checkOrder(lower <= upper, lower, upper);
+        // adding 0.0 turns -0.0 into 0.0, which Arrays.binarySearch considers greater
+        double a = (bounds.lowerInclusive() ? lower : Math.nextUp(lower)) + 0.0;
+        double b = (bounds.upperInclusive() ? upper : Math.nextDown(upper)) + 0.0;
+        return a <= b ? new double[]{a, b} : null;
+    }
+
+    static IntBatchPredicate betweenInt(int lower, int upper, Bounds bounds) {
+        checkOrder(lower <= upper, lower, upper);
+        var ab = closed(lower, upper, bounds);
+        if (ab == null) {
+            return _ -> false;
+        }
+        return BatchComparisons.closedUnsigned((int) ab[0], (int) (ab[1] - ab[0]));
+    }
+
+    static LongBatchPredicate betweenLong(long lower, long upper, Bounds bounds) {
+        checkOrder(lower <= upper, lower, upper);
+        var ab = closed(lower, upper, bounds);
+        if (ab == null) {
+            return _ -> false;
+        }
+        return BatchComparisons.closedUnsigned(ab[0], ab[1] - ab[0]);
+    }
+
+    static DoubleBatchPredicate betweenDouble(double lower, double upper, Bounds bounds) {
+        var ab = closed(lower, upper, bounds);
+        if (ab == null) {
+            return _ -> false;
+        }
+        return BatchComparisons.closed(ab[0], ab[1]);
+    }
+
+    // the indices of the given lower bounds in ascending order
+    private static int[] order(int n, Comparator<Integer> byLower) {
+        return IntStream.range(0, n).boxed().sorted(byLower).mapToInt(Integer::intValue).toArray();
+    }
+
+    static IntPredicate inIntervalsInt(int[] lowers, int[] uppers, Bounds bounds) {
+        checkLengths(lowers.length, uppers.length);
+        var longLowers = new long[lowers.length];
+        var longUppers = new long[uppers.length];
+        for (int i = 0; i < lowers.length; i++) {
+            checkOrder(lowers[i] <= uppers[i], lowers[i], uppers[i]);
+            longLowers[i] = lowers[i];
+            longUppers[i] = uppers[i];
+        }
+        var merged = mergeClosed(longLowers, longUppers, bounds);
+        var starts = Arrays.stream(merged[0]).mapToInt(Math::toIntExact).toArray();
+        var ends = Arrays.stream(merged[1]).mapToInt(Math::toIntExact).toArray();
+        return x -> {
+            int i = Arrays.binarySearch(starts, x);
+            if (i >= 0) {
+                return true;
+            }
+            i = -i - 2;
+            return i >= 0 && x <= ends[i];
+        };
+    }
+
+    static LongPredicate inIntervalsLong(long[] lowers, long[] uppers, Bounds bounds) {
+        checkLengths(lowers.length, uppers.length);
+        for (int i = 0; i < lowers.length; i++) {
+            checkOrder(lowers[i] <= uppers[i], lowers[i], uppers[i]);
+        }
+        var merged = mergeClosed(lowers, uppers, bounds);
+        var starts = merged[0];
+        var ends = merged[1];
+        return x -> {
+            int i = Arrays.binarySearch(starts, x);
+            if (i >= 0) {
+                return true;
+            }
+            i = -i - 2;
+            return i >= 0 && x <= ends[i];
+        };
+    }
+
+    // the starts and ends of the merged, closed, non-empty intervals
+    private static long[][] mergeClosed(long[] lowers, long[] uppers, Bounds bounds) {
+        var starts = new long[lowers.length];
+        var ends = new long[lowers.length];
+        int n = 0;
+        for (int i : order(lowers.length, Comparator.comparingLong(i -> lowers[i]))) {
+            var ab = closed(lowers[i], uppers[i], bounds);
+            if (ab == null) {
+                continue;
+            }
+            // adjacent if the next start is at most one step beyond the current end
+            if (n > 0 && (ends[n - 1] == Long.MAX_VALUE || ab[0] <= ends[n - 1] + 1)) {
+                ends[n - 1] = Math.max(ends[n - 1], ab[1]);
+            } else {
+                starts[n] = ab[0];
+                ends[n++] = ab[1];
+            }
+        }
+        return new long[][]{Arrays.copyOf(starts, n), Arrays.copyOf(ends, n)};
+    }
+
+    static DoublePredicate inIntervalsDouble(double[] lowers, double[] uppers, Bounds bounds) {
+        checkLengths(lowers.length, uppers.length);
+        var starts = new double[lowers.length];
+        var ends = new double[lowers.length];
+        int n = 0;
+        for (int i : order(lowers.length, Comparator.comparingDouble(i -> lowers[i]))) {
+            var ab = closed(lowers[i], uppers[i], bounds);
+            if (ab == null) {
+                continue;
+            }
+            if (n > 0 && ab[0] <= Math.nextUp(ends[n - 1])) {
+                ends[n - 1] = Math.max(ends[n - 1], ab[1]);
+            } else {
+                starts[n] = ab[0];
+                ends[n++] = ab[1];
+            }
+        }
+        var s = Arrays.copyOf(starts, n);
+        var e = Arrays.copyOf(ends, n);
+        return x -> {
+            int i = Arrays.binarySearch(s, x + 0.0);
+            if (i >= 0) {
+                return true;
+            }
+            i = -i - 2;
+            return i >= 0 && x <= e[i];
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T> Predicate<T> inIntervals(List<? extends T> lowers, List<? extends T> uppers,
+                                        Bounds bounds, Comparator<? super T> c) {
+        checkLengths(lowers.size(), uppers.size());
+        var ls = lowers.toArray();
+        var us = uppers.toArray();
+        var starts = new Object[ls.length];
+        var ends = new Object[ls.length];
+        int n = 0;
+        for (int i : order(ls.length, (i, j) -> c.compare((T) ls[i], (T) ls[j]))) {
+            T lower = (T) ls[i], upper = (T) us[i];
+            int cmp = c.compare(lower, upper);
+            checkOrder(cmp <= 0, lower, upper);
+            if (cmp == 0 && bounds != Bounds.CLOSED) {
+                continue;
+            }
+            // a shared bound belongs to either interval unless both are open
+            int touch = n == 0 ? 1 : c.compare(lower, (T) ends[n - 1]);
+            if (touch < 0 || touch == 0 && bounds != Bounds.OPEN) {
+                if (c.compare(upper, (T) ends[n - 1]) > 0) {
+                    ends[n - 1] = upper;
+                }
+            } else {
+                starts[n] = lower;
+                ends[n++] = upper;
+            }
+        }
+        var s = (T[]) Arrays.copyOf(starts, n);
+        var e = (T[]) Arrays.copyOf(ends, n);
+        boolean lowerInclusive = bounds.lowerInclusive(), upperInclusive = bounds.upperInclusive();
+        return x -> {
+            int i = Arrays.binarySearch(s, x, c);
+            if (i >= 0) {
+                return lowerInclusive;
+            }
+            i = -i - 2;
+            if (i < 0) {
+                return false;
+            }
+            int cmp = c.compare(x, e[i]);
+            return cmp < 0 || cmp == 0 && upperInclusive;
+        };
+    }
+}
@@ -0,0 +1,101 @@
+package io.github.ralfspoeth.basix.fn;
+
+import io.github.ralfspoeth.basix.internal.HashIndex;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing hash table which numbers distinct labels densely, in
+ * the order of their first occurrence, such that per-label state can be
+ * kept in plain arrays indexed by that number instead of in map entries.
+ * <p>
+ * The table starts out presized for the expected number of labels and
+ * doubles whenever more than half of its slots are occupied. Labels must
+ * not be {@code null}.
+ *
+ * @param <L> the type of the labels
+ */
+final class LabelTable<L> {
+
+    private Object[] slots;
+    // the id plus one of the label in each slot, zero for an empty slot
+    private int[] ids;
+    private Object[] labels;
+    private int size;
+
+    /**
+     * Creates a table for about the given number of distinct labels.
+     *
+     * @param expectedLabels the expected number of distinct labels
+     */
+    LabelTable(int expectedLabels) {
+        int capacity = HashIndex.tableLength(expectedLabels);
+        this.slots = new Object[capacity];
+        this.ids = new int[capacity];
+        this.labels = new Object[Math.max(expectedLabels, 1)];
+    }
+
+    /**
+     * The number of distinct labels.
+     *
+     * @return the number of labels, also the id of the next new label
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * The label with the given id.
+     *
+     * @param id an id less than {@link #size()}
+     * @return the label
+     */
+    @SuppressWarnings("unchecked")
+    L label(int id) {
+        return (L) labels[id];
+    }
+
+    /**
+     * The id of the given label, which is {@link #size()} for a new label.
+     *
+     * @param label the label
+     * @return the id of the label
+     */
+    int id(L label) {
+        int mask = slots.length - 1;
+        int i = HashIndex.mix(label.hashCode()) & mask;
+        for (Object s = slots[i]; s != null; s = slots[i]) {
+            if (s == label || s.equals(label)) {
+                return ids[i] - 1;
+            }
+            i = (i + 1) & mask;
+        }
+        int id = size++;
+        slots[i] = label;
+        ids[i] = id + 1;
+        if (id == labels.length) {
+            labels = Arrays.copyOf(labels, 2 * id);
+        }
+        labels[id] = label;
+        if (2 * size > slots.length) {
+            rehash();
+        }
+        return id;
+    }
+
+    private void rehash() {
+        var newSlots = new Object[HashIndex.tableLength(size)];
+        var newIds = new int[newSlots.length];
+        int mask = newSlots.length - 1;
+        for (int id = 0; id < size; id++) {
+            int i = HashIndex.mix(labels[id].hashCode()) & mask;
+            while (newSlots[i] != null) {
+                i = (i + 1) & mask;
+            }
+            newSlots[i] = labels[id];
+            newIds[i] = id + 1;
+        }
+        slots = newSlots;
+        ids = newIds;
+    }
+}
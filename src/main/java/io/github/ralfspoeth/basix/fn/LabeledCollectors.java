@@ -0,0 +1,288 @@
+package io.github.ralfspoeth.basix.fn;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.stream.Collector;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Collectors which group elements by a label, either one extracted from
+ * each element or that of a stream of {@link Labeled} values, and which
+ * replace {@code groupingBy} with a downstream collector where it matters:
+ * collecting each group into an array ({@link #groupingToArrays}), counting
+ * the elements per label ({@link #counting}), or reducing them per label
+ * ({@link #reducing}).
+ * {@snippet :
+ * record Trade(String currency, long amount) {}
+ * Map<String, Long> tradesPerCurrency = trades.stream()
+ *     .collect(LabeledCollectors.counting(Trade::currency));
+ * }
+ * Each distinct label is numbered once in an open-addressing table, and the
+ * state of its group is kept in plain arrays indexed by that number: a
+ * {@code long} count, the accumulated value, or an array of elements which
+ * doubles when full. Neither a map entry nor a boxed count is created per
+ * element, and the result map is only built, presized, once all elements
+ * are accumulated.
+ * <p>
+ * In a parallel stream every thread accumulates into a table of its own,
+ * and the tables are merged label by label, so the threads never contend
+ * on a shared table.
+ * Labels must not be {@code null}; the result maps are mutable
+ * {@link HashMap HashMaps}.
+ */
+public class LabeledCollectors {
+
+    // the expected number of labels of a single table
+    private static final int EXPECTED_LABELS = 16;
+
+    private LabeledCollectors() {
+        // prevent instantiation
+    }
+
+    private static <E, L> L labelOf(Function<? super E, ? extends L> label, E e) {
+        return requireNonNull(label.apply(e), "element cannot be mapped to a null label");
+    }
+
+    /**
+     * A collector which collects the elements into an array per label.
+     * {@snippet :
+     * Map<Integer, String[]> byLength = Stream.of("a", "bb", "c")
+     *     .collect(LabeledCollectors.groupingToArrays(String::length, String[]::new));
+     * // {1=[a, c], 2=[bb]}
+     * }
+     *
+     * @param label     the labeling function; it must not return {@code null}
+     * @param generator creates an array of the given length
+     * @param <T>       the type of the elements
+     * @param <L>       the type of the labels
+     * @return a collector of arrays in encounter order by label
+     */
+    public static <T, L> Collector<T, ?, Map<L, T[]>> groupingToArrays(
+            Function<? super T, ? extends L> label, IntFunction<T[]> generator) {
+        return groupingToArrays(label, Function.identity(), generator);
+    }
+
+    /**
+     * A collector which collects the values of {@link Labeled} elements
+     * into an array per label.
+     *
+     * @param generator creates an array of the given length
+     * @param <L>       the type of the labels
+     * @param <T>       the type of the values
+     * @return a collector of arrays in encounter order by label
+     * @see #groupingToArrays(Function, IntFunction)
+     */
+    public static <L, T> Collector<Labeled<L, T>, ?, Map<L, T[]>> groupingToArrays(IntFunction<T[]> generator) {
+        return groupingToArrays(Labeled::label, Labeled::value, generator);
+    }
+
+    private static <E, L, T> Collector<E, ?, Map<L, T[]>> groupingToArrays(
+            Function<? super E, ? extends L> label, Function<? super E, ? extends T> value,
+            IntFunction<T[]> generator) {
+        class Groups {
+            final LabelTable<L> table = new LabelTable<>(EXPECTED_LABELS);
+            Object[][] elements = new Object[EXPECTED_LABELS][];
+            int[] sizes = new int[EXPECTED_LABELS];
+
+            // the id of the label, with room for its group
+            int id(L l) {
+                int id = table.id(l);
+                if (id == elements.length) {
+                    elements = Arrays.copyOf(elements, 2 * id);
+                    sizes = Arrays.copyOf(sizes, 2 * id);
+                }
+                return id;
+            }
+
+            void add(L l, Object t) {
+                int id = id(l);
+                var group = elements[id];
+                int n = sizes[id];
+                if (group == null) {
+                    group = elements[id] = new Object[4];
+                } else if (n == group.length) {
+                    group = elements[id] = Arrays.copyOf(group, 2 * n);
+                }
+                group[n] = t;
+                sizes[id] = n + 1;
+            }
+
+            Groups merge(Groups other) {
+                for (int j = 0; j < other.table.size(); j++) {
+                    int id = id(other.table.label(j));
+                    int n = sizes[id], m = other.sizes[j];
+                    if (n == 0) {
+                        elements[id] = other.elements[j];
+                    } else {
+                        var group = elements[id];
+                        if (n + m > group.length) {
+                            group = elements[id] = Arrays.copyOf(group, Math.max(2 * n, n + m));
+                        }
+                        System.arraycopy(other.elements[j], 0, group, n, m);
+                    }
+                    sizes[id] = n + m;
+                }
+                return this;
+            }
+
+            Map<L, T[]> finish() {
+                Map<L, T[]> result = HashMap.newHashMap(table.size());
+                for (int id = 0; id < table.size(); id++) {
+                    var array = generator.apply(sizes[id]);
+                    System.arraycopy(elements[id], 0, array, 0, sizes[id]);
+                    result.put(table.label(id), array);
+                }
+                return result;
+            }
+        }
+        return Collector.of(
+                Groups::new,
+                (g, e) -> g.add(labelOf(label, e), value.apply(e)),
+                Groups::merge,
+                Groups::finish
+        );
+    }
+
+    /**
+     * A collector which counts the elements per label.
+     * {@snippet :
+     * Map<Integer, Long> counts = Stream.of("a", "bb", "c")
+     *     .collect(LabeledCollectors.counting(String::length));
+     * // {1=2, 2=1}
+     * }
+     *
+     * @param label the labeling function; it must not return {@code null}
+     * @param <T>   the type of the elements
+     * @param <L>   the type of the labels
+     * @return a collector of the number of elements by label
+     */
+    public static <T, L> Collector<T, ?, Map<L, Long>> counting(Function<? super T, ? extends L> label) {
+        class Counts {
+            final LabelTable<L> table = new LabelTable<>(EXPECTED_LABELS);
+            long[] counts = new long[EXPECTED_LABELS];
+
+            void add(L l, long n) {
+                int id = table.id(l);
+                if (id == counts.length) {
+                    counts = Arrays.copyOf(counts, 2 * id);
+                }
+                counts[id] += n;
+            }
+
+            Counts merge(Counts other) {
+                for (int id = 0; id < other.table.size(); id++) {
+                    add(other.table.label(id), other.counts[id]);
+                }
+                return this;
+            }
+
+            Map<L, Long> finish() {
+                Map<L, Long> result = HashMap.newHashMap(table.size());
+                for (int id = 0; id < table.size(); id++) {
+                    result.put(table.label(id), counts[id]);
+                }
+                return result;
+            }
+        }
+        return Collector.of(
+                Counts::new,
+                (c, t) -> c.add(labelOf(label, t), 1),
+                Counts::merge,
+                Counts::finish
+        );
+    }
+
+    /**
+     * A collector which counts the {@link Labeled} elements per label.
+     *
+     * @param <L> the type of the labels
+     * @return a collector of the number of elements by label
+     * @see #counting(Function)
+     */
+    public static <L> Collector<Labeled<L, ?>, ?, Map<L, Long>> counting() {
+        return counting(Labeled::label);
+    }
+
+    /**
+     * A collector which reduces the elements per label with the given
+     * operator, in encounter order; a label with a single element maps to
+     * that element.
+     * {@snippet :
+     * record Trade(String currency, long amount) {}
+     * Map<String, Trade> largest = trades.stream()
+     *     .collect(LabeledCollectors.reducing(Trade::currency,
+     *             BinaryOperator.maxBy(Comparator.comparingLong(Trade::amount))));
+     * }
+     *
+     * @param label the labeling function; it must not return {@code null}
+     * @param op    an associative operator
+     * @param <T>   the type of the elements
+     * @param <L>   the type of the labels
+     * @return a collector of the reduced elements by label
+     */
+    public static <T, L> Collector<T, ?, Map<L, T>> reducing(
+            Function<? super T, ? extends L> label, BinaryOperator<T> op) {
+        return reducing(label, Function.identity(), op);
+    }
+
+    /**
+     * A collector which reduces the values of {@link Labeled} elements per
+     * label with the given operator.
+     *
+     * @param op  an associative operator
+     * @param <L> the type of the labels
+     * @param <T> the type of the values
+     * @return a collector of the reduced values by label
+     * @see #reducing(Function, BinaryOperator)
+     */
+    public static <L, T> Collector<Labeled<L, T>, ?, Map<L, T>> reducing(BinaryOperator<T> op) {
+        return reducing(Labeled::label, Labeled::value, op);
+    }
+
+    private static <E, L, T> Collector<E, ?, Map<L, T>> reducing(
+            Function<? super E, ? extends L> label, Function<? super E, ? extends T> value,
+            BinaryOperator<T> op) {
+        class Reductions {
+            final LabelTable<L> table = new LabelTable<>(EXPECTED_LABELS);
+            Object[] values = new Object[EXPECTED_LABELS];
+
+            @SuppressWarnings("unchecked")
+            void add(L l, T t) {
+                int size = table.size();
+                int id = table.id(l);
+                if (id == values.length) {
+                    values = Arrays.copyOf(values, 2 * id);
+                }
+                values[id] = id == size ? t : op.apply((T) values[id], t);
+            }
+
+            @SuppressWarnings("unchecked")
+            Reductions merge(Reductions other) {
+                for (int id = 0; id < other.table.size(); id++) {
+                    add(other.table.label(id), (T) other.values[id]);
+                }
+                return this;
+            }
+
+            @SuppressWarnings("unchecked")
+            Map<L, T> finish() {
+                Map<L, T> result = HashMap.newHashMap(table.size());
+                for (int id = 0; id < table.size(); id++) {
+                    result.put(table.label(id), (T) values[id]);
+                }
+                return result;
+            }
+        }
+        return Collector.of(
+                Reductions::new,
+                (r, e) -> r.add(labelOf(label, e), value.apply(e)),
+                Reductions::merge,
+                Reductions::finish
+        );
+    }
+}
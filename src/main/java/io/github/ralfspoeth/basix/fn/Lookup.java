@@ -0,0 +1,183 @@
+package io.github.ralfspoeth.basix.fn;
+
+import io.github.ralfspoeth.basix.internal.HashIndex;
+import org.jspecify.annotations.Nullable;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Immutable snapshots of maps as lookup functions, specialized by the
+ * kind of keys:
+ * <ul>
+ *     <li>keys of a single enum type index an array by their ordinal;</li>
+ *     <li>{@link Integer} keys from a small range index a dense array
+ *     by their offset from the smallest key;</li>
+ *     <li>all other keys are hashed into a table of keys and values;
+ *     for small maps, the table is enlarged up to eight-fold until no two
+ *     keys collide,
+ *     such that a lookup is a single probe and one {@code equals} call,
+ *     with linear probing as the fallback.</li>
+ * </ul>
+ * Since the values are never {@code null}, {@code null} stands for
+ * an absent key; a {@code null} key is never mapped.
+ */
+final class Lookup {
+
+    // a dense array may be up to this many times larger than the map
+    private static final int DENSITY = 4;
+
+    // dense arrays of up to this length are always fine
+    private static final int SMALL_RANGE = 64;
+
+    // a collision-free table may be up to this many times larger than a probing one
+    private static final int MAX_SPREAD = 8;
+
+    // beyond this size, a collision-free table is too unlikely to be worth trying
+    private static final int PERFECT_LIMIT = 256;
+
+    private Lookup() {
+        // prevent instantiation
+    }
+
+    /**
+     * A function which looks up its argument in an immutable snapshot
+     * of the given map.
+     *
+     * @param m   the map, must neither contain {@code null} keys nor values
+     * @param <R> the type of the values
+     * @return the lookup function
+     * @throws NullPointerException if the map contains {@code null} keys or values
+     */
+    static <R> Function<@Nullable Object, @Nullable R> of(Map<?, R> m) {
+        var copy = Map.copyOf(m);
+        if (copy.isEmpty()) {
+            return _ -> null;
+        }
+        var enumLookup = EnumLookup.of(copy);
+        if (enumLookup != null) {
+            return enumLookup;
+        }
+        var denseLookup = DenseIntLookup.of(copy);
+        if (denseLookup != null) {
+            return denseLookup;
+        }
+        return HashLookup.of(copy);
+    }
+
+    private static int hash(Object o) {
+        return HashIndex.mix(o.hashCode());
+    }
+
+    private record EnumLookup<R>(Class<?> type, @Nullable Object[] values)
+            implements Function<@Nullable Object, @Nullable R> {
+
+        static <R> @Nullable EnumLookup<R> of(Map<?, R> m) {
+            Class<?> type = null;
+            for (var k : m.keySet()) {
+                if (!(k instanceof Enum<?> e) || type != null && e.getDeclaringClass() != type) {
+                    return null;
+                }
+                type = e.getDeclaringClass();
+            }
+            var values = new Object[Objects.requireNonNull(type).getEnumConstants().length];
+            m.forEach((k, v) -> values[((Enum<?>) k).ordinal()] = v);
+            return new EnumLookup<>(type, values);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public @Nullable R apply(@Nullable Object o) {
+            return o instanceof Enum<?> e && e.getDeclaringClass() == type ? (R) values[e.ordinal()] : null;
+        }
+    }
+
+    private record DenseIntLookup<R>(int min, @Nullable Object[] values)
+            implements Function<@Nullable Object, @Nullable R> {
+
+        static <R> @Nullable DenseIntLookup<R> of(Map<?, R> m) {
+            int min = Integer.MAX_VALUE, max = Integer.MIN_VALUE;
+            for (var k : m.keySet()) {
+                if (!(k instanceof Integer i)) {
+                    return null;
+                }
+                min = Math.min(min, i);
+                max = Math.max(max, i);
+            }
+            long range = (long) max - min + 1;
+            if (range > Math.max(SMALL_RANGE, (long) DENSITY * m.size())) {
+                return null;
+            }
+            var values = new Object[(int) range];
+            int offset = min;
+            m.forEach((k, v) -> values[(Integer) k - offset] = v);
+            return new DenseIntLookup<>(min, values);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public @Nullable R apply(@Nullable Object o) {
+            if (o instanceof Integer i) {
+                // wraps around to a large unsigned value below min
+                int idx = i - min;
+                return Integer.compareUnsigned(idx, values.length) < 0 ? (R) values[idx] : null;
+            }
+            return null;
+        }
+    }
+
+    private record HashLookup<R>(@Nullable Object[] keys, @Nullable Object[] values, boolean perfect)
+            implements Function<@Nullable Object, @Nullable R> {
+
+        static <R> HashLookup<R> of(Map<?, R> m) {
+            int capacity = HashIndex.tableLength(m.size());
+            for (int c = capacity; m.size() <= PERFECT_LIMIT && c <= capacity * MAX_SPREAD; c <<= 1) {
+                var lookup = fill(m, c, false);
+                if (lookup != null) {
+                    return lookup;
+                }
+            }
+            return Objects.requireNonNull(fill(m, capacity, true));
+        }
+
+        // null if not probing and two keys collide
+        private static <R> @Nullable HashLookup<R> fill(Map<?, R> m, int capacity, boolean probing) {
+            var keys = new Object[capacity];
+            var values = new Object[capacity];
+            int mask = capacity - 1;
+            for (var e : m.entrySet()) {
+                int i = hash(e.getKey()) & mask;
+                while (keys[i] != null) {
+                    if (!probing) {
+                        return null;
+                    }
+                    i = (i + 1) & mask;
+                }
+                keys[i] = e.getKey();
+                values[i] = e.getValue();
+            }
+            return new HashLookup<>(keys, values, !probing);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public @Nullable R apply(@Nullable Object o) {
+            if (o == null) {
+                return null;
+            }
+            int mask = keys.length - 1;
+            int i = hash(o) & mask;
+            if (perfect) {
+                return o.equals(keys[i]) ? (R) values[i] : null;
+            }
+            for (Object k = keys[i]; k != null; k = keys[i]) {
+                if (o.equals(k)) {
+                    return (R) values[i];
+                }
+                i = (i + 1) & mask;
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package io.github.ralfspoeth.basix.fn;
+
+import io.github.ralfspoeth.basix.internal.HashIndex;
+import org.jspecify.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.IntPredicate;
+import java.util.function.LongPredicate;
+import java.util.function.Predicate;
+
+/**
+ * Membership tests against immutable snapshots of sets of values,
+ * specialized by the kind of values:
+ * <ul>
+ *     <li>{@code int} and {@code long} values from a dense range are
+ *     bits in a {@code long[]} bitmap, offset by the smallest value;</li>
+ *     <li>enum constants of a single type are bits of their ordinals;</li>
+ *     <li>all other values are hashed into an open-addressing table.</li>
+ * </ul>
+ * Primitive tables need no sentinel outside the domain: one of the values
+ * fills all empty slots, so that probing stops at the first slot holding
+ * either the value looked for or that member.
+ */
+final class Membership {
+
+    // a bitmap may have up to this many bits per value
+    private static final int BITS_PER_VALUE = 64;
+
+    // bitmaps of up to this many bits are always fine
+    private static final int SMALL_RANGE = 4096;
+
+    // the classes of the sets returned by Set.of and Set.copyOf, some may coincide
+    private static final Set<Class<?>> IMMUTABLE_SETS = Set.copyOf(List.of(
+            Set.of().getClass(), Set.of(1).getClass(), Set.of(1, 2, 3).getClass()
+    ));
+
+    private Membership() {
+        // prevent instantiation
+    }
+
+    /**
+     * A predicate which tests whether its argument is a member of the given
+     * set. Sets created by {@link Set#of} or {@link Set#copyOf} are immutable
+     * and replaced by a specialized snapshot; all other sets may change, and
+     * are queried through {@link Set#contains(Object)}.
+     *
+     * @param s the set
+     * @return the membership test
+     */
+    static Predicate<@Nullable Object> of(Set<?> s) {
+        if (!IMMUTABLE_SETS.contains(s.getClass())) {
+            return s::contains;
+        }
+        if (s.isEmpty()) {
+            return _ -> false;
+        }
+        if (s.stream().allMatch(Integer.class::isInstance)) {
+            var ints = ofInts(s.stream().mapToInt(Integer.class::cast).toArray());
+            return o -> o instanceof Integer i && ints.test(i);
+        }
+        var enums = ofEnums(s);
+        return enums != null ? enums : ofObjects(s.toArray());
+    }
+
+    /**
+     * A predicate which tests whether its argument is one of the given values.
+     *
+     * @param values the values; duplicates are allowed
+     * @return the membership test
+     */
+    static IntPredicate ofInts(int[] values) {
+        if (values.length == 0) {
+            return _ -> false;
+        }
+        int min = Arrays.stream(values).min().orElseThrow(), max = Arrays.stream(values).max().orElseThrow();
+        long range = (long) max - min + 1;
+        if (range <= Math.min(Integer.MAX_VALUE, Math.max(SMALL_RANGE, (long) BITS_PER_VALUE * values.length))) {
+            var bits = new long[(int) ((range + 63) >>> 6)];
+            for (int v : values) {
+                int idx = v - min;
+                bits[idx >>> 6] |= 1L << idx;
+            }
+            int length = (int) range;
+            // idx wraps around to a large unsigned value below min
+            return v -> {
+                int idx = v - min;
+                return Integer.compareUnsigned(idx, length) < 0 && (bits[idx >>> 6] & 1L << idx) != 0;
+            };
+        }
+        int empty = values[0];
+        var table = new int[HashIndex.tableLength(values.length)];
+        Arrays.fill(table, empty);
+        int mask = table.length - 1;
+        for (int v : values) {
+            int i = HashIndex.mix(v) & mask;
+            while (table[i] != empty && table[i] != v) {
+                i = (i + 1) & mask;
+            }
+            table[i] = v;
+        }
+        return v -> {
+            int i = HashIndex.mix(v) & mask;
+            for (int t = table[i]; t != v; t = table[i]) {
+                if (t == empty) {
+                    return false;
+                }
+                i = (i + 1) & mask;
+            }
+            return true;
+        };
+    }
+
+    /**
+     * A predicate which tests whether its argument is one of the given values.
+     *
+     * @param values the values; duplicates are allowed
+     * @return the membership test
+     */
+    static LongPredicate ofLongs(long[] values) {
+        if (values.length == 0) {
+            return _ -> false;
+        }
+        long min = Arrays.stream(values).min().orElseThrow(), max = Arrays.stream(values).max().orElseThrow();
+        // the unsigned distance which does not overflow
+        long span = max - min;
+        if (Long.compareUnsigned(span, Math.max(SMALL_RANGE, (long) BITS_PER_VALUE * values.length)) < 0) {
+            long range = span + 1;
+            var bits = new long[(int) ((range + 63) >>> 6)];
+            for (long v : values) {
+                long idx = v - min;
+                bits[(int) (idx >>> 6)] |= 1L << idx;
+            }
+            return v -> {
+                long idx = v - min;
+                return Long.compareUnsigned(idx, range) < 0 && (bits[(int) (idx >>> 6)] & 1L << idx) != 0;
+            };
+        }
+        long empty = values[0];
+        var table = new long[HashIndex.tableLength(values.length)];
+        Arrays.fill(table, empty);
+        int mask = table.length - 1;
+        for (long v : values) {
+            int i = HashIndex.mix(Long.hashCode(v)) & mask;
+            while (table[i] != empty && table[i] != v) {
+                i = (i + 1) & mask;
+            }
+            table[i] = v;
+        }
+        return v -> {
+            int i = HashIndex.mix(Long.hashCode(v)) & mask;
+            for (long t = table[i]; t != v; t = table[i]) {
+                if (t == empty) {
+                    return false;
+                }
+                i = (i + 1) & mask;
+            }
+            return true;
+        };
+    }
+
+    // null unless all elements are constants of the same enum type
+    private static @Nullable Predicate<@Nullable Object> ofEnums(Set<?> s) {
+        Class<?> type = null;
+        for (var o : s) {
+            if (!(o instanceof Enum<?> e) || type != null && e.getDeclaringClass() != type) {
+                return null;
+            }
+            type = e.getDeclaringClass();
+        }
+        var bits = new long[(Objects.requireNonNull(type).getEnumConstants().length + 63) >>> 6];
+        for (var o : s) {
+            int ordinal = ((Enum<?>) o).ordinal();
+            bits[ordinal >>> 6] |= 1L << ordinal;
+        }
+        var enumType = type;
+        return o -> o instanceof Enum<?> e && e.getDeclaringClass() == enumType
+                && (bits[e.ordinal() >>> 6] & 1L << e.ordinal()) != 0;
+    }
+
+    private static Predicate<@Nullable Object> ofObjects(Object[] values) {
+        var table = new Object[HashIndex.tableLength(values.length)];
+        int mask = table.length - 1;
+        for (var v : values) {
+            int i = HashIndex.mix(v.hashCode()) & mask;
+            while (table[i] != null) {
+                i = (i + 1) & mask;
+            }
+            table[i] = v;
+        }
+        return o -> {
+            if (o == null) {
+                return false;
+            }
+            int i = HashIndex.mix(o.hashCode()) & mask;
+            for (Object t = table[i]; t != null; t = table[i]) {
+                if (o.equals(t)) {
+                    return true;
+                }
+                i = (i + 1) & mask;
+            }
+            return false;
+        };
+    }
+}
@@ -0,0 +1,97 @@
+package io.github.ralfspoeth.basix.fn;
+
+import io.github.ralfspoeth.basix.internal.HashIndex;
+import org.jspecify.annotations.Nullable;
+
+import java.util.Objects;
+
+/**
+ * Open-addressing hash table which counts occurrences of objects
+ * in a primitive {@code int} per key.
+ * <p>
+ * The table is sized once for a known maximum number of distinct keys
+ * and never grows; it replaces a {@code HashMap<Object, Long>} in the
+ * {@code contentsEquals} family, which allocates an entry and a boxed
+ * count per distinct element. Callers pass in the hash of each key as
+ * computed by {@link #hash(Object)}, such that it may be computed once
+ * and reused, e.g. for sharding.
+ */
+final class ObjIntTable {
+
+    // stands in for null keys, so that an empty slot is always null
+    private static final Object NULL = new Object();
+
+    private final @Nullable Object[] keys;
+    private final int[] hashes;
+    private final int[] counts;
+    private final int mask;
+
+    /**
+     * Creates a table for up to the given number of distinct keys.
+     *
+     * @param maxKeys the maximum number of distinct keys; the table holds
+     *                at most {@link HashIndex#MAX_KEYS} keys in any case
+     */
+    ObjIntTable(int maxKeys) {
+        int capacity = HashIndex.tableLength(Math.min(maxKeys, HashIndex.MAX_KEYS));
+        this.keys = new Object[capacity];
+        this.hashes = new int[capacity];
+        this.counts = new int[capacity];
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * The hash of an object as used by this table; the bits are spread
+     * such that both the lowest and the highest bits may serve as an index.
+     *
+     * @param o an object, may be {@code null}
+     * @return the hash
+     */
+    static int hash(@Nullable Object o) {
+        return HashIndex.mix(Objects.hashCode(o));
+    }
+
+    // the slot of the given key, or the free slot where it would go
+    private int slot(Object key, int hash) {
+        int i = hash & mask;
+        for (Object k = keys[i]; k != null; k = keys[i]) {
+            if (hashes[i] == hash && (k == key || k.equals(key))) {
+                return i;
+            }
+            i = (i + 1) & mask;
+        }
+        return i;
+    }
+
+    /**
+     * Increment the count of the given key.
+     *
+     * @param key  the key, may be {@code null}
+     * @param hash the hash of the key, see {@link #hash(Object)}
+     */
+    void increment(@Nullable Object key, int hash) {
+        Object k = key == null ? NULL : key;
+        int i = slot(k, hash);
+        if (keys[i] == null) {
+            keys[i] = k;
+            hashes[i] = hash;
+        }
+        counts[i]++;
+    }
+
+    /**
+     * Decrement the count of the given key if it is positive.
+     *
+     * @param key  the key, may be {@code null}
+     * @param hash the hash of the key, see {@link #hash(Object)}
+     * @return {@code false} if the key's count was zero already
+     */
+    boolean decrement(@Nullable Object key, int hash) {
+        int i = slot(key == null ? NULL : key, hash);
+        if (counts[i] == 0) {
+            return false;
+        }
+        counts[i]--;
+        return true;
+    }
+}
@@ -1,11 +1,16 @@
 package io.github.ralfspoeth.basix.fn;
 
 import java.util.Comparator;
+import java.util.List;
 import java.util.Set;
+import java.util.function.DoublePredicate;
 import java.util.function.Function;
+import java.util.function.IntPredicate;
+import java.util.function.LongPredicate;
 import java.util.function.Predicate;
-
-import static io.github.ralfspoeth.basix.fn.Sign.ofCompare;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
 
 /**
  * Factory methods for {@link Predicate}s built around a value extracted
@@ -13,7 +18,20 @@ import static io.github.ralfspoeth.basix.fn.Sign.ofCompare;
  * ({@link #eq}), and the family of comparator-based ordering predicates
  * ({@link #smallerThan}, {@link #smallerOrEqual}, {@link #equal},
  * {@link #nonEqual}, {@link #greaterOrEqual}, {@link #greaterThan},
- * {@link #smallerOrGreater}).
+ * {@link #smallerOrGreater}), with primitive counterparts such as
+ * {@link #smallerThanInt(int)} or {@link #greaterThanDouble(double, ToDoubleFunction)}
+ * which compile down to a single comparison of primitive values.
+ * The {@code double} variants use the comparison operators of the language
+ * rather than {@link Double#compare}, so any comparison with {@code NaN}
+ * is {@code false} except for {@link #nonEqualDouble(double)}, and
+ * {@code -0.0} equals {@code 0.0}.
+ * <p>
+ * Intervals are tested by {@link #between} with open, closed, or half-open
+ * {@link Bounds}, and unions of many intervals by {@link #inIntervals},
+ * in logarithmic time; both with primitive specializations, too.
+ * Long chains of such predicates are best combined by
+ * {@link AdaptivePredicate#allOf} or {@link AdaptivePredicate#anyOf}, which
+ * evaluate the most decisive terms first.
  * <p>
  * All factory methods return new {@link Predicate} instances and never
  * mutate the inputs. This class cannot be instantiated.
@@ -44,6 +62,13 @@ public class Predicates {
      * Both the set and the extraction functions must not be {@code null}.
      * The predicate is as tolerant to {@code null} values
      * as is the extraction function.
+     * <p>
+     * A set created by {@link Set#of} or {@link Set#copyOf} is immutable
+     * and therefore replaced by a snapshot tailored to its elements: a bitmap
+     * for {@link Integer}s from a dense range or for the constants of an enum,
+     * and an open-addressing hash table otherwise; a snapshot never contains
+     * {@code null}. Any other set is queried by {@link Set#contains(Object)}
+     * such that the predicate reflects later changes of the set.
      *
      * @param s a {@link Set} of elements either of which must be matched, must not be {@code null}
      * @param extractor a {@link Function} that extracts a property of some object, must not be {@code null}
@@ -53,7 +78,66 @@ public class Predicates {
      *  whether the given set contains the extracted property of the given object
      */
     public static <T, S> Predicate<T> in(Set<S> s, Function<T, ? extends S> extractor) {
-        return asPredicate(extractor.andThen(s::contains));
+        var contains = Membership.of(s);
+        return t -> contains.test(extractor.apply(t));
+    }
+
+    /**
+     * Creates a {@link Predicate} which tests whether an {@code int}
+     * property of an item is one of the given values, without boxing.
+     * {@snippet :
+     * record Point(int x, int y) {}
+     * assert Predicates.in(new int[]{1, 2}, Point::x).test(new Point(2, 3));
+     * }
+     * The values are copied into a bitmap if they span a dense range,
+     * and into an open-addressing hash table otherwise.
+     *
+     * @param values    the values either of which must be matched; duplicates are allowed
+     * @param extractor the function that extracts the property; must not be {@code null}
+     * @param <T>       the type of the target object to be tested
+     * @return a predicate equivalent to {@code t -> in(values).test(extractor.applyAsInt(t))}
+     */
+    public static <T> Predicate<T> in(int[] values, ToIntFunction<? super T> extractor) {
+        var contains = Membership.ofInts(values);
+        return t -> contains.test(extractor.applyAsInt(t));
+    }
+
+    /**
+     * Creates an {@link IntPredicate} which tests whether a value is one
+     * of the given values; see {@link #in(int[], ToIntFunction)}.
+     *
+     * @param values the values either of which must be matched; duplicates are allowed
+     * @return the predicate
+     */
+    public static IntPredicate in(int[] values) {
+        return Membership.ofInts(values);
+    }
+
+    /**
+     * Creates a {@link Predicate} which tests whether a {@code long}
+     * property of an item is one of the given values, without boxing.
+     * The values are copied into a bitmap if they span a dense range,
+     * and into an open-addressing hash table otherwise.
+     *
+     * @param values    the values either of which must be matched; duplicates are allowed
+     * @param extractor the function that extracts the property; must not be {@code null}
+     * @param <T>       the type of the target object to be tested
+     * @return a predicate equivalent to {@code t -> in(values).test(extractor.applyAsLong(t))}
+     */
+    public static <T> Predicate<T> in(long[] values, ToLongFunction<? super T> extractor) {
+        var contains = Membership.ofLongs(values);
+        return t -> contains.test(extractor.applyAsLong(t));
+    }
+
+    /**
+     * Creates a {@link LongPredicate} which tests whether a value is one
+     * of the given values; see {@link #in(long[], ToLongFunction)}.
+     *
+     * @param values the values either of which must be matched; duplicates are allowed
+     * @return the predicate
+     */
+    public static LongPredicate in(long[] values) {
+        return Membership.ofLongs(values);
     }
 
     /**
@@ -69,7 +153,7 @@ public class Predicates {
      * @return a predicate equivalent to {@code t -> s.equals(extractor.apply(t))}
      */
     public static <T, S> Predicate<T> eq(S s, Function<T, ? extends S> extractor) {
-        return asPredicate(extractor.andThen(s::equals));
+        return t -> s.equals(extractor.apply(t));
     }
 
     /**
@@ -81,7 +165,7 @@ public class Predicates {
      * @return a predicate that returns {@code true} for values strictly smaller than {@code ref}
      */
     public static <T> Predicate<T> smallerThan(T ref, Comparator<? super T> comparator) {
-        return x -> ofCompare(comparator.compare(x, ref)).negative();
+        return x -> comparator.compare(x, ref) < 0;
     }
 
     /**
@@ -105,7 +189,7 @@ public class Predicates {
      * @return a predicate that returns {@code true} for values smaller than or equal to {@code ref}
      */
     public static <T> Predicate<T> smallerOrEqual(T ref, Comparator<? super T> comparator) {
-        return x -> ofCompare(comparator.compare(x, ref)).nonPositive();
+        return x -> comparator.compare(x, ref) <= 0;
     }
 
     /**
@@ -130,7 +214,7 @@ public class Predicates {
      *         under the given comparator
      */
     public static <T> Predicate<T> equal(T ref, Comparator<? super T> comparator) {
-        return x -> ofCompare(comparator.compare(x, ref)).zero();
+        return x -> comparator.compare(x, ref) == 0;
     }
 
     /**
@@ -182,7 +266,7 @@ public class Predicates {
      * @return a predicate that returns {@code true} for values greater than or equal to {@code ref}
      */
     public static <T> Predicate<T> greaterOrEqual(T ref, Comparator<? super T> comparator) {
-        return x -> ofCompare(comparator.compare(x, ref)).nonNegative();
+        return x -> comparator.compare(x, ref) >= 0;
     }
 
     /**
@@ -206,7 +290,7 @@ public class Predicates {
      * @return a predicate that returns {@code true} for values strictly greater than {@code ref}
      */
     public static <T> Predicate<T> greaterThan(T ref, Comparator<? super T> comparator) {
-        return x -> ofCompare(comparator.compare(x, ref)).positive();
+        return x -> comparator.compare(x, ref) > 0;
     }
 
     /**
@@ -232,7 +316,7 @@ public class Predicates {
      *         under the given comparator
      */
     public static <T> Predicate<T> smallerOrGreater(T ref, Comparator<? super T> comparator) {
-        return x -> !ofCompare(comparator.compare(x, ref)).zero();
+        return x -> comparator.compare(x, ref) != 0;
     }
 
     /**
@@ -248,7 +332,694 @@ public class Predicates {
         return smallerOrGreater(ref, Comparator.naturalOrder());
     }
 
-    private static <T> Predicate<T> asPredicate(Function<T, Boolean> f) {
-        return f::apply;
+    /**
+     * Creates a predicate which tests whether a value lies between
+     * {@code lower} and {@code upper}, each of which is included or not
+     * depending on {@code bounds}.
+     * {@snippet :
+     * var workingHours = Predicates.between(LocalTime.of(9, 0), LocalTime.of(17, 0), Bounds.CLOSED_OPEN,
+     *         Comparator.naturalOrder());
+     * }
+     *
+     * @param lower      the lower bound
+     * @param upper      the upper bound
+     * @param bounds     which of the bounds belong to the interval
+     * @param comparator the comparator to use; must not be {@code null}
+     * @param <T>        the element type
+     * @return a predicate that returns {@code true} for values within the interval
+     * @throws IllegalArgumentException if {@code lower} is greater than {@code upper}
+     */
+    public static <T> Predicate<T> between(T lower, T upper, Bounds bounds, Comparator<? super T> comparator) {
+        return Intervals.between(lower, upper, bounds, comparator);
+    }
+
+    /**
+     * Same as {@link #between(Object, Object, Bounds, Comparator)} with
+     * {@link Comparator#naturalOrder()} as comparator.
+     *
+     * @param lower  the lower bound
+     * @param upper  the upper bound
+     * @param bounds which of the bounds belong to the interval
+     * @param <T>    the element type, which must implement {@link Comparable}
+     * @return a predicate that returns {@code true} for values within the interval
+     * @throws IllegalArgumentException if {@code lower} is greater than {@code upper}
+     */
+    public static <T extends Comparable<? super T>> Predicate<T> between(T lower, T upper, Bounds bounds) {
+        return between(lower, upper, bounds, Comparator.naturalOrder());
+    }
+
+    /**
+     * Creates an {@link IntBatchPredicate} which tests whether a value lies
+     * between {@code lower} and {@code upper} with a single comparison.
+     *
+     * @param lower  the lower bound
+     * @param upper  the upper bound
+     * @param bounds which of the bounds belong to the interval
+     * @return a predicate that returns {@code true} for values within the interval
+     * @throws IllegalArgumentException if {@code lower} is greater than {@code upper}
+     */
+    public static IntBatchPredicate betweenInt(int lower, int upper, Bounds bounds) {
+        return Intervals.betweenInt(lower, upper, bounds);
+    }
+
+    /**
+     * Keyed form of {@link #betweenInt(int, int, Bounds)}.
+     *
+     * @param lower  the lower bound
+     * @param upper  the upper bound
+     * @param bounds which of the bounds belong to the interval
+     * @param key    the function extracting the property; must not be {@code null}
+     * @param <T>    the type of the target object to be tested
+     * @return a predicate that returns {@code true} if the extracted property lies within the interval
+     * @throws IllegalArgumentException if {@code lower} is greater than {@code upper}
+     */
+    public static <T> Predicate<T> betweenInt(int lower, int upper, Bounds bounds, ToIntFunction<? super T> key) {
+        var p = betweenInt(lower, upper, bounds);
+        return t -> p.test(key.applyAsInt(t));
+    }
+
+    /**
+     * Creates a {@link LongBatchPredicate} which tests whether a value lies
+     * between {@code lower} and {@code upper} with a single comparison.
+     *
+     * @param lower  the lower bound
+     * @param upper  the upper bound
+     * @param bounds which of the bounds belong to the interval
+     * @return a predicate that returns {@code true} for values within the interval
+     * @throws IllegalArgumentException if {@code lower} is greater than {@code upper}
+     */
+    public static LongBatchPredicate betweenLong(long lower, long upper, Bounds bounds) {
+        return Intervals.betweenLong(lower, upper, bounds);
+    }
+
+    /**
+     * Keyed form of {@link #betweenLong(long, long, Bounds)}.
+     *
+     * @param lower  the lower bound
+     * @param upper  the upper bound
+     * @param bounds which of the bounds belong to the interval
+     * @param key    the function extracting the property; must not be {@code null}
+     * @param <T>    the type of the target object to be tested
+     * @return a predicate that returns {@code true} if the extracted property lies within the interval
+     * @throws IllegalArgumentException if {@code lower} is greater than {@code upper}
+     */
+    public static <T> Predicate<T> betweenLong(long lower, long upper, Bounds bounds, ToLongFunction<? super T> key) {
+        var p = betweenLong(lower, upper, bounds);
+        return t -> p.test(key.applyAsLong(t));
+    }
+
+    /**
+     * Creates a {@link DoubleBatchPredicate} which tests whether a value lies
+     * between {@code lower} and {@code upper}; {@code NaN} never does.
+     *
+     * @param lower  the lower bound
+     * @param upper  the upper bound
+     * @param bounds which of the bounds belong to the interval
+     * @return a predicate that returns {@code true} for values within the interval
+     * @throws IllegalArgumentException if {@code lower} is greater than {@code upper} or either is {@code NaN}
+     */
+    public static DoubleBatchPredicate betweenDouble(double lower, double upper, Bounds bounds) {
+        return Intervals.betweenDouble(lower, upper, bounds);
+    }
+
+    /**
+     * Keyed form of {@link #betweenDouble(double, double, Bounds)}.
+     *
+     * @param lower  the lower bound
+     * @param upper  the upper bound
+     * @param bounds which of the bounds belong to the interval
+     * @param key    the function extracting the property; must not be {@code null}
+     * @param <T>    the type of the target object to be tested
+     * @return a predicate that returns {@code true} if the extracted property lies within the interval
+     * @throws IllegalArgumentException if {@code lower} is greater than {@code upper} or either is {@code NaN}
+     */
+    public static <T> Predicate<T> betweenDouble(double lower, double upper, Bounds bounds,
+                                                 ToDoubleFunction<? super T> key) {
+        var p = betweenDouble(lower, upper, bounds);
+        return t -> p.test(key.applyAsDouble(t));
+    }
+
+    /**
+     * Creates a predicate which tests whether a value lies in any of the
+     * intervals given by {@code lowers.get(i)} and {@code uppers.get(i)},
+     * all of which share the same {@code bounds}.
+     * The intervals may be given in any order and may overlap; they are
+     * sorted and merged once such that each test costs a binary search,
+     * i.e. {@code O(log n)} comparisons for {@code n} intervals.
+     * {@snippet :
+     * var lunchOrEvening = Predicates.inIntervals(
+     *         List.of(LocalTime.of(12, 0), LocalTime.of(18, 0)),
+     *         List.of(LocalTime.of(13, 0), LocalTime.of(22, 0)),
+     *         Bounds.CLOSED_OPEN, Comparator.naturalOrder());
+     * }
+     *
+     * @param lowers     the lower bounds
+     * @param uppers     the upper bounds, as many as lower bounds
+     * @param bounds     which of the bounds belong to the intervals
+     * @param comparator the comparator to use; must not be {@code null}
+     * @param <T>        the element type
+     * @return a predicate that returns {@code true} for values within any of the intervals
+     * @throws IllegalArgumentException if the numbers of lower and upper bounds differ,
+     *                                  or a lower bound is greater than its upper bound
+     */
+    public static <T> Predicate<T> inIntervals(List<? extends T> lowers, List<? extends T> uppers,
+                                               Bounds bounds, Comparator<? super T> comparator) {
+        return Intervals.inIntervals(lowers, uppers, bounds, comparator);
+    }
+
+    /**
+     * Same as {@link #inIntervals(List, List, Bounds, Comparator)} with
+     * {@link Comparator#naturalOrder()} as comparator.
+     *
+     * @param lowers the lower bounds
+     * @param uppers the upper bounds, as many as lower bounds
+     * @param bounds which of the bounds belong to the intervals
+     * @param <T>    the element type, which must implement {@link Comparable}
+     * @return a predicate that returns {@code true} for values within any of the intervals
+     * @throws IllegalArgumentException if the numbers of lower and upper bounds differ,
+     *                                  or a lower bound is greater than its upper bound
+     */
+    public static <T extends Comparable<? super T>> Predicate<T> inIntervals(List<? extends T> lowers,
+                                                                             List<? extends T> uppers,
+                                                                             Bounds bounds) {
+        return inIntervals(lowers, uppers, bounds, Comparator.naturalOrder());
+    }
+
+    /**
+     * Creates an {@link IntPredicate} which tests whether a value lies in any
+     * of the intervals given by {@code lowers[i]} and {@code uppers[i]};
+     * see {@link #inIntervals(List, List, Bounds, Comparator)}.
+     * Adjacent intervals such as {@code [1, 3)} and {@code [3, 5)} are merged.
+     *
+     * @param lowers the lower bounds
+     * @param uppers the upper bounds, as many as lower bounds
+     * @param bounds which of the bounds belong to the intervals
+     * @return a predicate that returns {@code true} for values within any of the intervals
+     * @throws IllegalArgumentException if the numbers of lower and upper bounds differ,
+     *                                  or a lower bound is greater than its upper bound
+     */
+    public static IntPredicate inIntervalsInt(int[] lowers, int[] uppers, Bounds bounds) {
+        return Intervals.inIntervalsInt(lowers, uppers, bounds);
+    }
+
+    /**
+     * Keyed form of {@link #inIntervalsInt(int[], int[], Bounds)}.
+     *
+     * @param lowers the lower bounds
+     * @param uppers the upper bounds, as many as lower bounds
+     * @param bounds which of the bounds belong to the intervals
+     * @param key    the function extracting the property; must not be {@code null}
+     * @param <T>    the type of the target object to be tested
+     * @return a predicate that returns {@code true} if the extracted property lies within any of the intervals
+     * @throws IllegalArgumentException if the numbers of lower and upper bounds differ,
+     *                                  or a lower bound is greater than its upper bound
+     */
+    public static <T> Predicate<T> inIntervalsInt(int[] lowers, int[] uppers, Bounds bounds,
+                                                  ToIntFunction<? super T> key) {
+        var p = inIntervalsInt(lowers, uppers, bounds);
+        return t -> p.test(key.applyAsInt(t));
+    }
+
+    /**
+     * Creates a {@link LongPredicate} which tests whether a value lies in any
+     * of the intervals given by {@code lowers[i]} and {@code uppers[i]};
+     * see {@link #inIntervalsInt(int[], int[], Bounds)}.
+     *
+     * @param lowers the lower bounds
+     * @param uppers the upper bounds, as many as lower bounds
+     * @param bounds which of the bounds belong to the intervals
+     * @return a predicate that returns {@code true} for values within any of the intervals
+     * @throws IllegalArgumentException if the numbers of lower and upper bounds differ,
+     *                                  or a lower bound is greater than its upper bound
+     */
+    public static LongPredicate inIntervalsLong(long[] lowers, long[] uppers, Bounds bounds) {
+        return Intervals.inIntervalsLong(lowers, uppers, bounds);
+    }
+
+    /**
+     * Keyed form of {@link #inIntervalsLong(long[], long[], Bounds)}.
+     *
+     * @param lowers the lower bounds
+     * @param uppers the upper bounds, as many as lower bounds
+     * @param bounds which of the bounds belong to the intervals
+     * @param key    the function extracting the property; must not be {@code null}
+     * @param <T>    the type of the target object to be tested
+     * @return a predicate that returns {@code true} if the extracted property lies within any of the intervals
+     * @throws IllegalArgumentException if the numbers of lower and upper bounds differ,
+     *                                  or a lower bound is greater than its upper bound
+     */
+    public static <T> Predicate<T> inIntervalsLong(long[] lowers, long[] uppers, Bounds bounds,
+                                                   ToLongFunction<? super T> key) {
+        var p = inIntervalsLong(lowers, uppers, bounds);
+        return t -> p.test(key.applyAsLong(t));
+    }
+
+    /**
+     * Creates a {@link DoublePredicate} which tests whether a value lies in any
+     * of the intervals given by {@code lowers[i]} and {@code uppers[i]};
+     * see {@link #inIntervals(List, List, Bounds, Comparator)}.
+     * {@code NaN} lies in no interval.
+     *
+     * @param lowers the lower bounds
+     * @param uppers the upper bounds, as many as lower bounds
+     * @param bounds which of the bounds belong to the intervals
+     * @return a predicate that returns {@code true} for values within any of the intervals
+     * @throws IllegalArgumentException if the numbers of lower and upper bounds differ,
+     *                                  or a lower bound is greater than its upper bound or {@code NaN}
+     */
+    public static DoublePredicate inIntervalsDouble(double[] lowers, double[] uppers, Bounds bounds) {
+        return Intervals.inIntervalsDouble(lowers, uppers, bounds);
+    }
+
+    /**
+     * Keyed form of {@link #inIntervalsDouble(double[], double[], Bounds)}.
+     *
+     * @param lowers the lower bounds
+     * @param uppers the upper bounds, as many as lower bounds
+     * @param bounds which of the bounds belong to the intervals
+     * @param key    the function extracting the property; must not be {@code null}
+     * @param <T>    the type of the target object to be tested
+     * @return a predicate that returns {@code true} if the extracted property lies within any of the intervals
+     * @throws IllegalArgumentException if the numbers of lower and upper bounds differ,
+     *                                  or a lower bound is greater than its upper bound or {@code NaN}
+     */
+    public static <T> Predicate<T> inIntervalsDouble(double[] lowers, double[] uppers, Bounds bounds,
+                                                     ToDoubleFunction<? super T> key) {
+        var p = inIntervalsDouble(lowers, uppers, bounds);
+        return t -> p.test(key.applyAsDouble(t));
+    }
+
+    /**
+     * Creates an {@link IntBatchPredicate} which tests whether a value is strictly smaller than {@code ref}.
+     *
+     * @param ref the reference value to compare against
+     * @return a predicate equivalent to {@code x -> x < ref}
+     */
+    public static IntBatchPredicate smallerThanInt(int ref) {
+        return BatchComparisons.smallerThan(ref);
+    }
+
+    /**
+     * Creates a {@link Predicate} which tests whether the {@code int} property
+     * extracted by {@code key} is strictly smaller than {@code ref}, without boxing.
+     *
+     * @param ref the reference value to compare against
+     * @param key the function extracting the property; must not be {@code null}
+     * @param <T> the type of the target object to be tested
+     * @return a predicate equivalent to {@code t -> key.applyAsInt(t) < ref}
+     */
+    public static <T> Predicate<T> smallerThanInt(int ref, ToIntFunction<? super T> key) {
+        return t -> key.applyAsInt(t) < ref;
+    }
+
+    /**
+     * Creates an {@link IntBatchPredicate} which tests whether a value is smaller than or equal to {@code ref}.
+     *
+     * @param ref the reference value to compare against
+     * @return a predicate equivalent to {@code x -> x <= ref}
+     */
+    public static IntBatchPredicate smallerOrEqualInt(int ref) {
+        return BatchComparisons.smallerOrEqual(ref);
+    }
+
+    /**
+     * Creates a {@link Predicate} which tests whether the {@code int} property
+     * extracted by {@code key} is smaller than or equal to {@code ref}, without boxing.
+     *
+     * @param ref the reference value to compare against
+     * @param key the function extracting the property; must not be {@code null}
+     * @param <T> the type of the target object to be tested
+     * @return a predicate equivalent to {@code t -> key.applyAsInt(t) <= ref}
+     */
+    public static <T> Predicate<T> smallerOrEqualInt(int ref, ToIntFunction<? super T> key) {
+        return t -> key.applyAsInt(t) <= ref;
+    }
+
+    /**
+     * Creates an {@link IntBatchPredicate} which tests whether a value is equal to {@code ref}.
+     *
+     * @param ref the reference value to compare against
+     * @return a predicate equivalent to {@code x -> x == ref}
+     */
+    public static IntBatchPredicate equalInt(int ref) {
+        return BatchComparisons.equal(ref);
+    }
+
+    /**
+     * Creates a {@link Predicate} which tests whether the {@code int} property
+     * extracted by {@code key} is equal to {@code ref}, without boxing.
+     *
+     * @param ref the reference value to compare against
+     * @param key the function extracting the property; must not be {@code null}
+     * @param <T> the type of the target object to be tested
+     * @return a predicate equivalent to {@code t -> key.applyAsInt(t) == ref}
+     */
+    public static <T> Predicate<T> equalInt(int ref, ToIntFunction<? super T> key) {
+        return t -> key.applyAsInt(t) == ref;
+    }
+
+    /**
+     * Creates an {@link IntBatchPredicate} which tests whether a value is not equal to {@code ref}.
+     *
+     * @param ref the reference value to compare against
+     * @return a predicate equivalent to {@code x -> x != ref}
+     */
+    public static IntBatchPredicate nonEqualInt(int ref) {
+        return BatchComparisons.nonEqual(ref);
+    }
+
+    /**
+     * Creates a {@link Predicate} which tests whether the {@code int} property
+     * extracted by {@code key} is not equal to {@code ref}, without boxing.
+     *
+     * @param ref the reference value to compare against
+     * @param key the function extracting the property; must not be {@code null}
+     * @param <T> the type of the target object to be tested
+     * @return a predicate equivalent to {@code t -> key.applyAsInt(t) != ref}
+     */
+    public static <T> Predicate<T> nonEqualInt(int ref, ToIntFunction<? super T> key) {
+        return t -> key.applyAsInt(t) != ref;
+    }
+
+    /**
+     * Creates an {@link IntBatchPredicate} which tests whether a value is greater than or equal to {@code ref}.
+     *
+     * @param ref the reference value to compare against
+     * @return a predicate equivalent to {@code x -> x >= ref}
+     */
+    public static IntBatchPredicate greaterOrEqualInt(int ref) {
+        return BatchComparisons.greaterOrEqual(ref);
+    }
+
+    /**
+     * Creates a {@link Predicate} which tests whether the {@code int} property
+     * extracted by {@code key} is greater than or equal to {@code ref}, without boxing.
+     *
+     * @param ref the reference value to compare against
+     * @param key the function extracting the property; must not be {@code null}
+     * @param <T> the type of the target object to be tested
+     * @return a predicate equivalent to {@code t -> key.applyAsInt(t) >= ref}
+     */
+    public static <T> Predicate<T> greaterOrEqualInt(int ref, ToIntFunction<? super T> key) {
+        return t -> key.applyAsInt(t) >= ref;
+    }
+
+    /**
+     * Creates an {@link IntBatchPredicate} which tests whether a value is strictly greater than {@code ref}.
+     *
+     * @param ref the reference value to compare against
+     * @return a predicate equivalent to {@code x -> x > ref}
+     */
+    public static IntBatchPredicate greaterThanInt(int ref) {
+        return BatchComparisons.greaterThan(ref);
+    }
+
+    /**
+     * Creates a {@link Predicate} which tests whether the {@code int} property
+     * extracted by {@code key} is strictly greater than {@code ref}, without boxing.
+     *
+     * @param ref the reference value to compare against
+     * @param key the function extracting the property; must not be {@code null}
+     * @param <T> the type of the target object to be tested
+     * @return a predicate equivalent to {@code t -> key.applyAsInt(t) > ref}
+     */
+    public static <T> Predicate<T> greaterThanInt(int ref, ToIntFunction<? super T> key) {
+        return t -> key.applyAsInt(t) > ref;
+    }
+
+    /**
+     * Creates a {@link LongBatchPredicate} which tests whether a value is strictly smaller than {@code ref}.
+     *
+     * @param ref the reference value to compare against
+     * @return a predicate equivalent to {@code x -> x < ref}
+     */
+    public static LongBatchPredicate smallerThanLong(long ref) {
+        return BatchComparisons.smallerThan(ref);
+    }
+
+    /**
+     * Creates a {@link Predicate} which tests whether the {@code long} property
+     * extracted by {@code key} is strictly smaller than {@code ref}, without boxing.
+     *
+     * @param ref the reference value to compare against
+     * @param key the function extracting the property; must not be {@code null}
+     * @param <T> the type of the target object to be tested
+     * @return a predicate equivalent to {@code t -> key.applyAsLong(t) < ref}
+     */
+    public static <T> Predicate<T> smallerThanLong(long ref, ToLongFunction<? super T> key) {
+        return t -> key.applyAsLong(t) < ref;
+    }
+
+    /**
+     * Creates a {@link LongBatchPredicate} which tests whether a value is smaller than or equal to {@code ref}.
+     *
+     * @param ref the reference value to compare against
+     * @return a predicate equivalent to {@code x -> x <= ref}
+     */
+    public static LongBatchPredicate smallerOrEqualLong(long ref) {
+        return BatchComparisons.smallerOrEqual(ref);
+    }
+
+    /**
+     * Creates a {@link Predicate} which tests whether the {@code long} property
+     * extracted by {@code key} is smaller than or equal to {@code ref}, without boxing.
+     *
+     * @param ref the reference value to compare against
+     * @param key the function extracting the property; must not be {@code null}
+     * @param <T> the type of the target object to be tested
+     * @return a predicate equivalent to {@code t -> key.applyAsLong(t) <= ref}
+     */
+    public static <T> Predicate<T> smallerOrEqualLong(long ref, ToLongFunction<? super T> key) {
+        return t -> key.applyAsLong(t) <= ref;
+    }
+
+    /**
+     * Creates a {@link LongBatchPredicate} which tests whether a value is equal to {@code ref}.
+     *
+     * @param ref the reference value to compare against
+     * @return a predicate equivalent to {@code x -> x == ref}
+     */
+    public static LongBatchPredicate equalLong(long ref) {
+        return BatchComparisons.equal(ref);
+    }
+
+    /**
+     * Creates a {@link Predicate} which tests whether the {@code long} property
+     * extracted by {@code key} is equal to {@code ref}, without boxing.
+     *
+     * @param ref the reference value to compare against
+     * @param key the function extracting the property; must not be {@code null}
+     * @param <T> the type of the target object to be tested
+     * @return a predicate equivalent to {@code t -> key.applyAsLong(t) == ref}
+     */
+    public static <T> Predicate<T> equalLong(long ref, ToLongFunction<? super T> key) {
+        return t -> key.applyAsLong(t) == ref;
+    }
+
+    /**
+     * Creates a {@link LongBatchPredicate} which tests whether a value is not equal to {@code ref}.
+     *
+     * @param ref the reference value to compare against
+     * @return a predicate equivalent to {@code x -> x != ref}
+     */
+    public static LongBatchPredicate nonEqualLong(long ref) {
+        return BatchComparisons.nonEqual(ref);
+    }
+
+    /**
+     * Creates a {@link Predicate} which tests whether the {@code long} property
+     * extracted by {@code key} is not equal to {@code ref}, without boxing.
+     *
+     * @param ref the reference value to compare against
+     * @param key the function extracting the property; must not be {@code null}
+     * @param <T> the type of the target object to be tested
+     * @return a predicate equivalent to {@code t -> key.applyAsLong(t) != ref}
+     */
+    public static <T> Predicate<T> nonEqualLong(long ref, ToLongFunction<? super T> key) {
+        return t -> key.applyAsLong(t) != ref;
+    }
+
+    /**
+     * Creates a {@link LongBatchPredicate} which tests whether a value is greater than or equal to {@code ref}.
+     *
+     * @param ref the reference value to compare against
+     * @return a predicate equivalent to {@code x -> x >= ref}
+     */
+    public static LongBatchPredicate greaterOrEqualLong(long ref) {
+        return BatchComparisons.greaterOrEqual(ref);
+    }
+
+    /**
+     * Creates a {@link Predicate} which tests whether the {@code long} property
+     * extracted by {@code key} is greater than or equal to {@code ref}, without boxing.
+     *
+     * @param ref the reference value to compare against
+     * @param key the function extracting the property; must not be {@code null}
+     * @param <T> the type of the target object to be tested
+     * @return a predicate equivalent to {@code t -> key.applyAsLong(t) >= ref}
+     */
+    public static <T> Predicate<T> greaterOrEqualLong(long ref, ToLongFunction<? super T> key) {
+        return t -> key.applyAsLong(t) >= ref;
+    }
+
+    /**
+     * Creates a {@link LongBatchPredicate} which tests whether a value is strictly greater than {@code ref}.
+     *
+     * @param ref the reference value to compare against
+     * @return a predicate equivalent to {@code x -> x > ref}
+     */
+    public static LongBatchPredicate greaterThanLong(long ref) {
+        return BatchComparisons.greaterThan(ref);
+    }
+
+    /**
+     * Creates a {@link Predicate} which tests whether the {@code long} property
+     * extracted by {@code key} is strictly greater than {@code ref}, without boxing.
+     *
+     * @param ref the reference value to compare against
+     * @param key the function extracting the property; must not be {@code null}
+     * @param <T> the type of the target object to be tested
+     * @return a predicate equivalent to {@code t -> key.applyAsLong(t) > ref}
+     */
+    public static <T> Predicate<T> greaterThanLong(long ref, ToLongFunction<? super T> key) {
+        return t -> key.applyAsLong(t) > ref;
+    }
+
+    /**
+     * Creates a {@link DoubleBatchPredicate} which tests whether a value is strictly smaller than {@code ref}.
+     *
+     * @param ref the reference value to compare against
+     * @return a predicate equivalent to {@code x -> x < ref}
+     */
+    public static DoubleBatchPredicate smallerThanDouble(double ref) {
+        return BatchComparisons.smallerThan(ref);
+    }
+
+    /**
+     * Creates a {@link Predicate} which tests whether the {@code double} property
+     * extracted by {@code key} is strictly smaller than {@code ref}, without boxing.
+     *
+     * @param ref the reference value to compare against
+     * @param key the function extracting the property; must not be {@code null}
+     * @param <T> the type of the target object to be tested
+     * @return a predicate equivalent to {@code t -> key.applyAsDouble(t) < ref}
+     */
+    public static <T> Predicate<T> smallerThanDouble(double ref, ToDoubleFunction<? super T> key) {
+        return t -> key.applyAsDouble(t) < ref;
+    }
+
+    /**
+     * Creates a {@link DoubleBatchPredicate} which tests whether a value is smaller than or equal to {@code ref}.
+     *
+     * @param ref the reference value to compare against
+     * @return a predicate equivalent to {@code x -> x <= ref}
+     */
+    public static DoubleBatchPredicate smallerOrEqualDouble(double ref) {
+        return BatchComparisons.smallerOrEqual(ref);
+    }
+
+    /**
+     * Creates a {@link Predicate} which tests whether the {@code double} property
+     * extracted by {@code key} is smaller than or equal to {@code ref}, without boxing.
+     *
+     * @param ref the reference value to compare against
+     * @param key the function extracting the property; must not be {@code null}
+     * @param <T> the type of the target object to be tested
+     * @return a predicate equivalent to {@code t -> key.applyAsDouble(t) <= ref}
+     */
+    public static <T> Predicate<T> smallerOrEqualDouble(double ref, ToDoubleFunction<? super T> key) {
+        return t -> key.applyAsDouble(t) <= ref;
+    }
+
+    /**
+     * Creates a {@link DoubleBatchPredicate} which tests whether a value is equal to {@code ref}.
+     *
+     * @param ref the reference value to compare against
+     * @return a predicate equivalent to {@code x -> x == ref}
+     */
+    public static DoubleBatchPredicate equalDouble(double ref) {
+        return BatchComparisons.equal(ref);
+    }
+
+    /**
+     * Creates a {@link Predicate} which tests whether the {@code double} property
+     * extracted by {@code key} is equal to {@code ref}, without boxing.
+     *
+     * @param ref the reference value to compare against
+     * @param key the function extracting the property; must not be {@code null}
+     * @param <T> the type of the target object to be tested
+     * @return a predicate equivalent to {@code t -> key.applyAsDouble(t) == ref}
+     */
+    public static <T> Predicate<T> equalDouble(double ref, ToDoubleFunction<? super T> key) {
+        return t -> key.applyAsDouble(t) == ref;
+    }
+
+    /**
+     * Creates a {@link DoubleBatchPredicate} which tests whether a value is not equal to {@code ref}.
+     *
+     * @param ref the reference value to compare against
+     * @return a predicate equivalent to {@code x -> x != ref}
+     */
+    public static DoubleBatchPredicate nonEqualDouble(double ref) {
+        return BatchComparisons.nonEqual(ref);
+    }
+
+    /**
+     * Creates a {@link Predicate} which tests whether the {@code double} property
+     * extracted by {@code key} is not equal to {@code ref}, without boxing.
+     *
+     * @param ref the reference value to compare against
+     * @param key the function extracting the property; must not be {@code null}
+     * @param <T> the type of the target object to be tested
+     * @return a predicate equivalent to {@code t -> key.applyAsDouble(t) != ref}
+     */
+    public static <T> Predicate<T> nonEqualDouble(double ref, ToDoubleFunction<? super T> key) {
+        return t -> key.applyAsDouble(t) != ref;
+    }
+
+    /**
+     * Creates a {@link DoubleBatchPredicate} which tests whether a value is greater than or equal to {@code ref}.
+     *
+     * @param ref the reference value to compare against
+     * @return a predicate equivalent to {@code x -> x >= ref}
+     */
+    public static DoubleBatchPredicate greaterOrEqualDouble(double ref) {
+        return BatchComparisons.greaterOrEqual(ref);
+    }
+
+    /**
+     * Creates a {@link Predicate} which tests whether the {@code double} property
+     * extracted by {@code key} is greater than or equal to {@code ref}, without boxing.
+     *
+     * @param ref the reference value to compare against
+     * @param key the function extracting the property; must not be {@code null}
+     * @param <T> the type of the target object to be tested
+     * @return a predicate equivalent to {@code t -> key.applyAsDouble(t) >= ref}
+     */
+    public static <T> Predicate<T> greaterOrEqualDouble(double ref, ToDoubleFunction<? super T> key) {
+        return t -> key.applyAsDouble(t) >= ref;
+    }
+
+    /**
+     * Creates a {@link DoubleBatchPredicate} which tests whether a value is strictly greater than {@code ref}.
+     *
+     * @param ref the reference value to compare against
+     * @return a predicate equivalent to {@code x -> x > ref}
+     */
+    public static DoubleBatchPredicate greaterThanDouble(double ref) {
+        return BatchComparisons.greaterThan(ref);
+    }
+
+    /**
+     * Creates a {@link Predicate} which tests whether the {@code double} property
+     * extracted by {@code key} is strictly greater than {@code ref}, without boxing.
+     *
+     * @param ref the reference value to compare against
+     * @param key the function extracting the property; must not be {@code null}
+     * @param <T> the type of the target object to be tested
+     * @return a predicate equivalent to {@code t -> key.applyAsDouble(t) > ref}
+     */
+    public static <T> Predicate<T> greaterThanDouble(double ref, ToDoubleFunction<? super T> key) {
+        return t -> key.applyAsDouble(t) > ref;
     }
 }
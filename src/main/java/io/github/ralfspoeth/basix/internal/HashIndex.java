@@ -0,0 +1,50 @@
+package io.github.ralfspoeth.basix.internal;
+
+/**
+ * Sizing and hashing shared by the open-addressing hash tables of this
+ * module, which probe linearly in a power-of-two table that is never more
+ * than half full.
+ * <p>
+ * This package is not exported; the class is public only so that both
+ * the {@code coll} and the {@code fn} packages can use it.
+ */
+public final class HashIndex {
+
+    /**
+     * The maximum number of keys a table may hold; the table then has
+     * {@code 2^30} slots, the largest power of two an array can have.
+     */
+    public static final int MAX_KEYS = 1 << 29;
+
+    private HashIndex() {}
+
+    /**
+     * The number of slots of a table for up to the given number of keys:
+     * the smallest power of two which is at least twice that number, such
+     * that at most half of the slots are ever occupied and a linear probe
+     * always ends at a free slot.
+     *
+     * @param keys the maximum number of keys
+     * @return the table length, a power of two, at least two
+     * @throws IllegalArgumentException if {@code keys} is greater than
+     *                                  {@link #MAX_KEYS}
+     */
+    public static int tableLength(int keys) {
+        if (keys > MAX_KEYS) {
+            throw new IllegalArgumentException("too many keys for a hash index: " + keys);
+        }
+        return Integer.highestOneBit(Math.max(2 * keys - 1, 1)) << 1;
+    }
+
+    /**
+     * Spread the bits of a hash code such that both the lowest and the
+     * highest bits may serve as an index.
+     *
+     * @param hashCode a hash code
+     * @return the mixed hash
+     */
+    public static int mix(int hashCode) {
+        int h = hashCode * 0x9E3779B9;
+        return h ^ h >>> 16;
+    }
+}
@@ -0,0 +1,162 @@
+package io.github.ralfspoeth.basix.coll;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.IntSupplier;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The waiting operations shared by the concurrent queues.
+ */
+class BlockingQueuesTest {
+
+    interface Take {
+        Integer take() throws InterruptedException;
+    }
+
+    interface TimedPoll {
+        Optional<Integer> poll(Duration timeout) throws InterruptedException;
+    }
+
+    interface Put {
+        void put(Integer item) throws InterruptedException;
+    }
+
+    /**
+     * A queue together with its waiting operations; {@code put} and
+     * {@code capacity} are only meaningful for the bounded queues.
+     */
+    record Blocking(String name, FiFo<?, Integer> queue, Take take, TimedPoll poll, Put put, IntSupplier capacity) {
+
+        static Blocking of(ConcurrentQueue<Integer> q) {
+            return new Blocking("ConcurrentQueue", q, q::take, q::poll, q::add, () -> Integer.MAX_VALUE);
+        }
+
+        static Blocking of(MpmcQueue<Integer> q) {
+            return new Blocking("MpmcQueue", q, q::take, q::poll, q::put, q::capacity);
+        }
+
+        static Blocking of(SpscQueue<Integer> q) {
+            return new Blocking("SpscQueue", q, q::take, q::poll, q::put, q::capacity);
+        }
+
+        static Blocking of(MpscQueue<Integer> q) {
+            return new Blocking("MpscQueue", q, q::take, q::poll, q::put, q::capacity);
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+
+    static Stream<Supplier<Blocking>> queues() {
+        return Stream.concat(
+                Stream.of(() -> Blocking.of(new ConcurrentQueue<>())),
+                boundedQueues()
+        );
+    }
+
+    static Stream<Supplier<Blocking>> boundedQueues() {
+        return Stream.of(
+                () -> Blocking.of(new MpmcQueue<>(1)),
+                () -> Blocking.of(new SpscQueue<>(1)),
+                () -> Blocking.of(new MpscQueue<>(1))
+        );
+    }
+
+    /**
+     * Wait until the given thread is parked without a timeout, i.e. has
+     * registered as a waiter and got past its bounded first park.
+     */
+    private static void awaitParked(Thread thread) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (thread.getState() != Thread.State.WAITING) {
+            assertTrue(thread.isAlive(), "thread terminated before it blocked");
+            assertTrue(System.nanoTime() < deadline, "thread did not block");
+            Thread.onSpinWait();
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("queues")
+    void testTakeWaitsForProducer(Supplier<Blocking> factory) throws Exception {
+        var b = factory.get();
+        var taken = new CompletableFuture<Integer>();
+        var consumer = Thread.ofVirtual().start(() -> {
+            try {
+                taken.complete(b.take().take());
+            } catch (Throwable t) {
+                taken.completeExceptionally(t);
+            }
+        });
+        awaitParked(consumer);
+        assertFalse(taken.isDone());
+        b.queue().add(42);
+        assertEquals(42, taken.get(5, TimeUnit.SECONDS));
+        assertTrue(b.queue().isEmpty());
+    }
+
+    @ParameterizedTest
+    @MethodSource("queues")
+    void testTimedPoll(Supplier<Blocking> factory) throws Exception {
+        var b = factory.get();
+        assertTrue(b.poll().poll(Duration.ofMillis(10)).isEmpty());
+        b.queue().add(1);
+        assertEquals(1, b.poll().poll(Duration.ofMillis(10)).orElseThrow());
+    }
+
+    @ParameterizedTest
+    @MethodSource("queues")
+    void testTakeIsInterruptible(Supplier<Blocking> factory) throws Exception {
+        var b = factory.get();
+        var caught = new AtomicBoolean();
+        var consumer = Thread.ofVirtual().start(() -> {
+            try {
+                b.take().take();
+            } catch (InterruptedException e) {
+                caught.set(true);
+            }
+        });
+        awaitParked(consumer);
+        consumer.interrupt();
+        consumer.join(5_000);
+        assertTrue(caught.get());
+    }
+
+    @ParameterizedTest
+    @MethodSource("boundedQueues")
+    void testPutWaitsForConsumer(Supplier<Blocking> factory) throws Exception {
+        var b = factory.get();
+        int capacity = b.capacity().getAsInt();
+        for (int i = 0; i < capacity; i++) {
+            b.put().put(i);
+        }
+        var put = new CompletableFuture<Boolean>();
+        var producer = Thread.ofVirtual().start(() -> {
+            try {
+                b.put().put(capacity);
+                put.complete(true);
+            } catch (Throwable t) {
+                put.completeExceptionally(t);
+            }
+        });
+        awaitParked(producer);
+        assertFalse(put.isDone());
+        assertEquals(0, b.take().take());
+        assertTrue(put.get(5, TimeUnit.SECONDS));
+        for (int i = 1; i <= capacity; i++) {
+            assertEquals(i, b.take().take());
+        }
+        assertTrue(b.queue().isEmpty());
+    }
+}
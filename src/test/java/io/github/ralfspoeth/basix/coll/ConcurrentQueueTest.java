@@ -3,9 +3,12 @@ package io.github.ralfspoeth.basix.coll;
 import org.jspecify.annotations.NonNull;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -127,4 +130,22 @@ class ConcurrentQueueTest {
         while(!q.isEmpty()) {k++;q.remove();}
         assertEquals(cnt.get(), k);
     }
+
+    @Test
+    void testAddAllDrainTo() throws Exception {
+        var q = new ConcurrentQueue<Integer>();
+        try (var es = Executors.newVirtualThreadPerTaskExecutor()) {
+            var taken = es.submit(q::take);
+            Thread.sleep(20);
+            q.addAll(List.of(1, 2, 3, 4));
+            assertEquals(1, taken.get(5, TimeUnit.SECONDS));
+        }
+        var drained = new ArrayList<Integer>();
+        assertAll(
+                () -> assertEquals(2, q.drainTo(drained, 2)),
+                () -> assertEquals(1, q.drainTo(drained, 2)),
+                () -> assertEquals(List.of(2, 3, 4), drained),
+                () -> assertTrue(q.isEmpty())
+        );
+    }
 }
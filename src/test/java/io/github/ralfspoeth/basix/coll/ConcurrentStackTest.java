@@ -3,10 +3,13 @@ package io.github.ralfspoeth.basix.coll;
 import org.junit.jupiter.api.Test;
 
 import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -72,4 +75,60 @@ class ConcurrentStackTest {
                 () -> assertTrue(recover.size() <= num * parallel)
         );
     }
+
+    @Test
+    void testPushAllPopAll() {
+        var s = new ConcurrentStack<Integer>().push(0).pushAll(List.of(1, 2, 3));
+        assertAll(
+                () -> assertEquals(3, s.top()),
+                () -> assertEquals(List.of(3, 2, 1, 0), s.popAll()),
+                () -> assertTrue(s.isEmpty()),
+                () -> assertEquals(List.of(), s.pushAll(List.of()).popAll())
+        );
+    }
+
+    @Test
+    void testParallelBatches() {
+        // batches are pushed and popped as a whole, so every batch popped
+        // keeps its elements adjacent and in reverse order
+        final int parallel = Runtime.getRuntime().availableProcessors() * 2;
+        final int batches = 1_000;
+        final int batchSize = 8;
+        var s = new ConcurrentStack<Integer>();
+        var popped = new ConcurrentLinkedQueue<List<Integer>>();
+        try (var es = Executors.newFixedThreadPool(parallel)) {
+            for (int p = 0; p < parallel; p++) {
+                final int offset = p * batches * batchSize;
+                es.submit(() -> {
+                    for (int b = 0; b < batches; b++) {
+                        int first = offset + b * batchSize;
+                        s.pushAll(IntStream.range(first, first + batchSize).boxed().toList());
+                        popped.add(s.popAll());
+                    }
+                });
+            }
+        }
+        var all = popped.stream().flatMap(List::stream).toList();
+        assertAll(
+                () -> assertEquals(parallel * batches * batchSize, all.size()),
+                () -> assertEquals(all.size(), new HashSet<>(all).size()),
+                () -> assertTrue(popped.stream().allMatch(l -> {
+                    for (int i = 0; i < l.size(); i += batchSize) {
+                        for (int j = 1; j < batchSize; j++) {
+                            if (l.get(i + j) != l.get(i) - j) return false;
+                        }
+                    }
+                    return true;
+                }))
+        );
+    }
+
+    @Test
+    void testEliminationArguments() {
+        assertAll(
+                () -> assertThrows(IllegalArgumentException.class, () -> new ConcurrentStack<Integer>(-1, 0)),
+                () -> assertThrows(IllegalArgumentException.class, () -> new ConcurrentStack<Integer>(0, -1)),
+                () -> assertEquals(List.of(2, 1), new ConcurrentStack<Integer>(4, 16).push(1).push(2).popAll())
+        );
+    }
 }
@@ -0,0 +1,67 @@
+package io.github.ralfspoeth.basix.coll;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Stress tests shared by the thread-safe stacks.
+ */
+class ConcurrentStacksTest {
+
+    record Named(String name, Supplier<LiFo<?, Integer>> factory) {
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+
+    static Stream<Named> stacks() {
+        return Stream.of(
+                new Named("ConcurrentStack", ConcurrentStack::new),
+                new Named("ConcurrentStack with elimination", () -> new ConcurrentStack<>(2, 64)),
+                new Named("PooledConcurrentStack", PooledConcurrentStack::new)
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("stacks")
+    void testParallelPushPopLosesNothing(Named named) {
+        // every thread pushes distinct elements and pops only even ones;
+        // eliminated or recycled nodes must neither lose nor duplicate an
+        // element, nor hand out an odd one
+        final int parallel = Runtime.getRuntime().availableProcessors() * 4;
+        final int perThread = 20_000;
+        var stack = named.factory().get();
+        stack.push(0);
+        var popped = new ConcurrentLinkedQueue<Integer>();
+        var sequenceNumber = new AtomicInteger();
+        try (var es = Executors.newFixedThreadPool(parallel)) {
+            for (int p = 0; p < parallel; p++) {
+                es.submit(() -> {
+                    int start = sequenceNumber.getAndIncrement() * perThread + 1;
+                    for (int i = start; i < start + perThread; i++) {
+                        stack.push(i);
+                        stack.popIf(e -> e != null && e % 2 == 0).ifPresent(popped::add);
+                    }
+                });
+            }
+        }
+        var all = new ArrayList<>(popped);
+        all.addAll(stack.popAll());
+        assertAll(
+                () -> assertTrue(popped.stream().allMatch(e -> e % 2 == 0)),
+                () -> assertEquals(parallel * perThread + 1, all.size()),
+                () -> assertEquals(all.size(), new HashSet<>(all).size())
+        );
+    }
+}
@@ -0,0 +1,25 @@
+package io.github.ralfspoeth.basix.coll;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.NoSuchElementException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DoubleStackTest {
+
+    @Test
+    void testPushPop() {
+        var s = new DoubleStack();
+        assertAll(
+                () -> assertTrue(s.isEmpty()),
+                () -> assertEquals(Double.NaN, s.topOr(Double.NaN)),
+                () -> assertEquals(0.5, s.pushIfEmpty(0.5).top()),
+                () -> assertEquals(1.5, s.pushIf(1.5, d -> d < 1).top()),
+                () -> assertTrue(s.popIf(d -> d < 1).isEmpty()),
+                () -> assertEquals(1.5, s.pop()),
+                () -> assertEquals(0.5, s.popIfNotEmpty().orElseThrow()),
+                () -> assertThrows(NoSuchElementException.class, s::top)
+        );
+    }
+}
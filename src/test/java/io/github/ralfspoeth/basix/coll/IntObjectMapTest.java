@@ -0,0 +1,90 @@
+package io.github.ralfspoeth.basix.coll;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IntObjectMapTest {
+
+    @Test
+    void testEmpty() {
+        var m = new IntObjectMap<String>();
+        assertAll(
+                () -> assertTrue(m.isEmpty()),
+                () -> assertEquals(0, m.size()),
+                () -> assertFalse(m.containsKey(0)),
+                () -> assertNull(m.get(0)),
+                () -> assertEquals("x", m.getOrDefault(0, "x")),
+                () -> assertEquals(0, m.keys().length),
+                () -> assertEquals(List.of(), m.values()),
+                () -> assertEquals("{}", m.toString()),
+                () -> assertThrows(IllegalArgumentException.class, () -> new IntObjectMap<String>(-1)),
+                () -> assertThrows(IllegalArgumentException.class, () -> new IntObjectMap<String>((1 << 29) + 1))
+        );
+    }
+
+    @Test
+    void testPutGet() {
+        var m = new IntObjectMap<String>(0);
+        assertAll(
+                () -> assertNull(m.put(2, "two")),
+                () -> assertNull(m.put(1, "one")),
+                () -> assertNull(m.put(0, null)),
+                () -> assertEquals("one", m.put(1, "eins")),
+                () -> assertEquals(3, m.size()),
+                () -> assertEquals("eins", m.get(1)),
+                () -> assertTrue(m.containsKey(0)),
+                () -> assertNull(m.getOrDefault(0, "x")),
+                () -> assertArrayEquals(new int[]{2, 1, 0}, m.keys()),
+                () -> assertEquals(Arrays.asList("two", "eins", null), m.values()),
+                () -> assertEquals("{2=two, 1=eins, 0=null}", m.toString())
+        );
+    }
+
+    @Test
+    void testGrowKeepsOrder() {
+        // keys which collide in the lower bits
+        var keys = IntStream.range(0, 10_000).map(i -> i << 16).toArray();
+        var m = new IntObjectMap<Integer>();
+        for (int k : keys) m.put(k, k);
+        var visited = new ArrayList<Integer>();
+        m.forEach((k, v) -> {
+            assertEquals(k, v);
+            visited.add(k);
+        });
+        assertAll(
+                () -> assertEquals(keys.length, m.size()),
+                () -> assertArrayEquals(keys, m.keys()),
+                () -> assertEquals(IntStream.of(keys).boxed().toList(), visited),
+                () -> assertTrue(IntStream.of(keys).allMatch(k -> m.get(k) == k)),
+                () -> assertFalse(m.containsKey(1))
+        );
+    }
+
+    @Test
+    void testEqualsHashCode() {
+        var a = new IntObjectMap<String>();
+        a.put(1, "one");
+        a.put(2, "two");
+        var b = new IntObjectMap<String>();
+        b.put(2, "two");
+        b.put(1, "one");
+        var c = new IntObjectMap<String>();
+        c.put(1, "one");
+        c.put(2, "zwei");
+        assertAll(
+                () -> assertEquals(a, b),
+                () -> assertEquals(a.hashCode(), b.hashCode()),
+                () -> assertEquals(new HashMap<>(Map.of(1, "one", 2, "two")).hashCode(), a.hashCode()),
+                () -> assertNotEquals(a, c),
+                () -> assertNotEquals(a, new IntObjectMap<String>())
+        );
+    }
+}
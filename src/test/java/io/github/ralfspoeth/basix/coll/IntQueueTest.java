@@ -0,0 +1,68 @@
+package io.github.ralfspoeth.basix.coll;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IntQueueTest {
+
+    @Test
+    void testEmpty() {
+        var q = new IntQueue();
+        assertAll(
+                () -> assertTrue(q.isEmpty()),
+                () -> assertThrows(NoSuchElementException.class, q::remove),
+                () -> assertThrows(NoSuchElementException.class, q::headAsInt),
+                () -> assertThrows(NoSuchElementException.class, q::tailAsInt),
+                () -> assertEquals(-1, q.pollOr(-1)),
+                () -> assertTrue(q.removeIfNotEmpty().isEmpty()),
+                () -> assertTrue(q.head().isEmpty()),
+                () -> assertTrue(q.tail().isEmpty())
+        );
+    }
+
+    @Test
+    void testTwo() {
+        var q = new IntQueue();
+        assertAll(
+                () -> assertFalse(q.add(1).isEmpty()),
+                () -> assertFalse(q.add(2).isEmpty()),
+                () -> assertEquals(1, q.headAsInt()),
+                () -> assertEquals(2, q.tailAsInt()),
+                () -> assertEquals(1, q.remove()),
+                () -> assertEquals(2, q.pollOr(-1)),
+                () -> assertTrue(q.isEmpty())
+        );
+    }
+
+    @Test
+    void testRemoveAfterWrapFillsCompletely() {
+        var q = new IntQueue();
+        q.add(1).add(2).add(3).add(4);     // top=0, next=4
+        assertEquals(1, q.remove());       // top=1, next=4
+        q.add(5);                          // top=1, next=1, data=[5,2,3,4]
+        assertEquals(5, q.tailAsInt());
+        assertEquals(2, q.remove());
+        q.add(6).add(7);                   // grows from the full-wrap state
+        var result = new ArrayList<Integer>();
+        while (!q.isEmpty()) result.add(q.remove());
+        assertEquals(List.of(3, 4, 5, 6, 7), result);
+    }
+
+    @Test
+    void testInterleavedBeyondInitialCapacity() {
+        var q = new IntQueue();
+        var result = new ArrayList<Integer>();
+        for (int i = 0; i < 100; i++) {
+            q.add(2 * i).add(2 * i + 1);
+            result.add(q.remove());
+        }
+        while (!q.isEmpty()) result.add(q.remove());
+        assertEquals(IntStream.range(0, 200).boxed().toList(), result);
+    }
+}
@@ -0,0 +1,77 @@
+package io.github.ralfspoeth.basix.coll;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.NoSuchElementException;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IntStackTest {
+
+    @Test
+    void testEmpty() {
+        var s = new IntStack();
+        assertAll(
+                () -> assertTrue(s.isEmpty()),
+                () -> assertThrows(NoSuchElementException.class, s::pop),
+                () -> assertThrows(NoSuchElementException.class, s::top),
+                () -> assertEquals(-1, s.topOr(-1)),
+                () -> assertTrue(s.popIfNotEmpty().isEmpty()),
+                () -> assertTrue(s.popIf(_ -> true).isEmpty())
+        );
+    }
+
+    @Test
+    void testSingle() {
+        assertAll(
+                () -> assertFalse(new IntStack().push(1).isEmpty()),
+                () -> assertEquals(1, new IntStack().push(1).top()),
+                () -> assertEquals(1, new IntStack().push(1).topOr(-1)),
+                () -> assertEquals(1, new IntStack().push(1).pop()),
+                () -> assertTrue(new IntStack().push(1).popIfNotEmpty().isPresent())
+        );
+    }
+
+    @Test
+    void testPushIf() {
+        // given: an empty stack
+        var s = new IntStack();
+        assertAll(
+                // then: the condition is not tested on an empty stack
+                () -> assertTrue(s.pushIf(1, _ -> true).isEmpty()),
+                // then: pushIfEmpty succeeds once
+                () -> assertEquals(1, s.pushIfEmpty(1).top()),
+                () -> assertEquals(1, s.pushIfEmpty(2).top()),
+                // then: pushIf tests the topmost element
+                () -> assertEquals(1, s.pushIf(3, t -> t > 1).top()),
+                () -> assertEquals(3, s.pushIf(3, t -> t == 1).top())
+        );
+    }
+
+    @Test
+    void testPopIf() {
+        var s = new IntStack().push(1).push(2);
+        assertAll(
+                () -> assertTrue(s.popIf(t -> t == 1).isEmpty()),
+                () -> assertEquals(2, s.popIf(t -> t == 2).orElseThrow()),
+                () -> assertEquals(1, s.popIfNotEmpty().orElseThrow()),
+                () -> assertTrue(s.isEmpty())
+        );
+    }
+
+    @Test
+    void testRangeBeyondInitialCapacity() {
+        // given
+        var stack = new IntStack();
+        IntStream.range(0, 100).forEach(stack::push);
+        // when
+        var result = new ArrayList<Integer>();
+        while (!stack.isEmpty()) {
+            result.add(stack.pop());
+        }
+        // then
+        assertEquals(IntStream.iterate(99, i -> i - 1).limit(100).boxed().toList(), result);
+    }
+}
@@ -0,0 +1,27 @@
+package io.github.ralfspoeth.basix.coll;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LongQueueTest {
+
+    @Test
+    void testAddRemove() {
+        var q = new LongQueue();
+        for (long l = 0; l < 10; l++) q.add(l << 40);
+        assertAll(
+                () -> assertEquals(0L, q.headAsLong()),
+                () -> assertEquals(9L << 40, q.tailAsLong()),
+                () -> assertEquals(0L, q.removeIfNotEmpty().orElseThrow()),
+                () -> assertEquals(1L << 40, q.head().orElseThrow()),
+                () -> assertEquals(9L << 40, q.tail().orElseThrow())
+        );
+        long expected = 1L << 40;
+        while (!q.isEmpty()) {
+            assertEquals(expected, q.pollOr(-1L));
+            expected += 1L << 40;
+        }
+        assertEquals(-1L, q.pollOr(-1L));
+    }
+}
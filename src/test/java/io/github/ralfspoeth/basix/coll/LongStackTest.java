@@ -0,0 +1,25 @@
+package io.github.ralfspoeth.basix.coll;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.NoSuchElementException;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LongStackTest {
+
+    @Test
+    void testPushPop() {
+        var s = new LongStack();
+        LongStream.range(0, 100).map(l -> l << 32).forEach(s::push);
+        assertAll(
+                () -> assertEquals(99L << 32, s.top()),
+                () -> assertEquals(99L << 32, s.pop()),
+                () -> assertEquals(98L << 32, s.popIf(l -> l > 0).orElseThrow()),
+                () -> assertEquals(97L << 32, s.pushIf(1L, l -> l < 0).top())
+        );
+        while (!s.isEmpty()) s.pop();
+        assertThrows(NoSuchElementException.class, s::pop);
+    }
+}
@@ -0,0 +1,125 @@
+package io.github.ralfspoeth.basix.coll;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MpmcQueueTest {
+
+    @Test
+    void testCapacity() {
+        assertAll(
+                () -> assertEquals(2, new MpmcQueue<Integer>(1).capacity()),
+                () -> assertEquals(4, new MpmcQueue<Integer>(3).capacity()),
+                () -> assertEquals(1024, new MpmcQueue<Integer>(1024).capacity()),
+                () -> assertThrows(IllegalArgumentException.class, () -> new MpmcQueue<Integer>(0))
+        );
+    }
+
+    @Test
+    void testCapacityOneKeepsBothElements() {
+        var q = new MpmcQueue<Integer>(1);
+        assertAll(
+                () -> assertTrue(q.offer(1)),
+                () -> assertTrue(q.offer(2)),
+                () -> assertEquals(1, q.poll().orElseThrow()),
+                () -> assertEquals(2, q.poll().orElseThrow()),
+                () -> assertTrue(q.poll().isEmpty())
+        );
+    }
+
+    @Test
+    void someBasics() {
+        var q = new MpmcQueue<Integer>(4);
+        assertAll(
+                () -> assertTrue(q.isEmpty()),
+                () -> assertTrue(q.head().isEmpty()),
+                () -> assertTrue(q.tail().isEmpty()),
+                () -> assertTrue(q.poll().isEmpty()),
+                () -> assertThrows(NoSuchElementException.class, q::remove),
+                () -> assertFalse(q.add(1).add(2).isEmpty()),
+                () -> assertEquals(1, q.head().orElseThrow()),
+                () -> assertEquals(2, q.tail().orElseThrow()),
+                () -> assertEquals(1, q.remove()),
+                () -> assertEquals(2, q.removeIfNotEmpty().orElseThrow()),
+                () -> assertTrue(q.isEmpty())
+        );
+    }
+
+    @Test
+    void testFull() {
+        var q = new MpmcQueue<Integer>(2);
+        assertAll(
+                () -> assertTrue(q.offer(1)),
+                () -> assertTrue(q.offer(2)),
+                () -> assertFalse(q.offer(3)),
+                () -> assertThrows(IllegalStateException.class, () -> q.add(3)),
+                () -> assertEquals(1, q.poll().orElseThrow()),
+                () -> assertTrue(q.offer(3)),
+                () -> assertEquals(3, q.tail().orElseThrow())
+        );
+    }
+
+    @Test
+    void testManyLaps() {
+        var q = new MpmcQueue<Integer>(4);
+        for (int i = 0; i < 1_000; i++) {
+            q.add(i).add(i + 1);
+            assertEquals(i, q.remove());
+            assertEquals(i + 1, q.remove());
+        }
+        assertTrue(q.isEmpty());
+    }
+
+    @Test
+    void testParallelProducersAndConsumers() {
+        final int parallel = Math.max(2, Runtime.getRuntime().availableProcessors());
+        final int perProducer = 50_000;
+        var q = new MpmcQueue<Integer>(64);
+        var seen = ConcurrentHashMap.<Integer>newKeySet();
+        var consumed = new AtomicInteger();
+        var sequenceNumber = new AtomicInteger();
+        try (var es = Executors.newFixedThreadPool(parallel * 2)) {
+            for (int p = 0; p < parallel; p++) {
+                es.submit(() -> {
+                    int start = sequenceNumber.getAndIncrement() * perProducer;
+                    for (int j = start; j < start + perProducer; j++) {
+                        while (!q.offer(j)) Thread.onSpinWait();
+                    }
+                });
+                es.submit(() -> {
+                    while (consumed.get() < parallel * perProducer) {
+                        q.poll().ifPresent(i -> {
+                            seen.add(i);
+                            consumed.incrementAndGet();
+                        });
+                    }
+                });
+            }
+        }
+        assertAll(
+                () -> assertEquals(parallel * perProducer, consumed.get()),
+                () -> assertEquals(parallel * perProducer, seen.size()),
+                () -> assertTrue(q.isEmpty())
+        );
+    }
+
+    @Test
+    void testAddAllDrainTo() {
+        var q = new MpmcQueue<Integer>(4).addAll(List.of(1, 2, 3));
+        var drained = new ArrayList<Integer>();
+        assertAll(
+                () -> assertThrows(IllegalStateException.class, () -> q.addAll(List.of(4, 5))),
+                () -> assertEquals(4, q.drainTo(drained, 10)),
+                () -> assertEquals(List.of(1, 2, 3, 4), drained),
+                () -> assertTrue(q.isEmpty())
+        );
+    }
+}
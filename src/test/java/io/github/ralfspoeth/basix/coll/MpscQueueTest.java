@@ -0,0 +1,89 @@
+package io.github.ralfspoeth.basix.coll;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.NoSuchElementException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MpscQueueTest {
+
+    @Test
+    void someBasics() {
+        var q = new MpscQueue<Integer>(3);
+        assertAll(
+                () -> assertEquals(4, q.capacity()),
+                () -> assertTrue(q.isEmpty()),
+                () -> assertTrue(q.head().isEmpty()),
+                () -> assertTrue(q.tail().isEmpty()),
+                () -> assertThrows(NoSuchElementException.class, q::remove),
+                () -> assertFalse(q.add(1).add(2).add(3).add(4).offer(5)),
+                () -> assertEquals(1, q.head().orElseThrow()),
+                () -> assertEquals(4, q.tail().orElseThrow()),
+                () -> assertEquals(1, q.remove()),
+                () -> assertTrue(q.offer(5)),
+                () -> assertEquals(2, q.removeIfNotEmpty().orElseThrow()),
+                () -> assertEquals(3, q.poll().orElseThrow()),
+                () -> assertEquals(4, q.poll().orElseThrow()),
+                () -> assertEquals(5, q.poll().orElseThrow()),
+                () -> assertTrue(q.isEmpty())
+        );
+    }
+
+    @Test
+    void testManyProducersPreservePerProducerOrder() throws Exception {
+        final int producers = Math.max(2, Runtime.getRuntime().availableProcessors() - 1);
+        final int perProducer = 100_000;
+        var q = new MpscQueue<long[]>(256);
+        try (var es = Executors.newFixedThreadPool(producers + 1)) {
+            for (int p = 0; p < producers; p++) {
+                final int producer = p;
+                es.submit(() -> {
+                    for (int i = 0; i < perProducer; i++) {
+                        var item = new long[]{producer, i};
+                        while (!q.offer(item)) Thread.onSpinWait();
+                    }
+                });
+            }
+            Future<Boolean> inOrder = es.submit(() -> {
+                var expected = new long[producers];
+                for (int n = 0; n < producers * perProducer; n++) {
+                    long[] next;
+                    while ((next = q.poll().orElse(null)) == null) Thread.onSpinWait();
+                    if (next[1] != expected[(int) next[0]]++) return false;
+                }
+                return true;
+            });
+            assertTrue(inOrder.get());
+        }
+        assertTrue(q.isEmpty());
+    }
+
+    @Test
+    void testDrainTo() throws Exception {
+        final int producers = 4;
+        final int perProducer = 10_000;
+        var q = new MpscQueue<Integer>(64);
+        var drained = new ArrayList<Integer>();
+        try (var es = Executors.newFixedThreadPool(producers)) {
+            for (int p = 0; p < producers; p++) {
+                es.submit(() -> {
+                    for (int i = 0; i < perProducer; i++) q.put(i);
+                    return null;
+                });
+            }
+            while (drained.size() < producers * perProducer) {
+                if (q.drainTo(drained, 16) == 0) Thread.onSpinWait();
+            }
+        }
+        assertAll(
+                () -> assertEquals(producers * perProducer, drained.size()),
+                () -> assertEquals((long) producers * perProducer * (perProducer - 1) / 2,
+                        drained.stream().mapToLong(Integer::longValue).sum()),
+                () -> assertTrue(q.isEmpty())
+        );
+    }
+}
@@ -0,0 +1,129 @@
+package io.github.ralfspoeth.basix.coll;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.AbstractCollection;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PooledConcurrentStackTest {
+
+    @Test
+    void someBasics() {
+        var s = new PooledConcurrentStack<Integer>();
+        //noinspection DataFlowIssue
+        assertAll(
+                () -> assertTrue(s.isEmpty()),
+                () -> assertNull(s.top()),
+                () -> assertThrows(NoSuchElementException.class, s::pop),
+                () -> assertTrue(s.popIfNotEmpty().isEmpty()),
+                () -> assertThrows(NullPointerException.class, () -> s.push(null)),
+                () -> assertEquals(2, s.push(1).push(2).top()),
+                () -> assertEquals(2, s.pop()),
+                () -> assertEquals(1, s.pop()),
+                () -> assertTrue(s.isEmpty())
+        );
+    }
+
+    @Test
+    void testConditionals() {
+        var s = new PooledConcurrentStack<Integer>();
+        assertAll(
+                () -> assertEquals(1, s.pushIfEmpty(1).top()),
+                () -> assertEquals(1, s.pushIfEmpty(2).top()),
+                () -> assertEquals(3, s.pushIf(3, e -> Objects.equals(e, 1)).top()),
+                () -> assertEquals(3, s.pushIf(4, e -> Objects.equals(e, 1)).top()),
+                () -> assertTrue(s.popIf(e -> Objects.equals(e, 1)).isEmpty()),
+                () -> assertEquals(3, s.popIf(e -> Objects.equals(e, 3)).orElseThrow()),
+                () -> assertEquals(List.of(1), s.popAll())
+        );
+    }
+
+    @Test
+    void testRecyclesAcrossChunks() {
+        var s = new PooledConcurrentStack<Integer>();
+        for (int round = 0; round < 3; round++) {
+            s.pushAll(IntStream.range(0, 1_000).boxed().toList());
+            for (int i = 999; i >= 500; i--) {
+                assertEquals(i, s.pop());
+            }
+            assertEquals(IntStream.iterate(499, i -> i >= 0, i -> i - 1).boxed().toList(), s.popAll());
+            assertTrue(s.isEmpty());
+        }
+    }
+
+    @Test
+    void testFailedPushAllReturnsNodesToThePool() {
+        var s = new PooledConcurrentStack<Integer>().push(1);
+        var throwing = new AbstractCollection<Integer>() {
+            @Override
+            public Iterator<Integer> iterator() {
+                return Stream.<Supplier<Integer>>of(() -> 2, () -> 3, () -> {
+                    throw new IllegalStateException();
+                }).map(Supplier::get).iterator();
+            }
+
+            @Override
+            public int size() {
+                return 3;
+            }
+        };
+        assertAll(
+                () -> assertThrows(NullPointerException.class, () -> s.pushAll(Arrays.asList(2, 3, null))),
+                () -> assertThrows(IllegalStateException.class, () -> s.pushAll(throwing)),
+                () -> assertEquals(1, s.top()),
+                () -> assertEquals(3, s.pooled())
+        );
+        // the two nodes of the failed batches are free again
+        s.pushAll(List.of(2, 3));
+        assertAll(
+                () -> assertEquals(3, s.pooled()),
+                () -> assertEquals(List.of(3, 2, 1), s.popAll())
+        );
+    }
+
+    @Test
+    void testRecyclesUnderContention() throws Exception {
+        // every thread pops one element per push, so no more nodes are in
+        // use at any time than two per thread: one on the stack and one
+        // being pushed or released; a thread which found the free list
+        // empty may allocate one more after others have released theirs
+        final int parallel = Runtime.getRuntime().availableProcessors() * 4;
+        final int perThread = 20_000;
+        var stack = new PooledConcurrentStack<Integer>();
+        var sums = new ArrayList<Future<Long>>();
+        try (var es = Executors.newFixedThreadPool(parallel)) {
+            for (int p = 0; p < parallel; p++) {
+                final int base = p * perThread;
+                sums.add(es.submit(() -> {
+                    long sum = 0;
+                    for (int i = base; i < base + perThread; i++) {
+                        sum += stack.push(i).pop();
+                    }
+                    return sum;
+                }));
+            }
+        }
+        long total = 0;
+        for (var sum : sums) {
+            total += sum.get();
+        }
+        long n = (long) parallel * perThread;
+        assertAll(
+                () -> assertTrue(stack.isEmpty()),
+                () -> assertTrue(stack.pooled() <= 3 * parallel, () -> "pooled " + stack.pooled())
+        );
+        assertEquals(n * (n - 1) / 2, total);
+    }
+}
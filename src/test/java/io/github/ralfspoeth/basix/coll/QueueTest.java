@@ -4,6 +4,7 @@ import org.jspecify.annotations.NullMarked;
 import org.junit.jupiter.api.Test;
 
 import java.util.ArrayList;
+import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.stream.IntStream;
 
@@ -17,6 +18,7 @@ class QueueTest {
         var q = new Queue<Integer>();
         //noinspection DataFlowIssue
         assertThrows(NullPointerException.class, () -> q.add(null));
+        assertTrue(q.isEmpty());
     }
 
     @Test
@@ -119,4 +121,75 @@ class QueueTest {
         );
     }
 
-}
\ No newline at end of file
+    @Test
+    void testAddAllDrainTo() {
+        var q = new Queue<Integer>().addAll(List.of(1, 2, 3, 4, 5));
+        var drained = new ArrayList<Integer>();
+        assertAll(
+                () -> assertEquals(3, q.drainTo(drained, 3)),
+                () -> assertEquals(List.of(1, 2, 3), drained),
+                () -> assertEquals(2, q.drainTo(drained, 10)),
+                () -> assertEquals(List.of(1, 2, 3, 4, 5), drained),
+                () -> assertEquals(0, q.drainTo(drained, 10)),
+                () -> assertTrue(q.isEmpty()),
+                () -> assertThrows(IllegalArgumentException.class, () -> q.drainTo(drained, -1))
+        );
+    }
+
+    @Test
+    void testCapacity() {
+        var queue = new Queue<Integer>(3);
+        assertAll(
+                () -> assertEquals(4, new Queue<Integer>().capacity()),
+                () -> assertEquals(3, queue.capacity()),
+                () -> assertEquals(12, queue.ensureCapacity(10).capacity()),
+                () -> assertEquals(12, queue.ensureCapacity(5).capacity()),
+                () -> assertThrows(IllegalArgumentException.class, () -> new Queue<Integer>(0)),
+                () -> assertThrows(IllegalArgumentException.class, () -> new Queue<Integer>(-1, true))
+        );
+    }
+
+    @Test
+    void testEnsureCapacityKeepsOrder() {
+        // wrap around first, then grow
+        var queue = new Queue<Integer>(4);
+        queue.add(0).add(1).add(2).add(3);
+        queue.remove();
+        queue.remove();
+        queue.add(4).add(5);
+        queue.ensureCapacity(100);
+        queue.addAll(IntStream.range(6, 200).boxed().toList());
+        var drained = new ArrayList<Integer>();
+        queue.drainTo(drained, Integer.MAX_VALUE);
+        assertAll(
+                () -> assertEquals(IntStream.range(2, 200).boxed().toList(), drained),
+                () -> assertEquals(256, queue.capacity())
+        );
+    }
+
+    @Test
+    void testShrinking() {
+        var queue = new Queue<Integer>(4, true);
+        // keep the queue wrapped around while it grows and shrinks
+        int added = 0, removed = 0;
+        for (; added < 1000; added++) {
+            queue.add(added);
+            if (added % 3 == 0) {
+                assertEquals(removed++, queue.remove());
+            }
+        }
+        int peak = queue.capacity();
+        while (!queue.isEmpty()) {
+            assertEquals(removed++, queue.remove());
+        }
+        assertAll(
+                () -> assertEquals(1024, peak),
+                () -> assertEquals(4, queue.capacity())
+        );
+        for (int i = 0; i < 100; i++) {
+            queue.add(i);
+            assertEquals(i, queue.remove());
+        }
+        assertEquals(4, queue.capacity());
+    }
+}
@@ -0,0 +1,93 @@
+package io.github.ralfspoeth.basix.coll;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpscQueueTest {
+
+    @Test
+    void someBasics() {
+        var q = new SpscQueue<Integer>(2);
+        assertAll(
+                () -> assertEquals(2, q.capacity()),
+                () -> assertTrue(q.isEmpty()),
+                () -> assertTrue(q.poll().isEmpty()),
+                () -> assertThrows(NoSuchElementException.class, q::remove),
+                () -> assertTrue(q.offer(1)),
+                () -> assertTrue(q.offer(2)),
+                () -> assertFalse(q.offer(3)),
+                () -> assertThrows(IllegalStateException.class, () -> q.add(3)),
+                () -> assertEquals(1, q.head().orElseThrow()),
+                () -> assertEquals(2, q.tail().orElseThrow()),
+                () -> assertEquals(1, q.remove()),
+                () -> assertTrue(q.offer(3)),
+                () -> assertEquals(2, q.removeIfNotEmpty().orElseThrow()),
+                () -> assertEquals(3, q.poll().orElseThrow()),
+                () -> assertTrue(q.isEmpty())
+        );
+    }
+
+    @Test
+    void testTransferPreservesOrder() throws Exception {
+        final int items = 1_000_000;
+        var q = new SpscQueue<Integer>(128);
+        try (var es = Executors.newFixedThreadPool(2)) {
+            es.submit(() -> {
+                for (int i = 0; i < items; i++) {
+                    while (!q.offer(i)) Thread.onSpinWait();
+                }
+            });
+            Future<Boolean> inOrder = es.submit(() -> {
+                for (int i = 0; i < items; i++) {
+                    Integer next;
+                    while ((next = q.poll().orElse(null)) == null) Thread.onSpinWait();
+                    if (next != i) return false;
+                }
+                return true;
+            });
+            assertTrue(inOrder.get());
+        }
+        assertTrue(q.isEmpty());
+    }
+
+    @Test
+    void testAddAllDrainTo() {
+        var q = new SpscQueue<Integer>(4).addAll(List.of(1, 2, 3));
+        var drained = new ArrayList<Integer>();
+        assertAll(
+                () -> assertThrows(IllegalStateException.class, () -> q.addAll(List.of(4, 5))),
+                () -> assertEquals(2, q.drainTo(drained, 2)),
+                () -> assertThrows(NullPointerException.class, () -> q.addAll(Arrays.asList(4, null))),
+                () -> assertEquals(3, q.tail().orElseThrow()),
+                () -> assertSame(q, q.addAll(List.of(4, 5, 6))),
+                () -> assertEquals(4, q.drainTo(drained, 10)),
+                () -> assertEquals(List.of(1, 2, 3, 4, 5, 6), drained),
+                () -> assertTrue(q.isEmpty())
+        );
+    }
+
+    @Test
+    void testDrainToKeepsElementsTheTargetRejects() {
+        var q = new SpscQueue<Integer>(4).addAll(List.of(1, 2, 3));
+        var target = new ArrayList<Integer>() {
+            @Override
+            public boolean add(Integer i) {
+                if (i == 2) throw new IllegalArgumentException();
+                return super.add(i);
+            }
+        };
+        assertAll(
+                () -> assertThrows(IllegalArgumentException.class, () -> q.drainTo(target, 3)),
+                () -> assertEquals(List.of(1), target),
+                () -> assertEquals(2, q.remove())
+        );
+    }
+}
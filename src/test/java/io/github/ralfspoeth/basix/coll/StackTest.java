@@ -4,6 +4,8 @@ import org.jspecify.annotations.NonNull;
 import org.junit.jupiter.api.Test;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.stream.IntStream;
@@ -97,4 +99,68 @@ class StackTest {
         }
         assertEquals(al, result);
     }
-}
\ No newline at end of file
+
+    @Test
+    void testPushAllPopAll() {
+        var s = new Stack<@NonNull Integer>().push(0);
+        s.pushAll(IntStream.rangeClosed(1, 40).boxed().toList());
+        assertAll(
+                () -> assertEquals(40, s.top()),
+                () -> assertEquals(IntStream.iterate(40, i -> i >= 0, i -> i - 1).boxed().toList(), s.popAll()),
+                () -> assertTrue(s.isEmpty()),
+                () -> assertEquals(List.of(), s.popAll()),
+                () -> assertThrows(NullPointerException.class, () -> s.pushAll(Arrays.asList(1, null)))
+        );
+    }
+
+    @Test
+    void testCapacity() {
+        var stack = new Stack<Integer>(3);
+        assertAll(
+                () -> assertEquals(16, new Stack<Integer>().capacity()),
+                () -> assertEquals(3, stack.capacity()),
+                () -> assertEquals(12, stack.ensureCapacity(10).capacity()),
+                () -> assertEquals(12, stack.ensureCapacity(5).capacity()),
+                () -> assertEquals(24, stack.push(1).pushAll(IntStream.range(0, 12).boxed().toList()).capacity()),
+                () -> assertThrows(IllegalArgumentException.class, () -> new Stack<Integer>(0)),
+                () -> assertThrows(IllegalArgumentException.class, () -> new Stack<Integer>(-1, true))
+        );
+    }
+
+    @Test
+    void testShrinking() {
+        var stack = new Stack<Integer>(4, true);
+        IntStream.range(0, 1024).forEach(stack::push);
+        assertEquals(1024, stack.capacity());
+        // halved at a quarter, still half full afterwards
+        for (int i = 1023; i >= 256; i--) {
+            assertEquals(i, stack.pop());
+        }
+        assertEquals(512, stack.capacity());
+        // no resizing back and forth at the boundary
+        stack.push(256);
+        stack.pop();
+        stack.push(256);
+        assertEquals(512, stack.capacity());
+        for (int i = 256; i >= 0; i--) {
+            assertEquals(i, stack.pop());
+        }
+        assertAll(
+                () -> assertTrue(stack.isEmpty()),
+                () -> assertEquals(4, stack.capacity())
+        );
+        IntStream.range(0, 100).forEach(stack::push);
+        assertAll(
+                () -> assertEquals(IntStream.range(0, 100).map(i -> 99 - i).boxed().toList(), stack.popAll()),
+                () -> assertEquals(4, stack.capacity())
+        );
+    }
+
+    @Test
+    void testNotShrinking() {
+        var stack = new Stack<Integer>();
+        IntStream.range(0, 1024).forEach(stack::push);
+        while (!stack.isEmpty()) stack.pop();
+        assertEquals(1024, stack.capacity());
+    }
+}
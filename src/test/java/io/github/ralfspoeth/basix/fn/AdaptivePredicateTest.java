@@ -0,0 +1,82 @@
+package io.github.ralfspoeth.basix.fn;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptivePredicateTest {
+
+    @Test
+    void testEmpty() {
+        assertAll(
+                () -> assertTrue(AdaptivePredicate.allOf().test(1)),
+                () -> assertFalse(AdaptivePredicate.anyOf().test(1)),
+                () -> assertThrows(NullPointerException.class, () -> AdaptivePredicate.allOf((Predicate<Object>) null)),
+                () -> assertThrows(NullPointerException.class, () -> AdaptivePredicate.allOf(_ -> true).and(null))
+        );
+    }
+
+    @Test
+    void testSameResultsAsPlainComposition() {
+        Predicate<Integer> even = i -> i % 2 == 0;
+        Predicate<Integer> small = i -> i < 100;
+        Predicate<Integer> byThree = i -> i % 3 == 0;
+        var all = AdaptivePredicate.allOf(even, small, byThree);
+        var any = AdaptivePredicate.anyOf(even, small, byThree);
+        var nested = AdaptivePredicate.allOf(even, AdaptivePredicate.anyOf(small, byThree));
+        var rnd = new Random(3);
+        for (int n = 0; n < 100_000; n++) {
+            int i = rnd.nextInt(1_000);
+            assertEquals(even.and(small).and(byThree).test(i), all.test(i));
+            assertEquals(even.or(small).or(byThree).test(i), any.test(i));
+            assertEquals(even.and(small.or(byThree)).test(i), nested.test(i));
+        }
+    }
+
+    @Test
+    void testFlattening() {
+        Predicate<Integer> a = _ -> true, b = _ -> true, c = _ -> true, d = _ -> true;
+        var nested = AdaptivePredicate.allOf(AdaptivePredicate.allOf(a, b), c);
+        var mixed = AdaptivePredicate.allOf(AdaptivePredicate.anyOf(a, b), c);
+        assertAll(
+                () -> assertEquals(List.of(a, b, c), nested.terms()),
+                () -> assertEquals(List.of(a, b, c, d), nested.and(d).terms()),
+                () -> assertEquals(2, nested.or(d).terms().size()),
+                () -> assertEquals(2, mixed.terms().size()),
+                () -> assertEquals(List.of(a, b, c, d), AdaptivePredicate.anyOf(a, b).or(c).or(d).terms())
+        );
+    }
+
+    @Test
+    void testReordersByDecisiveness() {
+        Predicate<Integer> mostlyTrue = i -> i % 10 != 0;
+        Predicate<Integer> mostlyFalse = i -> i % 50 == 0;
+        Predicate<Integer> alwaysTrue = _ -> true;
+        var all = new AdaptivePredicate<Integer>(true, List.of(alwaysTrue, mostlyTrue, mostlyFalse), 1, 16);
+        var any = new AdaptivePredicate<Integer>(false, List.of(mostlyFalse, mostlyTrue), 1, 16);
+        IntStream.range(0, 10_000).forEach(i -> {
+            all.test(i);
+            any.test(i);
+        });
+        assertAll(
+                () -> assertEquals(List.of(mostlyFalse, mostlyTrue, alwaysTrue), all.terms()),
+                () -> assertEquals(List.of(mostlyTrue, mostlyFalse), any.terms())
+        );
+    }
+
+    @Test
+    void testFollowsChangingData() {
+        Predicate<Integer> negative = i -> i < 0;
+        Predicate<Integer> positive = i -> i > 0;
+        var all = new AdaptivePredicate<Integer>(true, List.of(negative, positive), 1, 16);
+        IntStream.range(1, 10_000).forEach(all::test);
+        assertEquals(negative, all.terms().getFirst());
+        IntStream.range(1, 10_000).map(i -> -i).forEach(all::test);
+        assertEquals(positive, all.terms().getFirst());
+    }
+}
@@ -1,13 +1,16 @@
 package io.github.ralfspoeth.basix.fn;
 
+import org.jspecify.annotations.Nullable;
 import org.junit.jupiter.api.Test;
 
+import java.time.Duration;
 import java.util.*;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Gatherer;
 import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 import static io.github.ralfspoeth.basix.fn.Functions.*;
 import static java.util.stream.Gatherer.Integrator.ofGreedy;
@@ -286,6 +289,20 @@ class FunctionsTest {
         assertEquals(expected, result);
     }
 
+    @Test
+    void indexedListBindsLateAndFailsFast() {
+        var l = new ArrayList<>(List.of("a", "b"));
+        var stream = indexed(l, 1);
+        l.add("c");
+        assertEquals(List.of(new Indexed<>(1, "a"), new Indexed<>(2, "b"), new Indexed<>(3, "c")), stream.toList());
+        assertAll(
+                () -> assertThrows(ConcurrentModificationException.class,
+                        () -> indexed(l).forEach(_ -> l.add("x"))),
+                () -> assertThrows(ConcurrentModificationException.class,
+                        () -> indexed(l).forEach(_ -> l.removeLast()))
+        );
+    }
+
     @Test
     void indexedWithEmptyIterable() {
         var l = Collections.<String>emptyList();
@@ -488,4 +505,390 @@ class FunctionsTest {
                 () -> assertFalse(contentsEquals(Set.of(1), Set.of()))
         );
     }
-}
\ No newline at end of file
+
+    @Test
+    void testWindowFixed() {
+        assertAll(
+                () -> assertEquals(List.of(List.of(1, 2), List.of(3, 4), List.of(5)),
+                        IntStream.rangeClosed(1, 5).boxed().gather(windowFixed(2)).toList()),
+                () -> assertEquals(List.of(List.of(1, 2)),
+                        IntStream.rangeClosed(1, 2).boxed().gather(windowFixed(2)).toList()),
+                () -> assertEquals(List.of(), Stream.empty().gather(windowFixed(3)).toList()),
+                () -> assertEquals(List.of(List.of(1, 2)),
+                        Stream.iterate(1, i -> i + 1).gather(windowFixed(2)).limit(1).toList()),
+                () -> assertThrows(UnsupportedOperationException.class,
+                        () -> Stream.of(1).gather(windowFixed(1)).toList().getFirst().add(2)),
+                () -> assertThrows(IllegalArgumentException.class, () -> windowFixed(0))
+        );
+    }
+
+    @Test
+    void testWindowSliding() {
+        assertAll(
+                () -> assertEquals(List.of(List.of(1, 2, 3), List.of(2, 3, 4), List.of(3, 4, 5)),
+                        IntStream.rangeClosed(1, 5).boxed().gather(windowSliding(3)).toList()),
+                () -> assertEquals(List.of(List.of(1, 2)),
+                        IntStream.rangeClosed(1, 2).boxed().gather(windowSliding(3)).toList()),
+                () -> assertEquals(List.of(List.of(1), List.of(2)),
+                        IntStream.rangeClosed(1, 2).boxed().gather(windowSliding(1)).toList()),
+                () -> assertEquals(List.of(), Stream.empty().gather(windowSliding(3)).toList()),
+                () -> assertEquals(Arrays.asList(null, 1), Stream.of(null, 1).gather(windowSliding(2)).toList().getFirst()),
+                () -> assertThrows(IllegalArgumentException.class, () -> windowSliding(0))
+        );
+    }
+
+    @Test
+    void testBatch() {
+        assertAll(
+                () -> assertEquals(List.of(List.of(1, 2, 3), List.of(4, 5)),
+                        IntStream.rangeClosed(1, 5).boxed().gather(batch(3, Duration.ofHours(1))).toList()),
+                () -> assertEquals(List.of(List.of(1), List.of(2)),
+                        Stream.of(1, 2).peek(_ -> sleep(5)).gather(batch(10, Duration.ofNanos(1))).toList()),
+                () -> assertEquals(IntStream.range(0, 100).boxed().toList(),
+                        IntStream.range(0, 100).boxed().gather(batch(40, Duration.ofHours(1)))
+                                .flatMap(List::stream).toList()),
+                () -> assertThrows(IllegalArgumentException.class, () -> batch(0, Duration.ofSeconds(1))),
+                () -> assertThrows(IllegalArgumentException.class, () -> batch(1, Duration.ZERO))
+        );
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Test
+    void testDedupConsecutive() {
+        assertAll(
+                () -> assertEquals(List.of(1, 2, 1, 3),
+                        Stream.of(1, 1, 2, 2, 2, 1, 3, 3).gather(dedupConsecutive()).toList()),
+                () -> assertEquals(Arrays.asList(null, 1, null),
+                        Stream.of(null, null, 1, null).gather(dedupConsecutive()).toList()),
+                () -> assertEquals(List.of(), Stream.empty().gather(dedupConsecutive()).toList())
+        );
+    }
+
+    @Test
+    void testDistinctWithLimit() {
+        assertAll(
+                () -> assertEquals(List.of(3, 1, 2), Stream.of(3, 1, 3, 2, 1, 4).gather(distinct(3)).toList()),
+                () -> assertEquals(List.of(3, 1, 2, 4), Stream.of(3, 1, 3, 2, 1, 4).gather(distinct(10)).toList()),
+                () -> assertEquals(List.of(), Stream.of(1).gather(distinct(0)).toList()),
+                () -> assertEquals(Arrays.asList(null, 1), Stream.of(null, null, 1).gather(distinct(2)).toList()),
+                () -> assertEquals(List.of(0, 1, 2), Stream.iterate(0, i -> (i + 1) % 3).gather(distinct(3)).toList()),
+                () -> assertThrows(IllegalArgumentException.class, () -> distinct(-1))
+        );
+    }
+
+    @Test
+    void testDistinctWithLimitParallel() {
+        var input = IntStream.range(0, 200_000).map(i -> (i * 7919) % 50_000).boxed().toList();
+        var expected = input.stream().distinct().limit(20_000).toList();
+        assertAll(
+                () -> assertEquals(expected, input.stream().gather(distinct(20_000)).toList()),
+                () -> assertEquals(expected, input.parallelStream().gather(distinct(20_000)).toList())
+        );
+    }
+
+    @Test
+    void testDistinctCombiner() {
+        // the combiner is exercised directly since splits depend on the stream implementation
+        var g = Functions.<Integer>distinct(3);
+        assertEquals(List.of(5, 1, 7), combineAndFinish(g, List.of(5, 1, 5), List.of(1, 7, 8, 9)));
+    }
+
+    private static <T, A, R> List<R> combineAndFinish(Gatherer<T, A, R> g, List<T> left, List<T> right) {
+        A l = g.initializer().get(), r = g.initializer().get();
+        var out = new ArrayList<R>();
+        Gatherer.Downstream<R> d = out::add;
+        left.forEach(e -> g.integrator().integrate(l, e, d));
+        right.forEach(e -> g.integrator().integrate(r, e, d));
+        g.finisher().accept(g.combiner().apply(l, r), d);
+        return out;
+    }
+
+    @Test
+    void testContentsWithNulls() {
+        assertAll(
+                () -> assertTrue(contentsEquals(Arrays.asList(null, 1, null), Arrays.asList(1, null, null))),
+                () -> assertFalse(contentsEquals(Arrays.asList(null, 1, 1), Arrays.asList(1, null, null)))
+        );
+    }
+
+    @Test
+    void testParallelContentsEquals() {
+        var rnd = new Random(42);
+        var a = IntStream.range(0, 100_000).mapToObj(_ -> "k" + rnd.nextInt(20_000)).toList();
+        var shuffled = new ArrayList<>(a);
+        Collections.shuffle(shuffled, rnd);
+        var oneChanged = new ArrayList<>(shuffled);
+        oneChanged.set(rnd.nextInt(oneChanged.size()), "not there");
+        var oneMoved = new ArrayList<>(shuffled);
+        oneMoved.set(oneMoved.indexOf(a.getFirst()), a.get(1).equals(a.getFirst()) ? a.get(2) : a.get(1));
+        assertAll(
+                () -> assertTrue(parallelContentsEquals(a, shuffled)),
+                () -> assertTrue(parallelContentsEquals(a, shuffled, true)),
+                () -> assertFalse(parallelContentsEquals(a, oneChanged)),
+                () -> assertFalse(parallelContentsEquals(a, oneChanged, true)),
+                () -> assertFalse(parallelContentsEquals(a, oneMoved)),
+                () -> assertFalse(parallelContentsEquals(a, shuffled.subList(1, shuffled.size()))),
+                () -> assertTrue(parallelContentsEquals(List.of(1, 2), List.of(2, 1)))
+        );
+    }
+
+    @Test
+    void testParallelContentsEqualsWithEqualHashSums() {
+        // "Aa" and "BB" share their hash code, so only the exact count tells them apart
+        var a = new ArrayList<String>();
+        var b = new ArrayList<String>();
+        for (int i = 0; i < 50_000; i++) {
+            a.add("x" + i);
+            b.add("x" + i);
+        }
+        a.add("Aa");
+        b.add("BB");
+        a.add(null);
+        b.add(null);
+        assertAll(
+                () -> assertFalse(parallelContentsEquals(a, b, true)),
+                () -> assertTrue(parallelContentsEquals(a, new ArrayList<>(a.reversed()), true))
+        );
+    }
+
+    @Test
+    void testContentsEqualsWithComparator() {
+        // elements which must never be hashed
+        record Key(int k) {
+            @Override
+            public int hashCode() {
+                throw new UnsupportedOperationException();
+            }
+        }
+        Comparator<Key> byK = Comparator.comparingInt(Key::k);
+        var rnd = new Random(7);
+        var large = IntStream.range(0, 50_000).mapToObj(_ -> new Key(rnd.nextInt(1_000))).toList();
+        var shuffled = new ArrayList<>(large);
+        Collections.shuffle(shuffled, rnd);
+        var changed = new ArrayList<>(shuffled);
+        changed.set(0, new Key(-1));
+        assertAll(
+                () -> assertTrue(contentsEquals(List.of(), Set.of(), byK)),
+                () -> assertTrue(contentsEquals(List.of(new Key(2), new Key(1), new Key(2)),
+                        List.of(new Key(2), new Key(2), new Key(1)), byK)),
+                () -> assertFalse(contentsEquals(List.of(new Key(2), new Key(1), new Key(1)),
+                        List.of(new Key(2), new Key(2), new Key(1)), byK)),
+                () -> assertFalse(contentsEquals(List.of(new Key(1)), List.of(new Key(1), new Key(1)), byK)),
+                () -> assertTrue(contentsEquals(List.of("a", "B", "b"), List.of("A", "b", "B"), String.CASE_INSENSITIVE_ORDER)),
+                () -> assertTrue(contentsEquals(Arrays.asList(null, 1), Arrays.asList(1, null),
+                        Comparator.nullsFirst(Comparator.<Integer>naturalOrder()))),
+                () -> assertTrue(contentsEquals(large, shuffled, byK)),
+                () -> assertFalse(contentsEquals(large, changed, byK))
+        );
+    }
+
+    @Test
+    void testZipMapIntKeys() {
+        var fromArray = zipMap(new int[]{3, 1, 2}, List.of("three", "one"));
+        var fromStream = zipMap(IntStream.iterate(1, i -> i + 1), List.of("one", "two", "three"));
+        var fromIterable = zipMap(new int[]{1, 2}, (Iterable<String>) () -> List.of("one", "two", "three").iterator());
+        assertAll(
+                () -> assertArrayEquals(new int[]{3, 1}, fromArray.keys()),
+                () -> assertEquals("one", fromArray.get(1)),
+                () -> assertNull(fromArray.get(2)),
+                () -> assertArrayEquals(new int[]{1, 2, 3}, fromStream.keys()),
+                () -> assertEquals(List.of("one", "two", "three"), fromStream.values()),
+                () -> assertEquals(2, fromIterable.size())
+        );
+    }
+
+    @Test
+    void testCompactZipMap() {
+        var m = compactZipMap(Arrays.asList("a", null, "b", "a"), Arrays.asList(1, 2, null, 4, 5));
+        var reference = zipMap(Arrays.asList("a", null, "b", "a"), Arrays.asList(1, 2, null, 4, 5));
+        var large = compactZipMap(IntStream.range(0, 1_000).boxed().toList(),
+                (Iterable<String>) () -> IntStream.range(0, 1_000).mapToObj(Integer::toString).iterator());
+        assertAll(
+                () -> assertEquals(reference, m),
+                () -> assertEquals(reference.hashCode(), m.hashCode()),
+                () -> assertEquals(3, m.size()),
+                () -> assertEquals(Arrays.asList("a", null, "b"), new ArrayList<>(m.keySet())),
+                () -> assertEquals(Arrays.asList(4, 2, null), new ArrayList<>(m.values())),
+                () -> assertEquals(2, m.get(null)),
+                () -> assertTrue(m.containsKey("b")),
+                () -> assertNull(m.get("b")),
+                () -> assertEquals(-1, m.getOrDefault("c", -1)),
+                () -> assertEquals("b", m.lastEntry().getKey()),
+                () -> assertEquals(Arrays.asList("b", null, "a"), new ArrayList<>(m.reversed().keySet())),
+                () -> assertThrows(UnsupportedOperationException.class, () -> m.put("c", 3)),
+                () -> assertThrows(UnsupportedOperationException.class, m::pollFirstEntry),
+                () -> assertEquals(1_000, large.size()),
+                () -> assertEquals("999", large.get(999)),
+                () -> assertTrue(compactZipMap(List.of(), List.of(1)).isEmpty())
+        );
+    }
+
+    @Test
+    void testOfMapSpecializations() {
+        enum Color {RED, GREEN, BLUE}
+        enum Other {ONE, TWO}
+        record Box(@Nullable Object key) {}
+        var byEnum = Functions.of(Map.of(Color.RED, "red", Color.BLUE, "blue"), Box::key);
+        var dense = Functions.of(Map.of(-2, "m2", 5, "p5", Integer.MAX_VALUE - 60, "max"), Box::key);
+        var sparse = Functions.of(Map.of(Integer.MIN_VALUE, "min", Integer.MAX_VALUE, "max"), Box::key);
+        var strings = IntStream.range(0, 1_000).boxed().collect(Collectors.toMap(i -> "k" + i, i -> i));
+        var hashed = Functions.of(strings, Box::key);
+        var small = Functions.of(Map.of("a", 1, "b", 2, 3L, 3), Box::key);
+        assertAll(
+                () -> assertEquals("red", byEnum.apply(new Box(Color.RED))),
+                () -> assertNull(byEnum.apply(new Box(Color.GREEN))),
+                () -> assertNull(byEnum.apply(new Box(Other.ONE))),
+                () -> assertNull(byEnum.apply(new Box(0))),
+                () -> assertNull(byEnum.apply(new Box(null))),
+                () -> assertEquals("m2", dense.apply(new Box(-2))),
+                () -> assertEquals("p5", dense.apply(new Box(5))),
+                () -> assertNull(dense.apply(new Box(0))),
+                () -> assertNull(dense.apply(new Box(-3))),
+                () -> assertNull(dense.apply(new Box(Integer.MIN_VALUE))),
+                () -> assertNull(dense.apply(new Box(5L))),
+                () -> assertEquals("min", sparse.apply(new Box(Integer.MIN_VALUE))),
+                () -> assertEquals("max", sparse.apply(new Box(Integer.MAX_VALUE))),
+                () -> assertNull(sparse.apply(new Box(0))),
+                () -> assertTrue(strings.entrySet().stream()
+                        .allMatch(e -> e.getValue().equals(hashed.apply(new Box(e.getKey()))))),
+                () -> assertNull(hashed.apply(new Box("x"))),
+                () -> assertNull(hashed.apply(new Box(null))),
+                () -> assertEquals(3, small.apply(new Box(3L))),
+                () -> assertNull(small.apply(new Box(3))),
+                () -> assertNull(Functions.of(Map.of(), Box::key).apply(new Box(1))),
+                () -> assertThrows(NullPointerException.class,
+                        () -> Functions.of(Collections.singletonMap(1, null), Box::key))
+        );
+    }
+
+    @Test
+    void indexingGatherer() {
+        var l = IntStream.range(0, 10_000).boxed().toList();
+        var expected = IntStream.range(0, 10_000).mapToObj(i -> new Indexed<>(i + 3, i)).toList();
+        assertAll(
+                () -> assertEquals(expected, l.stream().gather(Functions.<Integer>indexing(3)).toList()),
+                () -> assertEquals(expected, l.parallelStream().gather(Functions.<Integer>indexing(3)).toList()),
+                () -> assertEquals(List.of(), Stream.<String>empty().gather(Functions.<String>indexing(0)).toList())
+        );
+    }
+
+    @Test
+    void indexedParallel() {
+        int n = 100_000;
+        var arrayList = IntStream.range(0, n).boxed().collect(Collectors.toCollection(ArrayList::new));
+        var linkedList = new LinkedList<>(arrayList);
+        Iterable<Integer> unsized = arrayList::iterator;
+        var treeSet = new TreeSet<>(arrayList);
+        for (var source : List.<Iterable<Integer>>of(arrayList, linkedList, unsized, treeSet)) {
+            // each index must be attached to the element at that position
+            var pairs = indexed(source, 7).parallel().toList();
+            assertAll(
+                    () -> assertEquals(n, pairs.size()),
+                    () -> assertTrue(pairs.stream().allMatch(ix -> ix.index() == ix.value() + 7)),
+                    () -> assertEquals(n, indexed(source).parallel().filter(ix -> ix.index() == ix.value()).count())
+            );
+        }
+    }
+
+    @Test
+    void indexedSpliteratorSplits() {
+        Iterable<String> unsized = List.of("a", "b", "c")::iterator;
+        var spliterator = new IndexedSpliterator<>(unsized.spliterator(), 1);
+        var prefix = spliterator.trySplit();
+        var rest = new ArrayList<Indexed<String>>();
+        var front = new ArrayList<Indexed<String>>();
+        spliterator.forEachRemaining(rest::add);
+        assertNotNull(prefix);
+        prefix.forEachRemaining(front::add);
+        assertAll(
+                () -> assertEquals(List.of(new Indexed<>(1, "a"), new Indexed<>(2, "b"), new Indexed<>(3, "c")), front),
+                () -> assertEquals(List.of(), rest),
+                () -> assertTrue(spliterator.hasCharacteristics(Spliterator.NONNULL)),
+                () -> assertNull(new IndexedSpliterator<>(List.of("x").spliterator(), 0).trySplit())
+        );
+    }
+
+    @Test
+    void forEachIndexedLists() {
+        var expected = List.of(new Indexed<>(1, "a"), new Indexed<>(2, "b"), new Indexed<>(3, "c"));
+        for (var source : List.<Iterable<String>>of(List.of("a", "b", "c"), new LinkedList<>(List.of("a", "b", "c")))) {
+            var result = new ArrayList<Indexed<String>>();
+            forEachIndexed(source, 1, (x, i) -> result.add(new Indexed<>(i, x)));
+            var fromZero = new ArrayList<Integer>();
+            forEachIndexed(source, (_, i) -> fromZero.add(i));
+            assertAll(
+                    () -> assertEquals(expected, result),
+                    () -> assertEquals(List.of(0, 1, 2), fromZero)
+            );
+        }
+    }
+
+    @Test
+    void forEachLabeledIterable() {
+        record R(String name, int x) {}
+        var rs = List.of(new R("one", 1), new R("two", 2));
+        var result = new ArrayList<Labeled<String, R>>();
+        forEachLabeled(rs, r -> r.name().substring(0, 1), (l, r) -> result.add(new Labeled<>(l, r)));
+        assertEquals(labeled(rs, r -> r.name().substring(0, 1)).toList(), result);
+    }
+
+    @Test
+    void labeledParallel() {
+        var m = new HashMap<Integer, String>();
+        IntStream.range(0, 10_000).forEach(i -> m.put(i, Integer.toString(i)));
+        var list = List.copyOf(m.values());
+        var fromMap = labeled(m, true);
+        var fromList = labeled(list, String::length, true);
+        assertAll(
+                () -> assertTrue(fromMap.isParallel()),
+                () -> assertTrue(fromList.isParallel()),
+                () -> assertFalse(labeled(m, false).isParallel()),
+                () -> assertEquals(labeled(m).collect(Collectors.toSet()), labeled(m, true).collect(Collectors.toSet())),
+                () -> assertEquals(labeled(list, String::length).toList(), labeled(list, String::length, true).toList()),
+                () -> assertTrue(labeled(list, String::length, true).spliterator()
+                        .hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED))
+        );
+    }
+
+    @Test
+    void indexedArrays() {
+        var array = IntStream.range(0, 100_000).boxed().toArray(Integer[]::new);
+        var expected = IntStream.range(0, 100_000).mapToObj(i -> new Indexed<>(i + 1, i)).toList();
+        assertAll(
+                () -> assertEquals(List.of(new Indexed<>(1, "a"), new Indexed<>(2, "b")),
+                        indexed(new String[]{"a", "b"}, 1).toList()),
+                () -> assertEquals(List.of(), indexed(new String[0], 0).toList()),
+                () -> assertEquals(expected, indexed(array, 1).toList()),
+                () -> assertEquals(expected, indexed(array, 1, true).toList()),
+                () -> assertTrue(indexed(array, 1, true).isParallel()),
+                () -> assertEquals(expected, indexed(Arrays.asList(array), 1, true).toList()),
+                () -> assertEquals(expected, indexed(new LinkedList<>(Arrays.asList(array)), 1, true).toList())
+        );
+    }
+
+    @Test
+    void indexedRangeSpliteratorSplits() {
+        var spliterator = indexed(List.of("a", "b", "c", "d", "e"), 1, false).spliterator();
+        var prefix = spliterator.trySplit();
+        assertNotNull(prefix);
+        var front = new ArrayList<Indexed<String>>();
+        prefix.forEachRemaining(front::add);
+        var rest = new ArrayList<Indexed<String>>();
+        assertTrue(spliterator.tryAdvance(rest::add));
+        spliterator.forEachRemaining(rest::add);
+        assertAll(
+                () -> assertEquals(List.of(new Indexed<>(1, "a"), new Indexed<>(2, "b")), front),
+                () -> assertEquals(List.of(new Indexed<>(3, "c"), new Indexed<>(4, "d"), new Indexed<>(5, "e")), rest),
+                () -> assertEquals(0, spliterator.estimateSize()),
+                () -> assertFalse(spliterator.tryAdvance(_ -> fail())),
+                () -> assertTrue(spliterator.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED))
+        );
+    }
+}
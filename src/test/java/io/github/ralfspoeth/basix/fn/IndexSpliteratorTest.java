@@ -0,0 +1,75 @@
+package io.github.ralfspoeth.basix.fn;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IndexSpliteratorTest {
+
+    @Test
+    void testTraversal() {
+        var s = Functions.indexSpliterator(List.of("a", "b", "c"), 1);
+        var first = new StringBuilder();
+        var rest = new StringBuilder();
+        assertAll(
+                () -> assertEquals(1, s.index()),
+                () -> assertTrue(s.tryAdvance((x, i) -> first.append(i).append(x))),
+                () -> assertEquals(2, s.index()),
+                () -> assertTrue(s.tryAdvance(rest::append)),
+                () -> assertEquals(3, s.index())
+        );
+        s.forEachRemaining((x, i) -> rest.append(i).append(x));
+        assertAll(
+                () -> assertEquals("1a", first.toString()),
+                () -> assertEquals("b3c", rest.toString()),
+                () -> assertEquals(4, s.index()),
+                () -> assertFalse(s.tryAdvance((_, _) -> fail()))
+        );
+    }
+
+    @Test
+    void testSplits() {
+        int n = 10_000;
+        var arrayList = IntStream.range(0, n).boxed().toList();
+        Iterable<Integer> unsized = arrayList::iterator;
+        for (var source : List.<Iterable<Integer>>of(arrayList, new LinkedList<>(arrayList), unsized, new TreeSet<>(arrayList))) {
+            // split recursively and check that every element keeps its position
+            var pending = new ArrayList<IndexSpliterator<Integer>>();
+            pending.add(Functions.indexSpliterator(source, 5));
+            var count = new AtomicLong();
+            while (!pending.isEmpty()) {
+                var s = pending.removeLast();
+                var prefix = s.estimateSize() > 100 ? s.trySplit() : null;
+                if (prefix != null) {
+                    pending.add(prefix);
+                    pending.add(s);
+                } else {
+                    s.forEachRemaining((x, i) -> {
+                        assertEquals(x + 5, i);
+                        count.incrementAndGet();
+                    });
+                }
+            }
+            assertEquals(n, count.get(), source.getClass().getName());
+        }
+    }
+
+    @Test
+    void testStream() {
+        var s = Functions.indexSpliterator(new TreeSet<>(List.of("c", "a", "b")), 0);
+        assertAll(
+                () -> assertTrue(s.hasCharacteristics(Spliterator.SIZED)),
+                () -> assertFalse(s.hasCharacteristics(Spliterator.SORTED)),
+                () -> assertEquals(List.of("a", "b", "c"), StreamSupport.stream(s, false).toList())
+        );
+    }
+}
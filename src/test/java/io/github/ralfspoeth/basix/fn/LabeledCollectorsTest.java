@@ -0,0 +1,87 @@
+package io.github.ralfspoeth.basix.fn;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static io.github.ralfspoeth.basix.fn.Functions.labeled;
+import static org.junit.jupiter.api.Assertions.*;
+
+class LabeledCollectorsTest {
+
+    // many labels such that the tables grow, and many elements per label
+    private static final List<Integer> VALUES = IntStream.range(0, 100_000).boxed().toList();
+
+    private static int label(int i) {
+        return i % 1000;
+    }
+
+    @Test
+    void testGroupingToArrays() {
+        var expected = VALUES.stream().collect(Collectors.groupingBy(LabeledCollectorsTest::label));
+        var sequential = VALUES.stream()
+                .collect(LabeledCollectors.groupingToArrays(LabeledCollectorsTest::label, Integer[]::new));
+        var parallel = VALUES.parallelStream()
+                .collect(LabeledCollectors.groupingToArrays(LabeledCollectorsTest::label, Integer[]::new));
+        var fromLabeled = labeled(VALUES, LabeledCollectorsTest::label)
+                .collect(LabeledCollectors.groupingToArrays(Integer[]::new));
+        for (var result : List.of(sequential, parallel, fromLabeled)) {
+            assertAll(
+                    () -> assertEquals(expected.keySet(), result.keySet()),
+                    () -> expected.forEach((l, g) -> assertEquals(g, Arrays.asList(result.get(l))))
+            );
+        }
+    }
+
+    @Test
+    void testGroupingToArraysSmall() {
+        var result = Stream.of("a", "bb", "c")
+                .collect(LabeledCollectors.groupingToArrays(String::length, String[]::new));
+        assertAll(
+                () -> assertArrayEquals(new String[]{"a", "c"}, result.get(1)),
+                () -> assertArrayEquals(new String[]{"bb"}, result.get(2)),
+                () -> assertEquals(2, result.size()),
+                () -> assertEquals(Map.of(), Stream.<String>empty()
+                        .collect(LabeledCollectors.groupingToArrays(String::length, String[]::new)))
+        );
+    }
+
+    @Test
+    void testCounting() {
+        var expected = VALUES.stream().collect(Collectors.groupingBy(LabeledCollectorsTest::label, Collectors.counting()));
+        assertAll(
+                () -> assertEquals(expected, VALUES.stream().collect(LabeledCollectors.counting(LabeledCollectorsTest::label))),
+                () -> assertEquals(expected, VALUES.parallelStream().collect(LabeledCollectors.counting(LabeledCollectorsTest::label))),
+                () -> assertEquals(expected, labeled(VALUES, LabeledCollectorsTest::label).parallel()
+                        .collect(LabeledCollectors.counting())),
+                () -> assertEquals(Map.of(1, 2L, 2, 1L), Stream.of("a", "bb", "c")
+                        .collect(LabeledCollectors.counting(String::length)))
+        );
+    }
+
+    @Test
+    void testReducing() {
+        var expected = VALUES.stream().collect(Collectors.toMap(LabeledCollectorsTest::label, Function.identity(), Integer::sum));
+        assertAll(
+                () -> assertEquals(expected, VALUES.stream().collect(LabeledCollectors.reducing(LabeledCollectorsTest::label, Integer::sum))),
+                () -> assertEquals(expected, VALUES.parallelStream().collect(LabeledCollectors.reducing(LabeledCollectorsTest::label, Integer::sum))),
+                () -> assertEquals(expected, labeled(VALUES, LabeledCollectorsTest::label).parallel()
+                        .collect(LabeledCollectors.reducing(Integer::sum))),
+                // encounter order is kept for operators which are not commutative
+                () -> assertEquals(Map.of(1, "ac", 2, "bb"), Stream.of("a", "bb", "c").parallel()
+                        .collect(LabeledCollectors.reducing(String::length, String::concat)))
+        );
+    }
+
+    @Test
+    void testNullLabel() {
+        assertThrows(NullPointerException.class, () -> Stream.of("a")
+                .collect(LabeledCollectors.counting(_ -> null)));
+    }
+}
@@ -3,9 +3,17 @@ package io.github.ralfspoeth.basix.fn;
 import org.junit.jupiter.api.Test;
 
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Random;
 import java.util.Set;
+import java.util.function.Function;
+import java.util.function.IntPredicate;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
 import java.util.stream.Stream;
 
 import static io.github.ralfspoeth.basix.fn.Predicates.*;
@@ -127,4 +135,294 @@ class PredicatesTest {
                 () -> assertEquals(List.of(1, 2, 4, 5), DATA.stream().filter(smallerOrGreater(3, REVERSE)).toList())
         );
     }
-}
\ No newline at end of file
+
+    @Test
+    void testInSnapshots() {
+        enum Color {RED, GREEN, BLUE}
+        enum Other {ONE, TWO}
+        var dense = Set.of(-3, 0, 5, 100);
+        var sparse = Set.of(Integer.MIN_VALUE, 0, Integer.MAX_VALUE);
+        var colors = Set.of(Color.RED, Color.BLUE);
+        var strings = Set.of("a", "b");
+        assertAll(
+                () -> assertTrue(in(dense, identity()).test(-3)),
+                () -> assertTrue(in(dense, identity()).test(100)),
+                () -> assertFalse(in(dense, identity()).test(1)),
+                () -> assertFalse(in(dense, identity()).test(Integer.MIN_VALUE)),
+                () -> assertFalse(in(dense, identity()).test(null)),
+                () -> assertTrue(in(sparse, identity()).test(Integer.MIN_VALUE)),
+                () -> assertTrue(in(sparse, identity()).test(Integer.MAX_VALUE)),
+                () -> assertFalse(in(sparse, identity()).test(1)),
+                () -> assertTrue(in(colors, identity()).test(Color.BLUE)),
+                () -> assertFalse(in(colors, identity()).test(Color.GREEN)),
+                () -> assertFalse(in(Set.<Object>copyOf(colors), identity()).test(Other.ONE)),
+                () -> assertTrue(in(strings, identity()).test("b")),
+                () -> assertFalse(in(strings, identity()).test("c")),
+                () -> assertFalse(in(strings, identity()).test(null)),
+                () -> assertFalse(in(Set.of(), identity()).test(1)),
+                () -> assertTrue(in(Set.<Object>of(1, "1"), identity()).test("1")),
+                () -> assertFalse(in(Set.<Object>of(1, "1"), identity()).test(1L))
+        );
+    }
+
+    @Test
+    void testInLiveSet() {
+        var s = new HashSet<Integer>();
+        var p = in(s, Function.<Integer>identity());
+        assertFalse(p.test(1));
+        s.add(1);
+        assertTrue(p.test(1));
+        s.add(null);
+        assertTrue(in(s, (String x) -> null).test("x"));
+    }
+
+    @Test
+    void testInPrimitives() {
+        record Item(int i, long l) {}
+        var rnd = new Random(42);
+        for (int bound : new int[]{100, 1 << 20}) {
+            var ints = IntStream.generate(() -> rnd.nextInt(bound) - bound / 2).limit(500).toArray();
+            var longs = IntStream.of(ints).mapToLong(x -> x * 1_000_003L).toArray();
+            var intSet = IntStream.of(ints).boxed().collect(Collectors.toSet());
+            var longSet = LongStream.of(longs).boxed().collect(Collectors.toSet());
+            var inInts = in(ints);
+            var inLongs = in(longs);
+            for (int x = -bound; x <= bound; x += Math.max(1, bound / 5_000)) {
+                assertEquals(intSet.contains(x), inInts.test(x));
+                assertEquals(longSet.contains(x * 1_000_003L), inLongs.test(x * 1_000_003L));
+            }
+            assertTrue(IntStream.of(ints).allMatch(inInts));
+            assertTrue(LongStream.of(longs).allMatch(inLongs));
+        }
+        assertAll(
+                () -> assertTrue(in(new int[]{2, 2}, Item::i).test(new Item(2, 0))),
+                () -> assertFalse(in(new int[]{}, Item::i).test(new Item(2, 0))),
+                () -> assertTrue(in(new int[]{Integer.MIN_VALUE, Integer.MAX_VALUE}).test(Integer.MAX_VALUE)),
+                () -> assertFalse(in(new int[]{Integer.MIN_VALUE, Integer.MAX_VALUE}).test(0)),
+                () -> assertTrue(in(new long[]{3L}, Item::l).test(new Item(0, 3L))),
+                () -> assertFalse(in(new long[]{}, Item::l).test(new Item(0, 3L))),
+                () -> assertTrue(in(new long[]{Long.MIN_VALUE, Long.MAX_VALUE}).test(Long.MIN_VALUE)),
+                () -> assertFalse(in(new long[]{Long.MIN_VALUE, Long.MAX_VALUE}).test(-1L)),
+                () -> assertTrue(in(new long[]{Long.MIN_VALUE, -1L}).test(-1L)),
+                () -> assertFalse(in(new long[]{Long.MIN_VALUE, -1L}).test(Long.MAX_VALUE))
+        );
+    }
+
+    @Test
+    void testPrimitiveComparisons() {
+        assertAll(
+                () -> assertTrue(smallerThanInt(2).test(1)),
+                () -> assertFalse(smallerThanInt(2).test(2)),
+                () -> assertTrue(smallerOrEqualInt(2).test(2)),
+                () -> assertTrue(equalInt(2).test(2)),
+                () -> assertTrue(nonEqualInt(2).test(3)),
+                () -> assertTrue(greaterOrEqualInt(2).test(2)),
+                () -> assertFalse(greaterThanInt(2).test(2)),
+                () -> assertTrue(smallerThanLong(Long.MAX_VALUE).test(Long.MIN_VALUE)),
+                () -> assertTrue(smallerOrEqualLong(2L).test(2L)),
+                () -> assertFalse(equalLong(2L).test(3L)),
+                () -> assertTrue(nonEqualLong(2L).test(3L)),
+                () -> assertFalse(greaterOrEqualLong(2L).test(1L)),
+                () -> assertTrue(greaterThanLong(2L).test(3L)),
+                () -> assertTrue(smallerThanDouble(0.5).test(0.25)),
+                () -> assertTrue(smallerOrEqualDouble(0.5).test(0.5)),
+                () -> assertTrue(equalDouble(0.0).test(-0.0)),
+                () -> assertFalse(equalDouble(Double.NaN).test(Double.NaN)),
+                () -> assertTrue(nonEqualDouble(Double.NaN).test(Double.NaN)),
+                () -> assertFalse(greaterOrEqualDouble(0).test(Double.NaN)),
+                () -> assertTrue(greaterThanDouble(0).test(Double.POSITIVE_INFINITY))
+        );
+    }
+
+    @Test
+    void testKeyedPrimitiveComparisons() {
+        record Item(int i, long l, double d) {}
+        var items = List.of(new Item(1, 10L, 0.1), new Item(2, 20L, 0.2), new Item(3, 30L, 0.3));
+        assertAll(
+                () -> assertEquals(1, items.stream().filter(smallerThanInt(2, Item::i)).count()),
+                () -> assertEquals(2, items.stream().filter(smallerOrEqualInt(2, Item::i)).count()),
+                () -> assertEquals(1, items.stream().filter(equalInt(2, Item::i)).count()),
+                () -> assertEquals(2, items.stream().filter(nonEqualInt(2, Item::i)).count()),
+                () -> assertEquals(2, items.stream().filter(greaterOrEqualInt(2, Item::i)).count()),
+                () -> assertEquals(1, items.stream().filter(greaterThanInt(2, Item::i)).count()),
+                () -> assertEquals(1, items.stream().filter(smallerThanLong(20L, Item::l)).count()),
+                () -> assertEquals(2, items.stream().filter(smallerOrEqualLong(20L, Item::l)).count()),
+                () -> assertEquals(1, items.stream().filter(equalLong(20L, Item::l)).count()),
+                () -> assertEquals(2, items.stream().filter(nonEqualLong(20L, Item::l)).count()),
+                () -> assertEquals(2, items.stream().filter(greaterOrEqualLong(20L, Item::l)).count()),
+                () -> assertEquals(1, items.stream().filter(greaterThanLong(20L, Item::l)).count()),
+                () -> assertEquals(1, items.stream().filter(smallerThanDouble(0.2, Item::d)).count()),
+                () -> assertEquals(2, items.stream().filter(smallerOrEqualDouble(0.2, Item::d)).count()),
+                () -> assertEquals(1, items.stream().filter(equalDouble(0.2, Item::d)).count()),
+                () -> assertEquals(2, items.stream().filter(nonEqualDouble(0.2, Item::d)).count()),
+                () -> assertEquals(2, items.stream().filter(greaterOrEqualDouble(0.2, Item::d)).count()),
+                () -> assertEquals(1, items.stream().filter(greaterThanDouble(0.2, Item::d)).count())
+        );
+    }
+
+    @Test
+    void testBetween() {
+        assertAll(
+                () -> assertEquals(List.of(1, 2, 3), IntStream.range(0, 5).boxed().filter(between(1, 3, Bounds.CLOSED)).toList()),
+                () -> assertEquals(List.of(2), IntStream.range(0, 5).boxed().filter(between(1, 3, Bounds.OPEN)).toList()),
+                () -> assertEquals(List.of(1, 2), IntStream.range(0, 5).boxed().filter(between(1, 3, Bounds.CLOSED_OPEN)).toList()),
+                () -> assertEquals(List.of(2, 3), IntStream.range(0, 5).boxed().filter(between(1, 3, Bounds.OPEN_CLOSED)).toList()),
+                () -> assertTrue(between("b", "d", Bounds.CLOSED, String.CASE_INSENSITIVE_ORDER).test("c")),
+                () -> assertThrows(IllegalArgumentException.class, () -> between(3, 1, Bounds.CLOSED)),
+                () -> assertThrows(IllegalArgumentException.class, () -> betweenInt(3, 1, Bounds.CLOSED)),
+                () -> assertThrows(IllegalArgumentException.class, () -> betweenDouble(Double.NaN, 1, Bounds.CLOSED))
+        );
+    }
+
+    @Test
+    void testBetweenPrimitives() {
+        int[] edges = {Integer.MIN_VALUE, Integer.MIN_VALUE + 1, -1, 0, 1, 2, Integer.MAX_VALUE - 1, Integer.MAX_VALUE};
+        for (var bounds : Bounds.values()) {
+            for (int lo : edges) {
+                for (int hi : edges) {
+                    if (lo > hi) continue;
+                    var p = betweenInt(lo, hi, bounds);
+                    var q = betweenLong(lo, hi, bounds);
+                    var r = between(lo, hi, bounds);
+                    for (int x : edges) {
+                        assertEquals(r.test(x), p.test(x), bounds + " " + lo + " " + hi + " " + x);
+                        assertEquals(r.test(x), q.test(x), bounds + " " + lo + " " + hi + " " + x);
+                    }
+                }
+            }
+        }
+        record Item(int i, long l, double d) {}
+        var item = new Item(5, Long.MAX_VALUE, 0.0);
+        assertAll(
+                () -> assertTrue(betweenLong(Long.MIN_VALUE, Long.MAX_VALUE, Bounds.CLOSED).test(Long.MIN_VALUE)),
+                () -> assertFalse(betweenLong(Long.MIN_VALUE, Long.MAX_VALUE, Bounds.OPEN).test(Long.MAX_VALUE)),
+                () -> assertFalse(betweenLong(Long.MAX_VALUE, Long.MAX_VALUE, Bounds.CLOSED_OPEN).test(Long.MAX_VALUE)),
+                () -> assertTrue(betweenDouble(0, 1, Bounds.CLOSED).test(-0.0)),
+                () -> assertFalse(betweenDouble(0, 1, Bounds.OPEN).test(-0.0)),
+                () -> assertTrue(betweenDouble(0, 1, Bounds.OPEN).test(Double.MIN_VALUE)),
+                () -> assertFalse(betweenDouble(0, 1, Bounds.OPEN_CLOSED).test(Double.NaN)),
+                () -> assertFalse(betweenDouble(0, Double.POSITIVE_INFINITY, Bounds.CLOSED_OPEN).test(Double.POSITIVE_INFINITY)),
+                () -> assertTrue(betweenInt(5, 5, Bounds.CLOSED, Item::i).test(item)),
+                () -> assertTrue(betweenLong(0, Long.MAX_VALUE, Bounds.OPEN_CLOSED, Item::l).test(item)),
+                () -> assertTrue(betweenDouble(-1, 0, Bounds.OPEN_CLOSED, Item::d).test(item))
+        );
+    }
+
+    @Test
+    void testInIntervals() {
+        var rnd = new Random(17);
+        for (var bounds : Bounds.values()) {
+            var lowers = new int[200];
+            var uppers = new int[200];
+            for (int i = 0; i < lowers.length; i++) {
+                lowers[i] = rnd.nextInt(10_000);
+                uppers[i] = lowers[i] + rnd.nextInt(i % 3 == 0 ? 3 : 60);
+            }
+            var ints = inIntervalsInt(lowers, uppers, bounds);
+            var longs = inIntervalsLong(IntStream.of(lowers).asLongStream().toArray(),
+                    IntStream.of(uppers).asLongStream().toArray(), bounds);
+            var doubles = inIntervalsDouble(IntStream.of(lowers).asDoubleStream().toArray(),
+                    IntStream.of(uppers).asDoubleStream().toArray(), bounds);
+            var objects = inIntervals(IntStream.of(lowers).boxed().toList(), IntStream.of(uppers).boxed().toList(), bounds);
+            for (int x = -1; x <= 10_100; x++) {
+                int v = x;
+                boolean expected = IntStream.range(0, lowers.length)
+                        .anyMatch(i -> between(lowers[i], uppers[i], bounds).test(v));
+                assertEquals(expected, ints.test(x), bounds + " " + x);
+                assertEquals(expected, longs.test(x), bounds + " " + x);
+                assertEquals(expected, doubles.test(x), bounds + " " + x);
+                assertEquals(expected, objects.test(x), bounds + " " + x);
+            }
+        }
+    }
+
+    @Test
+    void testInIntervalsEdges() {
+        record Item(int i, long l, double d) {}
+        var item = new Item(3, 3L, 3.0);
+        assertAll(
+                // touching open intervals leave the shared bound out
+                () -> assertFalse(inIntervalsInt(new int[]{1, 3}, new int[]{3, 5}, Bounds.OPEN).test(3)),
+                () -> assertFalse(inIntervalsDouble(new double[]{1, 3}, new double[]{3, 5}, Bounds.OPEN).test(3)),
+                () -> assertFalse(inIntervals(List.of(1, 3), List.of(3, 5), Bounds.OPEN).test(3)),
+                () -> assertTrue(inIntervals(List.of(1, 3), List.of(3, 5), Bounds.OPEN).test(4)),
+                () -> assertTrue(inIntervals(List.of(1, 3), List.of(3, 5), Bounds.CLOSED_OPEN).test(3)),
+                () -> assertTrue(inIntervals(List.of(1, 3), List.of(3, 5), Bounds.OPEN_CLOSED).test(3)),
+                () -> assertFalse(inIntervals(List.of(1, 3), List.of(3, 5), Bounds.OPEN_CLOSED).test(1)),
+                () -> assertTrue(inIntervalsLong(new long[]{Long.MIN_VALUE, 0}, new long[]{-1, Long.MAX_VALUE}, Bounds.CLOSED)
+                        .test(Long.MAX_VALUE)),
+                () -> assertTrue(inIntervalsInt(new int[]{Integer.MIN_VALUE}, new int[]{Integer.MAX_VALUE}, Bounds.CLOSED)
+                        .test(0)),
+                () -> assertFalse(inIntervalsInt(new int[]{}, new int[]{}, Bounds.CLOSED).test(0)),
+                () -> assertTrue(inIntervalsDouble(new double[]{-1}, new double[]{0}, Bounds.CLOSED).test(-0.0)),
+                () -> assertFalse(inIntervalsDouble(new double[]{-1}, new double[]{1}, Bounds.CLOSED).test(Double.NaN)),
+                () -> assertTrue(inIntervalsInt(new int[]{3}, new int[]{3}, Bounds.CLOSED, Item::i).test(item)),
+                () -> assertTrue(inIntervalsLong(new long[]{3}, new long[]{4}, Bounds.CLOSED_OPEN, Item::l).test(item)),
+                () -> assertFalse(inIntervalsDouble(new double[]{3}, new double[]{4}, Bounds.OPEN, Item::d).test(item)),
+                () -> assertThrows(IllegalArgumentException.class,
+                        () -> inIntervalsInt(new int[]{1}, new int[]{}, Bounds.CLOSED)),
+                () -> assertThrows(IllegalArgumentException.class,
+                        () -> inIntervals(List.of(2), List.of(1), Bounds.CLOSED))
+        );
+    }
+
+    // the mask computed element by element
+    private static long[] expected(int length, IntPredicate p) {
+        var mask = new long[(length + 63) / 64];
+        for (int i = 0; i < length; i++) {
+            if (p.test(i)) {
+                mask[i / 64] |= 1L << i;
+            }
+        }
+        return mask;
+    }
+
+    @Test
+    void testBatchComparisons() {
+        var rnd = new Random(19);
+        for (int length : new int[]{0, 1, 63, 64, 65, 200}) {
+            var ints = rnd.ints(length, -3, 3).toArray();
+            var longs = rnd.longs(length, -3, 3).toArray();
+            var doubles = rnd.ints(length, -3, 3).asDoubleStream().toArray();
+            if (length > 1) {
+                doubles[0] = Double.NaN;
+                doubles[1] = -0.0;
+            }
+            List<IntBatchPredicate> intPredicates = List.of(smallerThanInt(0), smallerOrEqualInt(0), equalInt(0),
+                    nonEqualInt(0), greaterOrEqualInt(0), greaterThanInt(0), betweenInt(-1, 1, Bounds.CLOSED_OPEN));
+            List<LongBatchPredicate> longPredicates = List.of(smallerThanLong(0), smallerOrEqualLong(0), equalLong(0),
+                    nonEqualLong(0), greaterOrEqualLong(0), greaterThanLong(0), betweenLong(-1, 1, Bounds.OPEN_CLOSED));
+            List<DoubleBatchPredicate> doublePredicates = List.of(smallerThanDouble(0), smallerOrEqualDouble(0),
+                    equalDouble(0), nonEqualDouble(0), greaterOrEqualDouble(0), greaterThanDouble(0),
+                    betweenDouble(-1, 1, Bounds.OPEN));
+            for (var p : intPredicates) {
+                assertArrayEquals(expected(length, i -> p.test(ints[i])), p.testAll(ints), p + " " + length);
+            }
+            for (var p : longPredicates) {
+                assertArrayEquals(expected(length, i -> p.test(longs[i])), p.testAll(longs), p + " " + length);
+            }
+            for (var p : doublePredicates) {
+                assertArrayEquals(expected(length, i -> p.test(doubles[i])), p.testAll(doubles), p + " " + length);
+            }
+        }
+    }
+
+    @Test
+    void testBatchMask() {
+        var column = new int[]{1, 2, 3};
+        var mask = new long[]{-1L, -1L};
+        greaterThanInt(1).testAll(column, mask);
+        IntBatchPredicate odd = x -> x % 2 != 0;
+        assertAll(
+                () -> assertArrayEquals(new long[]{0b110, -1L}, mask),
+                () -> assertArrayEquals(new long[]{0b101}, odd.testAll(column)),
+                () -> assertEquals(Set.of(1, 2), BitSet.valueOf(greaterThanInt(1).testAll(column)).stream()
+                        .boxed().collect(Collectors.toSet())),
+                () -> assertDoesNotThrow(() -> equalInt(0).testAll(new int[0], new long[0])),
+                () -> assertThrows(IllegalArgumentException.class,
+                        () -> greaterThanInt(0).testAll(new int[65], new long[1])),
+                () -> assertThrows(IllegalArgumentException.class,
+                        () -> odd.testAll(new int[1], new long[0]))
+        );
+    }
+}